@@ -0,0 +1,74 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVec3D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single BSpline evaluation across degrees. A BSpline needs at
+ * least as many points as its degree, so the smallest point count is 8.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BSplineBenchmark {
+
+    @Param({"8", "16", "64", "256", "1024"})
+    public int points;
+
+    @Param({"3", "4", "5", "6", "7", "8"})
+    public int degrees;
+
+    private double t = 0.37;
+    private List<GLVec3D> list;
+    private Spline<GLVec3D> bSpline;
+    private CompiledSpline compiled;
+    private final double[] out = new double[3];
+
+    @Setup
+    public void setup() {
+        this.list = new ArrayList<>(this.points);
+
+        for (int i = 0; i < this.points; i++) {
+            this.list.add(GLVec3D.create(i, Math.sin(i * 0.7) * 4.0, Math.cos(i * 0.3) * 2.0));
+        }
+
+        this.bSpline = Splines.getBSpline(this.degrees);
+        this.compiled = Splines.<GLVec3D> getBSplineCompiler(this.degrees).compile(this.list);
+    }
+
+    @Benchmark
+    public GLVec3D bSpline() {
+        return this.bSpline.eval(this.t, this.list);
+    }
+
+    @Benchmark
+    public double[] compiledBSpline() {
+        this.compiled.eval(this.t, this.out, 0);
+
+        return this.out;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link BulkEasings} kernels against looping
+ * {@link ScalarEasing#ease} over the same arrays.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BulkEasingBenchmark {
+
+    @Param({"LINEAR", "QUADRATIC_IN_OUT", "CUBIC_IN_OUT", "QUINT_IN_OUT", "SINE_IN_OUT", "EXPONENTIAL_IN_OUT"})
+    public EasingKind kind;
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private ScalarEasing easing;
+    private double[] t;
+    private double[] s;
+    private double[] c;
+    private double[] d;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        this.easing = this.kind;
+        this.t = new double[this.size];
+        this.s = new double[this.size];
+        this.c = new double[this.size];
+        this.d = new double[this.size];
+        this.out = new double[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            this.d[i] = 1.0 + (i % 7) * 0.25;
+            this.t[i] = this.d[i] * i / this.size;
+            this.s[i] = i % 3;
+            this.c[i] = 2.0 + i % 5;
+        }
+    }
+
+    @Benchmark
+    public double[] bulk() {
+        this.kind.ease(this.t, this.s, this.c, this.d, this.out, 0, this.size);
+
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] scalarLoop() {
+        for (int i = 0; i < this.size; i++) {
+            this.out[i] = this.easing.ease(this.t[i], this.s[i], this.c[i], this.d[i]);
+        }
+
+        return this.out;
+    }
+}
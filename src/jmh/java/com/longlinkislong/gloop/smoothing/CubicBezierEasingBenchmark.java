@@ -0,0 +1,114 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of {@link CubicBezierEasing} against a brute force
+ * solver that bisects x(u) = t to full double precision. Accuracy is checked
+ * by CubicBezierEasingTest.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CubicBezierEasingBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"0.25,0.1,0.25,1.0", "0.42,0.0,0.58,1.0", "0.0,0.0,1.0,1.0", "0.68,-0.55,0.265,1.55", "1.0,0.0,0.0,1.0"})
+    public String curve;
+
+    private CubicBezierEasing easing;
+    private ScalarEasing reference;
+    private double[] t;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        final String[] parts = this.curve.split(",");
+        final double x1 = Double.parseDouble(parts[0]);
+        final double y1 = Double.parseDouble(parts[1]);
+        final double x2 = Double.parseDouble(parts[2]);
+        final double y2 = Double.parseDouble(parts[3]);
+
+        this.easing = CubicBezierEasing.of(x1, y1, x2, y2);
+        this.reference = (time, start, delta, duration) -> start + delta * bruteForce(x1, y1, x2, y2, time / duration);
+        this.t = new double[SIZE];
+        this.out = new double[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+            this.t[i] = (double) i / (SIZE - 1);
+        }
+    }
+
+    private static double bruteForce(
+            final double x1, final double y1, final double x2, final double y2,
+            final double x) {
+
+        if (x <= 0.0) {
+            return 0.0;
+        } else if (x >= 1.0) {
+            return 1.0;
+        }
+
+        double low = 0.0;
+        double high = 1.0;
+
+        for (int i = 0; i < 100; i++) {
+            final double u = 0.5 * (low + high);
+
+            if (bernstein(u, x1, x2) < x) {
+                low = u;
+            } else {
+                high = u;
+            }
+        }
+
+        return bernstein(0.5 * (low + high), y1, y2);
+    }
+
+    private static double bernstein(final double u, final double p1, final double p2) {
+        final double v = 1.0 - u;
+
+        return 3.0 * v * v * u * p1 + 3.0 * v * u * u * p2 + u * u * u;
+    }
+
+    @Benchmark
+    public double[] solver() {
+        for (int i = 0; i < SIZE; i++) {
+            this.out[i] = this.easing.ease(this.t[i], 0.0, 1.0, 1.0);
+        }
+
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] bruteForce() {
+        for (int i = 0; i < SIZE; i++) {
+            this.out[i] = this.reference.ease(this.t[i], 0.0, 1.0, 1.0);
+        }
+
+        return this.out;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a composite curve built from nested lambdas against the same curve
+ * compiled by {@link EasingCurve#compile()} and written out by hand.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class FusedEasingBenchmark {
+
+    private double t = 1.37;
+    private double s = 1.0;
+    private double c = 4.0;
+    private double d = 3.0;
+    private ScalarEasing nested;
+    private ScalarEasing fused;
+    private double sink;
+
+    @Setup
+    public void setup() {
+        this.nested = then(blend(mirror(Easings::cubicIn), Easings::sineInOut, 0.3), timeScale(reverse(Easings::quintOut), 0.5), 0.6);
+        this.fused = EasingCurve.of(EasingKind.CUBIC_IN).mirror()
+                .blend(EasingCurve.of(EasingKind.SINE_IN_OUT), 0.3)
+                .then(EasingCurve.of(EasingKind.QUINT_OUT).reverse().timeScale(0.5), 0.6)
+                .compile();
+
+        // other curves built from the same combinators make their call sites megamorphic, as in an application
+        final ScalarEasing[] others = {
+            then(reverse(Easings::sineIn), mirror(Easings::quadraticIn), 0.5),
+            blend(timeScale(Easings::exponentialOut, 2.0), reverse(Easings::cubicInOut), 0.5),
+            mirror(then(Easings::linear, blend(Easings::quintIn, Easings::sineOut, 0.2), 0.3))
+        };
+
+        for (int i = 0; i < 100_000; i++) {
+            for (ScalarEasing other : others) {
+                this.sink += other.ease(i * 1E-5, 0.0, 1E-9, 1.0);
+            }
+        }
+    }
+
+    private static double normalized(final ScalarEasing easing, final double x) {
+        return easing.ease(x, 0.0, 1.0, 1.0);
+    }
+
+    private static ScalarEasing reverse(final ScalarEasing f) {
+        return (t, s, c, d) -> s + c * normalized(f, 1.0 - t / d);
+    }
+
+    private static ScalarEasing mirror(final ScalarEasing f) {
+        return (t, s, c, d) -> s + c * (1.0 - normalized(f, 1.0 - t / d));
+    }
+
+    private static ScalarEasing timeScale(final ScalarEasing f, final double scale) {
+        return (t, s, c, d) -> s + c * normalized(f, t / d * scale);
+    }
+
+    private static ScalarEasing blend(final ScalarEasing f, final ScalarEasing g, final double weight) {
+        return (t, s, c, d) -> {
+            final double a = normalized(f, t / d);
+
+            return s + c * (a + weight * (normalized(g, t / d) - a));
+        };
+    }
+
+    private static ScalarEasing then(final ScalarEasing f, final ScalarEasing g, final double split) {
+        return (t, s, c, d) -> {
+            final double x = t / d;
+
+            return x < split
+                    ? s + c * split * normalized(f, x / split)
+                    : s + c * (split + (1.0 - split) * normalized(g, (x - split) / (1.0 - split)));
+        };
+    }
+
+    @Benchmark
+    public double nestedLambdas() {
+        return this.nested.ease(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double fused() {
+        return this.fused.ease(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double handWritten() {
+        final double x = this.t / this.d;
+        final double f;
+
+        if (x < 0.6) {
+            final double u = x / 0.6;
+            final double a = 1.0 - Easings.cubicIn(1.0 - u, 0.0, 1.0, 1.0);
+
+            f = 0.6 * (a + 0.3 * (Easings.sineInOut(u, 0.0, 1.0, 1.0) - a));
+        } else {
+            f = 0.6 + 0.4 * Easings.quintOut(1.0 - 0.5 * (x - 0.6) / 0.4, 0.0, 1.0, 1.0);
+        }
+
+        return this.s + this.c * f;
+    }
+}
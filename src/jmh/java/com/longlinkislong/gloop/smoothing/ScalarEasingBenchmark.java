@@ -0,0 +1,201 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the scalar easing functions in double and single precision.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ScalarEasingBenchmark {
+
+    private double t = 0.37;
+    private double s = 1.0;
+    private double c = 4.0;
+    private double d = 1.0;
+    private float tf = 0.37f;
+    private float sf = 1f;
+    private float cf = 4f;
+    private float df = 1f;
+
+    @Benchmark
+    public double linear() {
+        return Easings.linear(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quadraticIn() {
+        return Easings.quadraticIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quadraticOut() {
+        return Easings.quadraticOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quadraticInOut() {
+        return Easings.quadraticInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double cubicIn() {
+        return Easings.cubicIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double cubicOut() {
+        return Easings.cubicOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double cubicInOut() {
+        return Easings.cubicInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quintIn() {
+        return Easings.quintIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quintOut() {
+        return Easings.quintOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double quintInOut() {
+        return Easings.quintInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double sineIn() {
+        return Easings.sineIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double sineOut() {
+        return Easings.sineOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double sineInOut() {
+        return Easings.sineInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double exponentialIn() {
+        return Easings.exponentialIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double exponentialOut() {
+        return Easings.exponentialOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public double exponentialInOut() {
+        return Easings.exponentialInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public float linearF() {
+        return Easings.linear(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quadraticInF() {
+        return Easings.quadraticIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quadraticOutF() {
+        return Easings.quadraticOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quadraticInOutF() {
+        return Easings.quadraticInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float cubicInF() {
+        return Easings.cubicIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float cubicOutF() {
+        return Easings.cubicOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float cubicInOutF() {
+        return Easings.cubicInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quintInF() {
+        return Easings.quintIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quintOutF() {
+        return Easings.quintOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float quintInOutF() {
+        return Easings.quintInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float sineInF() {
+        return Easings.sineIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float sineOutF() {
+        return Easings.sineOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float sineInOutF() {
+        return Easings.sineInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float exponentialInF() {
+        return Easings.exponentialIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float exponentialOutF() {
+        return Easings.exponentialOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public float exponentialInOutF() {
+        return Easings.exponentialInOut(this.tf, this.sf, this.cf, this.df);
+    }
+}
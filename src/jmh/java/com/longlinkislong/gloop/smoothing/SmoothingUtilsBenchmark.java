@@ -0,0 +1,72 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVec3D;
+import com.longlinkislong.gloop.GLVec3F;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the BSpline basis function and the cubic Bernstein polynomial.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SmoothingUtilsBenchmark {
+
+    @Param({"3", "4", "6", "8"})
+    public int k;
+
+    private int i = 2;
+    private double u = 4.37;
+    private float uf = 4.37f;
+    private double bu = 0.37;
+    private float buf = 0.37f;
+    private final GLVec3D p0 = GLVec3D.create(0.0, 0.0, 0.0);
+    private final GLVec3D p1 = GLVec3D.create(1.0, 2.0, 0.0);
+    private final GLVec3D p2 = GLVec3D.create(3.0, 2.0, 1.0);
+    private final GLVec3D p3 = GLVec3D.create(4.0, 0.0, 1.0);
+    private final GLVec3F p0f = GLVec3F.create(0f, 0f, 0f);
+    private final GLVec3F p1f = GLVec3F.create(1f, 2f, 0f);
+    private final GLVec3F p2f = GLVec3F.create(3f, 2f, 1f);
+    private final GLVec3F p3f = GLVec3F.create(4f, 0f, 1f);
+
+    @Benchmark
+    public double basis() {
+        return SmoothingUtils.N(this.i, this.k, this.u);
+    }
+
+    @Benchmark
+    public float basisF() {
+        return SmoothingUtils.N(this.i, this.k, this.uf);
+    }
+
+    @Benchmark
+    public GLVec3D bernstein() {
+        return SmoothingUtils.bernstein(this.bu, this.p0, this.p1, this.p2, this.p3);
+    }
+
+    @Benchmark
+    public GLVec3F bernsteinF() {
+        return SmoothingUtils.bernstein(this.buf, this.p0f, this.p1f, this.p2f, this.p3f);
+    }
+}
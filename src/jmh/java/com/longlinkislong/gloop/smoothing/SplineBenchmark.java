@@ -0,0 +1,104 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVec3D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single evaluation of each spline type in {@link Splines} and of
+ * the matching {@link CompiledSpline}.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SplineBenchmark {
+
+    @Param({"4", "16", "64", "256", "1024"})
+    public int points;
+
+    private double t = 0.37;
+    private List<GLVec3D> list;
+    private Spline<GLVec3D> tcb;
+    private CompiledSpline compiledTCB;
+    private CompiledSpline compiledBesselOverhauser;
+    private CompiledSpline compiledPiecewiseBezier;
+    private final double[] out = new double[3];
+
+    @Setup
+    public void setup() {
+        this.list = new ArrayList<>(this.points);
+
+        for (int i = 0; i < this.points; i++) {
+            this.list.add(GLVec3D.create(i, Math.sin(i * 0.7) * 4.0, Math.cos(i * 0.3) * 2.0));
+        }
+
+        this.tcb = Splines.genTCBSpline(0.0, 0.0, 0.0);
+        this.compiledTCB = Splines.<GLVec3D> genTCBCompiler(0.0, 0.0, 0.0).compile(this.list);
+        this.compiledBesselOverhauser = Splines.<GLVec3D> getBesselOverhauserCompiler().compile(this.list);
+        this.compiledPiecewiseBezier = Splines.<GLVec3D> getPiecewiseBezierCompiler().compile(this.list);
+    }
+
+    @Benchmark
+    public GLVec3D bezier() {
+        return Splines.bezier(this.t, this.list);
+    }
+
+    @Benchmark
+    public GLVec3D piecewiseBezier() {
+        return Splines.piecewiseBezier(this.t, this.list);
+    }
+
+    @Benchmark
+    public GLVec3D besselOverhauser() {
+        return Splines.besselOverhauser(this.t, this.list);
+    }
+
+    @Benchmark
+    public GLVec3D tcbSpline() {
+        return this.tcb.eval(this.t, this.list);
+    }
+
+    @Benchmark
+    public double[] compiledPiecewiseBezier() {
+        this.compiledPiecewiseBezier.eval(this.t, this.out, 0);
+
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] compiledBesselOverhauser() {
+        this.compiledBesselOverhauser.eval(this.t, this.out, 0);
+
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] compiledTCBSpline() {
+        this.compiledTCB.eval(this.t, this.out, 0);
+
+        return this.out;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how {@link SplineSampler} scales with the number of threads when
+ * baking a million samples of a long spline.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SplineSamplerBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1000000"})
+    public int samples;
+
+    @Param({"4096"})
+    public int chunkSize;
+
+    private ForkJoinPool pool;
+    private SplineSampler sequential;
+    private SplineSampler parallel;
+    private CompiledSpline spline;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        final int count = 10000;
+        final double[] points = new double[count * 3];
+
+        for (int i = 0; i < count; i++) {
+            points[i * 3] = i;
+            points[i * 3 + 1] = Math.sin(i * 0.7) * 4.0;
+            points[i * 3 + 2] = Math.cos(i * 0.3) * 2.0;
+        }
+
+        this.pool = new ForkJoinPool(this.threads);
+        this.sequential = new SplineSampler();
+        this.parallel = new SplineSampler(this.pool, this.chunkSize);
+        this.spline = CompiledSpline.bSpline(4, points, 0, 3, count, 3);
+        this.out = new double[this.samples * 3];
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] sequential() {
+        this.sequential.sample(this.spline, this.samples, this.out, 0, 3);
+
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] parallel() {
+        this.parallel.sample(this.spline, this.samples, this.out, 0, 3);
+
+        return this.out;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVec3D;
+import com.longlinkislong.gloop.GLVec3F;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the vector easing functions, both the allocating overloads and the
+ * overloads that write into a destination vector.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class VectorEasingBenchmark {
+
+    private double t = 0.37;
+    private double d = 1.0;
+    private float tf = 0.37f;
+    private float df = 1f;
+    private final GLVec3D s = GLVec3D.create(1.0, 2.0, 3.0);
+    private final GLVec3D c = GLVec3D.create(4.0, -5.0, 6.0);
+    private final GLVec3D out = GLVec3D.create(0.0, 0.0, 0.0);
+    private final GLVec3F sf = GLVec3F.create(1f, 2f, 3f);
+    private final GLVec3F cf = GLVec3F.create(4f, -5f, 6f);
+    private final GLVec3F outf = GLVec3F.create(0f, 0f, 0f);
+
+    @Benchmark
+    public GLVec3D linear() {
+        return Easings.linear(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticIn() {
+        return Easings.quadraticIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticOut() {
+        return Easings.quadraticOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticInOut() {
+        return Easings.quadraticInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D cubicIn() {
+        return Easings.cubicIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D cubicOut() {
+        return Easings.cubicOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D cubicInOut() {
+        return Easings.cubicInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quintIn() {
+        return Easings.quintIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quintOut() {
+        return Easings.quintOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D quintInOut() {
+        return Easings.quintInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D sineIn() {
+        return Easings.sineIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D sineOut() {
+        return Easings.sineOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D sineInOut() {
+        return Easings.sineInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialIn() {
+        return Easings.exponentialIn(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialOut() {
+        return Easings.exponentialOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialInOut() {
+        return Easings.exponentialInOut(this.t, this.s, this.c, this.d);
+    }
+
+    @Benchmark
+    public GLVec3D linearInPlace() {
+        return Easings.linear(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticInInPlace() {
+        return Easings.quadraticIn(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticOutInPlace() {
+        return Easings.quadraticOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quadraticInOutInPlace() {
+        return Easings.quadraticInOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D cubicInInPlace() {
+        return Easings.cubicIn(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D cubicOutInPlace() {
+        return Easings.cubicOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D cubicInOutInPlace() {
+        return Easings.cubicInOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quintInInPlace() {
+        return Easings.quintIn(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quintOutInPlace() {
+        return Easings.quintOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D quintInOutInPlace() {
+        return Easings.quintInOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D sineInInPlace() {
+        return Easings.sineIn(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D sineOutInPlace() {
+        return Easings.sineOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D sineInOutInPlace() {
+        return Easings.sineInOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialInInPlace() {
+        return Easings.exponentialIn(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialOutInPlace() {
+        return Easings.exponentialOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3D exponentialInOutInPlace() {
+        return Easings.exponentialInOut(this.t, this.s, this.c, this.d, this.out);
+    }
+
+    @Benchmark
+    public GLVec3F linearF() {
+        return Easings.linear(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticInF() {
+        return Easings.quadraticIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticOutF() {
+        return Easings.quadraticOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticInOutF() {
+        return Easings.quadraticInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F cubicInF() {
+        return Easings.cubicIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F cubicOutF() {
+        return Easings.cubicOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F cubicInOutF() {
+        return Easings.cubicInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quintInF() {
+        return Easings.quintIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quintOutF() {
+        return Easings.quintOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F quintInOutF() {
+        return Easings.quintInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F sineInF() {
+        return Easings.sineIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F sineOutF() {
+        return Easings.sineOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F sineInOutF() {
+        return Easings.sineInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialInF() {
+        return Easings.exponentialIn(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialOutF() {
+        return Easings.exponentialOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialInOutF() {
+        return Easings.exponentialInOut(this.tf, this.sf, this.cf, this.df);
+    }
+
+    @Benchmark
+    public GLVec3F linearInPlaceF() {
+        return Easings.linear(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticInInPlaceF() {
+        return Easings.quadraticIn(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticOutInPlaceF() {
+        return Easings.quadraticOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quadraticInOutInPlaceF() {
+        return Easings.quadraticInOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F cubicInInPlaceF() {
+        return Easings.cubicIn(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F cubicOutInPlaceF() {
+        return Easings.cubicOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F cubicInOutInPlaceF() {
+        return Easings.cubicInOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quintInInPlaceF() {
+        return Easings.quintIn(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quintOutInPlaceF() {
+        return Easings.quintOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F quintInOutInPlaceF() {
+        return Easings.quintInOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F sineInInPlaceF() {
+        return Easings.sineIn(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F sineOutInPlaceF() {
+        return Easings.sineOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F sineInOutInPlaceF() {
+        return Easings.sineInOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialInInPlaceF() {
+        return Easings.exponentialIn(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialOutInPlaceF() {
+        return Easings.exponentialOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+
+    @Benchmark
+    public GLVec3F exponentialInOutInPlaceF() {
+        return Easings.exponentialInOut(this.tf, this.sf, this.cf, this.df, this.outf);
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * A table of cumulative arc lengths over a {@link CompiledSpline}. The table is
+ * built once with adaptive Gauss-Legendre quadrature and maps distances along
+ * the curve back to time steps, so the spline can be traversed at constant
+ * speed. Lookups binary search the table and refine the time step with
+ * Newton's method. ArcLengthTables are immutable and may be shared between
+ * threads; a {@link Cursor} is not.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class ArcLengthTable {
+
+    private static final int SAMPLES_PER_PIECE = 4;
+    private static final int MAX_DEPTH = 16;
+    private static final int MAX_NEWTON_STEPS = 8;
+    private static final double DEFAULT_TOLERANCE = 1E-6;
+
+    // 5 point Gauss-Legendre nodes and weights on [-1, 1]
+    private static final double[] GL_NODES = {
+        -0.9061798459386640, -0.5384693101056831, 0.0, 0.5384693101056831, 0.9061798459386640
+    };
+    private static final double[] GL_WEIGHTS = {
+        0.2369268850561891, 0.4786286704993665, 0.5688888888888889, 0.4786286704993665, 0.2369268850561891
+    };
+
+    private final CompiledSpline spline;
+    private final double tolerance;
+    private final int intervals;
+    private final double[] lengths;
+
+    private ArcLengthTable(final CompiledSpline spline, final double tolerance, final double[] lengths) {
+        this.spline = spline;
+        this.tolerance = tolerance;
+        this.intervals = lengths.length - 1;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Builds an arc length table with an absolute tolerance of 1E-6.
+     *
+     * @param spline the spline to measure.
+     * @return the arc length table.
+     * @since 26.10.18
+     */
+    public static ArcLengthTable build(final CompiledSpline spline) {
+        return build(spline, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Builds an arc length table. Every piece of the spline is split into 4
+     * intervals and the length of each interval is integrated adaptively.
+     *
+     * @param spline the spline to measure.
+     * @param tolerance the absolute error allowed per interval.
+     * @return the arc length table.
+     * @since 26.10.18
+     */
+    public static ArcLengthTable build(final CompiledSpline spline, final double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be greater than 0!");
+        }
+
+        final int intervals = spline.pieceCount() * SAMPLES_PER_PIECE;
+        final double[] lengths = new double[intervals + 1];
+        final double step = 1.0 / SAMPLES_PER_PIECE;
+
+        for (int k = 0; k < intervals; k++) {
+            final int piece = k / SAMPLES_PER_PIECE;
+            final double s0 = (k % SAMPLES_PER_PIECE) * step;
+
+            lengths[k + 1] = lengths[k] + integrate(spline, piece, s0, s0 + step, tolerance);
+        }
+
+        return new ArcLengthTable(spline, tolerance, lengths);
+    }
+
+    /**
+     * Retrieves the spline the table was built over.
+     *
+     * @return the spline.
+     * @since 26.10.18
+     */
+    public CompiledSpline spline() {
+        return this.spline;
+    }
+
+    /**
+     * Retrieves the total length of the spline.
+     *
+     * @return the length.
+     * @since 26.10.18
+     */
+    public double length() {
+        return this.lengths[this.intervals];
+    }
+
+    /**
+     * Computes the arc length from the start of the spline up to a time step.
+     *
+     * @param t the time step on range [0, 1]
+     * @return the distance along the spline.
+     * @since 26.10.18
+     */
+    public double length(final double t) {
+        if (!(t > 0.0)) {
+            return 0.0;
+        } else if (t >= 1.0) {
+            return this.length();
+        }
+
+        final int k = Math.min((int) (t * this.intervals), this.intervals - 1);
+
+        return this.lengths[k] + this.partial(k, t);
+    }
+
+    /**
+     * Finds the time step at a distance along the spline.
+     *
+     * @param distance the distance from the start of the spline. Values
+     * outside of [0, length] are clamped.
+     * @return the time step on range [0, 1]
+     * @since 26.10.18
+     */
+    public double timeAt(final double distance) {
+        return this.solve(this.findInterval(distance), distance);
+    }
+
+    /**
+     * Constructs a cursor that starts at the beginning of the spline.
+     *
+     * @return the new cursor.
+     * @since 26.10.18
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int findInterval(final double distance) {
+        int low = 0;
+        int high = this.intervals;
+
+        // lengths[low] <= distance < lengths[high]
+        while (high - low > 1) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.lengths[mid] <= distance) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Computes the arc length from the start of interval k up to time step t
+     * within the interval.
+     */
+    private double partial(final int k, final double t) {
+        final int piece = k / SAMPLES_PER_PIECE;
+        final double s0 = (double) (k % SAMPLES_PER_PIECE) / SAMPLES_PER_PIECE;
+        final double s = t * this.spline.pieceCount() - piece;
+
+        return integrate(this.spline, piece, s0, s, this.tolerance);
+    }
+
+    /**
+     * Solves length(t) = distance within interval k. Newton steps that leave
+     * the interval are replaced with bisection.
+     */
+    private double solve(final int k, final double distance) {
+        if (!(distance > 0.0)) {
+            return 0.0;
+        } else if (distance >= this.length()) {
+            return 1.0;
+        }
+
+        final double d0 = this.lengths[k];
+        final double d1 = this.lengths[k + 1];
+        final int pieceCount = this.spline.pieceCount();
+        final int piece = k / SAMPLES_PER_PIECE;
+        double low = (double) k / this.intervals;
+        double high = (double) (k + 1) / this.intervals;
+        double t = d1 > d0 ? low + (high - low) * (distance - d0) / (d1 - d0) : low;
+
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            final double f = d0 + this.partial(k, t) - distance;
+
+            if (Math.abs(f) <= this.tolerance) {
+                break;
+            } else if (f > 0.0) {
+                high = t;
+            } else {
+                low = t;
+            }
+
+            // the speed with respect to t is the piece speed scaled by the piece count
+            final double speed = this.spline.speed(piece, t * pieceCount - piece) * pieceCount;
+            final double next = t - f / speed;
+
+            t = next > low && next < high ? next : 0.5 * (low + high);
+        }
+
+        return t;
+    }
+
+    private static double integrate(
+            final CompiledSpline spline, final int piece,
+            final double a, final double b, final double tolerance) {
+
+        return integrate(spline.coefficients(), spline.dimension(), spline.order(), piece, a, b, tolerance);
+    }
+
+    /**
+     * Integrates the speed of a piece stored in a raw coefficient array laid
+     * out like the coefficients of a {@link CompiledSpline}.
+     */
+    static double integrate(
+            final double[] coefficients, final int dimension, final int order, final int piece,
+            final double a, final double b, final double tolerance) {
+
+        return integrate(
+                coefficients, dimension, order, piece,
+                a, b, gaussLegendre(coefficients, dimension, order, piece, a, b), tolerance, MAX_DEPTH);
+    }
+
+    /**
+     * Integrates the speed of a piece from its start up to s with the
+     * subdivision used by {@link #build(CompiledSpline, double)}: each whole
+     * interval below s on its own, then the part of the interval that
+     * contains s. Lengths measured this way agree with the table's.
+     */
+    static double partialLength(
+            final double[] coefficients, final int dimension, final int order, final int piece,
+            final double s, final double tolerance) {
+
+        final double step = 1.0 / SAMPLES_PER_PIECE;
+        double sum = 0.0;
+
+        for (int k = 0; k < SAMPLES_PER_PIECE; k++) {
+            final double s0 = k * step;
+
+            if (s0 + step <= s) {
+                sum += integrate(coefficients, dimension, order, piece, s0, s0 + step, tolerance);
+            } else {
+                if (s > s0) {
+                    sum += integrate(coefficients, dimension, order, piece, s0, s, tolerance);
+                }
+
+                break;
+            }
+        }
+
+        return sum;
+    }
+
+    private static double integrate(
+            final double[] coefficients, final int dimension, final int order, final int piece,
+            final double a, final double b, final double whole,
+            final double tolerance, final int depth) {
+
+        final double mid = 0.5 * (a + b);
+        final double left = gaussLegendre(coefficients, dimension, order, piece, a, mid);
+        final double right = gaussLegendre(coefficients, dimension, order, piece, mid, b);
+
+        if (depth == 0 || Math.abs(left + right - whole) <= tolerance) {
+            return left + right;
+        }
+
+        return integrate(coefficients, dimension, order, piece, a, mid, left, 0.5 * tolerance, depth - 1)
+                + integrate(coefficients, dimension, order, piece, mid, b, right, 0.5 * tolerance, depth - 1);
+    }
+
+    private static double gaussLegendre(
+            final double[] coefficients, final int dimension, final int order, final int piece,
+            final double a, final double b) {
+
+        final double half = 0.5 * (b - a);
+        final double center = 0.5 * (a + b);
+        double sum = 0.0;
+
+        for (int i = 0; i < GL_NODES.length; i++) {
+            sum += GL_WEIGHTS[i] * CompiledSpline.speed(coefficients, dimension, order, piece, center + half * GL_NODES[i]);
+        }
+
+        return sum * half;
+    }
+
+    /**
+     * A position on the spline that is moved by distance. The cursor remembers
+     * the interval of its last lookup, so moving forward by small distances
+     * costs O(1) amortized instead of a binary search. A cursor must not be
+     * shared between threads.
+     *
+     * @since 26.10.18
+     */
+    public final class Cursor {
+
+        private int interval;
+        private double distance;
+        private double time;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves the cursor to a distance along the spline.
+         *
+         * @param distance the distance from the start of the spline. Values
+         * outside of [0, length] are clamped.
+         * @return the time step at the distance.
+         * @since 26.10.18
+         */
+        public double seek(final double distance) {
+            final double[] table = ArcLengthTable.this.lengths;
+            final int last = ArcLengthTable.this.intervals - 1;
+
+            if (distance < table[this.interval]) {
+                this.interval = ArcLengthTable.this.findInterval(distance);
+            } else {
+                while (this.interval < last && table[this.interval + 1] <= distance) {
+                    this.interval++;
+                }
+            }
+
+            this.distance = Math.min(Math.max(distance, 0.0), ArcLengthTable.this.length());
+            this.time = ArcLengthTable.this.solve(this.interval, distance);
+
+            return this.time;
+        }
+
+        /**
+         * Moves the cursor by a distance.
+         *
+         * @param delta the distance to move by.
+         * @return the time step at the new position.
+         * @since 26.10.18
+         */
+        public double advance(final double delta) {
+            return this.seek(this.distance + delta);
+        }
+
+        /**
+         * Retrieves the distance of the cursor from the start of the spline.
+         *
+         * @return the distance.
+         * @since 26.10.18
+         */
+        public double distance() {
+            return this.distance;
+        }
+
+        /**
+         * Retrieves the time step of the cursor.
+         *
+         * @return the time step on range [0, 1]
+         * @since 26.10.18
+         */
+        public double time() {
+            return this.time;
+        }
+    }
+}
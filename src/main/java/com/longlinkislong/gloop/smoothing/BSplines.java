@@ -0,0 +1,414 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVecD;
+import java.util.List;
+
+/**
+ * BSpline and NURBS evaluation over explicit knot vectors. Only the order
+ * non-zero basis functions of the span containing u are computed, using the
+ * iterative Cox-de Boor recurrence. Control points use the same flat layout as
+ * {@link PrimitiveSplines}.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class BSplines {
+
+    private BSplines() {
+    }
+
+    /**
+     * Computes the non-zero basis functions of a uniform BSpline with integer
+     * knots. Every span of a uniform knot vector has the same basis functions,
+     * so they depend only on the local parameter within the span.
+     *
+     * @param order the order of the BSpline.
+     * @param s the local parameter on range [0, 1]
+     * @param out the array to write the order basis values into.
+     * @param outOffset the offset to write the basis values at.
+     * @since 26.10.18
+     */
+    public static void uniformBasis(final int order, final double s, final double[] out, final int outOffset) {
+        out[outOffset] = 1.0;
+
+        for (int j = 1; j < order; j++) {
+            // left[j - r] = s + j - r - 1 and right[r + 1] = r + 1 - s always sum to j
+            final double inv = 1.0 / j;
+            double saved = 0.0;
+
+            for (int r = 0; r < j; r++) {
+                final double temp = out[outOffset + r] * inv;
+
+                out[outOffset + r] = saved + (r + 1 - s) * temp;
+                saved = (s + j - r - 1) * temp;
+            }
+
+            out[outOffset + j] = saved;
+        }
+    }
+
+    /**
+     * Computes the non-zero basis functions of a uniform BSpline with integer
+     * knots.
+     *
+     * @param order the order of the BSpline.
+     * @param s the local parameter on range [0, 1]
+     * @param out the array to write the order basis values into.
+     * @param outOffset the offset to write the basis values at.
+     * @since 26.10.18
+     */
+    public static void uniformBasis(final int order, final float s, final float[] out, final int outOffset) {
+        out[outOffset] = 1f;
+
+        for (int j = 1; j < order; j++) {
+            final float inv = 1f / j;
+            float saved = 0f;
+
+            for (int r = 0; r < j; r++) {
+                final float temp = out[outOffset + r] * inv;
+
+                out[outOffset + r] = saved + (r + 1 - s) * temp;
+                saved = (s + j - r - 1) * temp;
+            }
+
+            out[outOffset + j] = saved;
+        }
+    }
+
+    /**
+     * Computes the non-zero basis functions of a uniform BSpline with integer
+     * knots along with their derivatives. With unit knot spacing the
+     * derivative of an order k basis function is the difference of two
+     * neighboring order k - 1 basis functions, so the d-th derivatives are the
+     * d-th differences of the order k - d basis.
+     *
+     * @param order the order of the BSpline.
+     * @param s the local parameter on range [0, 1]
+     * @param derivatives the highest derivative to compute.
+     * @param out the array to write (derivatives + 1) * order values into.
+     * Row d holds the d-th derivative of each basis function.
+     * @param outOffset the offset to write the first row at.
+     * @since 26.10.18
+     */
+    public static void uniformBasisDerivatives(
+            final int order, final double s, final int derivatives,
+            final double[] out, final int outOffset) {
+
+        for (int d = 0; d <= derivatives; d++) {
+            final int row = outOffset + d * order;
+
+            if (d >= order) {
+                for (int r = 0; r < order; r++) {
+                    out[row + r] = 0.0;
+                }
+
+                continue;
+            }
+
+            uniformBasis(order - d, s, out, row);
+
+            for (int r = order - d; r < order; r++) {
+                out[row + r] = 0.0;
+            }
+
+            // local basis r of order k is the difference of local bases r - 1 and r of order k - 1
+            for (int pass = 1; pass <= d; pass++) {
+                for (int r = order - d + pass - 1; r > 0; r--) {
+                    out[row + r] = out[row + r - 1] - out[row + r];
+                }
+
+                out[row] = -out[row];
+            }
+        }
+    }
+
+    /**
+     * Evaluates a BSpline.
+     *
+     * @param knots the knot vector.
+     * @param u the parameter value on the knot vector's domain.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least 3 * order elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void eval(
+            final KnotVector knots, final double u,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final int span = knots.findSpan(u);
+
+        evalSpan(knots, span, u, points, offset + (span - knots.order() + 1) * stride, stride, dimension, null, 0, scratch, out, outOffset);
+    }
+
+    /**
+     * Evaluates a rational BSpline (NURBS). Each control point is scaled by
+     * its weight and the result is divided by the sum of the weighted basis
+     * functions.
+     *
+     * @param knots the knot vector.
+     * @param u the parameter value on the knot vector's domain.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param weights the weight of each control point.
+     * @param weightOffset the offset of the first weight.
+     * @param scratch a scratch array with at least 3 * order elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void evalRational(
+            final KnotVector knots, final double u,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] weights, final int weightOffset,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final int span = knots.findSpan(u);
+        final int firstIndex = span - knots.order() + 1;
+
+        evalSpan(knots, span, u, points, offset + firstIndex * stride, stride, dimension, weights, weightOffset + firstIndex, scratch, out, outOffset);
+    }
+
+    /**
+     * Blends the order control points of a span, starting at first. If
+     * weights is not null the blend is rational and weights holds the weight
+     * of the span's first control point at weightOffset. Every BSpline and
+     * NURBS evaluation goes through here.
+     */
+    private static void evalSpan(
+            final KnotVector knots, final int span, final double u,
+            final double[] points, final int first, final int stride, final int dimension,
+            final double[] weights, final int weightOffset,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final int order = knots.order();
+
+        knots.basis(span, u, scratch, 0, scratch, order);
+
+        double scale = 1.0;
+
+        if (weights != null) {
+            double sum = 0.0;
+
+            for (int r = 0; r < order; r++) {
+                scratch[r] *= weights[weightOffset + r];
+                sum += scratch[r];
+            }
+
+            scale = 1.0 / sum;
+        }
+
+        for (int j = 0; j < dimension; j++) {
+            double v = 0.0;
+
+            for (int r = 0; r < order; r++) {
+                v += scratch[r] * points[first + r * stride + j];
+            }
+
+            out[outOffset + j] = v * scale;
+        }
+    }
+
+    /**
+     * Evaluates a BSpline at every parameter value. This allocates the scratch
+     * storage on every call; see
+     * {@link #eval(KnotVector, double[], int, int, double[], int, int, int, double[], double[], int, int)}
+     * to reuse it.
+     *
+     * @param knots the knot vector.
+     * @param us the parameter values.
+     * @param uOffset the offset of the first parameter value.
+     * @param uCount the number of parameter values to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void eval(
+            final KnotVector knots,
+            final double[] us, final int uOffset, final int uCount,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] out, final int outOffset, final int outStride) {
+
+        eval(knots, us, uOffset, uCount, points, offset, stride, dimension, new double[3 * knots.order()], out, outOffset, outStride);
+    }
+
+    /**
+     * Evaluates a BSpline at every parameter value without allocating.
+     *
+     * @param knots the knot vector.
+     * @param us the parameter values.
+     * @param uOffset the offset of the first parameter value.
+     * @param uCount the number of parameter values to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least 3 * order elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void eval(
+            final KnotVector knots,
+            final double[] us, final int uOffset, final int uCount,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < uCount; i++) {
+            eval(knots, us[uOffset + i], points, offset, stride, dimension, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a rational BSpline (NURBS) at every parameter value. This
+     * allocates the scratch storage on every call; see
+     * {@link #evalRational(KnotVector, double[], int, int, double[], int, int, int, double[], int, double[], double[], int, int)}
+     * to reuse it.
+     *
+     * @param knots the knot vector.
+     * @param us the parameter values.
+     * @param uOffset the offset of the first parameter value.
+     * @param uCount the number of parameter values to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param weights the weight of each control point.
+     * @param weightOffset the offset of the first weight.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void evalRational(
+            final KnotVector knots,
+            final double[] us, final int uOffset, final int uCount,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] weights, final int weightOffset,
+            final double[] out, final int outOffset, final int outStride) {
+
+        evalRational(knots, us, uOffset, uCount, points, offset, stride, dimension, weights, weightOffset, new double[3 * knots.order()], out, outOffset, outStride);
+    }
+
+    /**
+     * Evaluates a rational BSpline (NURBS) at every parameter value without
+     * allocating.
+     *
+     * @param knots the knot vector.
+     * @param us the parameter values.
+     * @param uOffset the offset of the first parameter value.
+     * @param uCount the number of parameter values to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param weights the weight of each control point.
+     * @param weightOffset the offset of the first weight.
+     * @param scratch a scratch array with at least 3 * order elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void evalRational(
+            final KnotVector knots,
+            final double[] us, final int uOffset, final int uCount,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] weights, final int weightOffset,
+            final double[] scratch,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < uCount; i++) {
+            evalRational(knots, us[uOffset + i], points, offset, stride, dimension, weights, weightOffset, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Generates a BSpline over a knot vector. The time step on range [0, 1] is
+     * mapped onto the knot vector's domain. The number of points must match
+     * the knot vector.
+     *
+     * @param <VecT> the type of vector.
+     * @param knots the knot vector.
+     * @return the spline function.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> Spline<VecT> getBSpline(final KnotVector knots) {
+        return (double t, List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+            final double[] out = new double[dimension];
+            final double u = knots.domainStart() + t * (knots.domainEnd() - knots.domainStart());
+            final int order = knots.order();
+            final int span = knots.findSpan(u);
+            // only the order points of the span are read
+            final double[] window = new double[order * dimension];
+
+            for (int r = 0; r < order; r++) {
+                Splines.copy(points, span - order + 1 + r, window, r * dimension);
+            }
+
+            evalSpan(knots, span, u, window, 0, dimension, dimension, null, 0, new double[3 * order], out, 0);
+
+            return Splines.toVector(points.get(0), out);
+        };
+    }
+
+    /**
+     * Generates a rational BSpline (NURBS) over a knot vector. The time step on
+     * range [0, 1] is mapped onto the knot vector's domain. The number of
+     * points must match the knot vector.
+     *
+     * @param <VecT> the type of vector.
+     * @param knots the knot vector.
+     * @param weights the weight of each control point. These are copied.
+     * @return the spline function.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> Spline<VecT> getNURBS(final KnotVector knots, final double[] weights) {
+        if (weights.length != knots.controlPointCount()) {
+            throw new IllegalArgumentException("NURBS requires one weight per control point!");
+        }
+
+        final double[] w = weights.clone();
+
+        return (double t, List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+            final double[] out = new double[dimension];
+            final double u = knots.domainStart() + t * (knots.domainEnd() - knots.domainStart());
+            final int order = knots.order();
+            final int span = knots.findSpan(u);
+            final int firstIndex = span - order + 1;
+            final double[] window = new double[order * dimension];
+
+            for (int r = 0; r < order; r++) {
+                Splines.copy(points, firstIndex + r, window, r * dimension);
+            }
+
+            evalSpan(knots, span, u, window, 0, dimension, dimension, w, firstIndex, new double[3 * order], out, 0);
+
+            return Splines.toVector(points.get(0), out);
+        };
+    }
+}
@@ -0,0 +1,926 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * Easing functions evaluated over parallel arrays of independent animations.
+ * Element i eases from s[i] to s[i] + c[i] over d[i] at time t[i]. The loops
+ * are straight-line code: the in/out easings select their half with
+ * u = min(x, 1 - x) and a sign blend instead of a branch, so the JIT is free
+ * to vectorize the polynomial kernels.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class BulkEasings {
+
+    private static final double EPSILON = 1E-8;
+    private static final double HALF_PI = Math.PI * 0.5;
+    private static final float PI_F = (float) Math.PI;
+    private static final float HALF_PI_F = (float) (Math.PI * 0.5);
+
+    private BulkEasings() {
+    }
+
+    /**
+     * Performs a linear easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#linear(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void linear(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = s[i] + c[i] * (t[i] / d[i]);
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticIn(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticIn(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = x * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = x * (2.0 - x);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticInOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticInOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double u = Math.min(x, 1.0 - x);
+            final double v = 0.5 + Math.copySign(1.0, x - 0.5) * (0.5 - 2.0 * u * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicIn(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicIn(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = x * x * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double y = x - 1.0;
+            final double v = y * y * y + 1.0;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicInOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicInOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double u = Math.min(x, 1.0 - x);
+            final double v = 0.5 + Math.copySign(1.0, x - 0.5) * (0.5 - 4.0 * u * u * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintIn(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintIn(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double x2 = x * x;
+            final double v = x2 * x2 * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double y = x - 1.0;
+            final double y2 = y * y;
+            final double v = y2 * y2 * y + 1.0;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintInOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintInOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double u = Math.min(x, 1.0 - x);
+            final double u2 = u * u;
+            final double v = 0.5 + Math.copySign(1.0, x - 0.5) * (0.5 - 16.0 * u2 * u2 * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineIn(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineIn(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = 1.0 - Math.cos(x * HALF_PI);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = Math.sin(x * HALF_PI);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineInOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineInOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double v = 0.5 - 0.5 * Math.cos(x * Math.PI);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialIn(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialIn(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double e = Math.pow(2.0, 10.0 * (x - 1.0));
+            final double v = Math.abs(t[i]) < EPSILON ? 0.0 : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double e = 1.0 - Math.pow(2.0, -10.0 * x);
+            final double v = Math.abs(t[i] - d[i]) < EPSILON ? 1.0 : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialInOut(double, double, double, double)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialInOut(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double x = t[i] / d[i];
+            final double u = Math.min(x, 1.0 - x);
+            final double e = 0.5 + Math.copySign(1.0, x - 0.5) * (0.5 - 0.5 * Math.pow(2.0, 20.0 * u - 10.0));
+            final double v = Math.abs(t[i]) < EPSILON ? 0.0 : Math.abs(t[i] - d[i]) < EPSILON ? 1.0 : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Eases every element of the parallel arrays with an arbitrary easing
+     * function. This is the fallback for easing functions that do not have a
+     * dedicated bulk variant.
+     *
+     * @param easing the easing function.
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void ease(
+            final ScalarEasing easing,
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = easing.ease(t[i], s[i], c[i], d[i]);
+        }
+    }
+
+    /**
+     * Performs a linear easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#linear(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void linear(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = s[i] + c[i] * (t[i] / d[i]);
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticIn(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticIn(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = x * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = x * (2f - x);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a quadratic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quadraticInOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quadraticInOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float u = Math.min(x, 1f - x);
+            final float v = 0.5f + Math.copySign(1f, x - 0.5f) * (0.5f - 2f * u * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicIn(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicIn(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = x * x * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float y = x - 1f;
+            final float v = y * y * y + 1f;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a cubic easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#cubicInOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void cubicInOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float u = Math.min(x, 1f - x);
+            final float v = 0.5f + Math.copySign(1f, x - 0.5f) * (0.5f - 4f * u * u * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintIn(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintIn(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float x2 = x * x;
+            final float v = x2 * x2 * x;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float y = x - 1f;
+            final float y2 = y * y;
+            final float v = y2 * y2 * y + 1f;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a T^5 easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#quintInOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void quintInOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float u = Math.min(x, 1f - x);
+            final float u2 = u * u;
+            final float v = 0.5f + Math.copySign(1f, x - 0.5f) * (0.5f - 16f * u2 * u2 * u);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineIn(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineIn(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = 1f - (float) Math.cos(x * HALF_PI_F);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = (float) Math.sin(x * HALF_PI_F);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs a sine easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#sineInOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void sineInOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float v = 0.5f - 0.5f * (float) Math.cos(x * PI_F);
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialIn(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialIn(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float e = (float) Math.pow(2f, 10f * (x - 1f));
+            final float v = Math.abs(t[i]) < EPSILON ? 0f : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float e = 1f - (float) Math.pow(2f, -10f * x);
+            final float v = Math.abs(t[i] - d[i]) < EPSILON ? 1f : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Performs an exponential easing on every element of the parallel arrays. This is
+     * equivalent to calling {@link Easings#exponentialInOut(float, float, float, float)} per
+     * element.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void exponentialInOut(
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final float x = t[i] / d[i];
+            final float u = Math.min(x, 1f - x);
+            final float e = 0.5f + Math.copySign(1f, x - 0.5f) * (0.5f - 0.5f * (float) Math.pow(2f, 20f * u - 10f));
+            final float v = Math.abs(t[i]) < EPSILON ? 0f : Math.abs(t[i] - d[i]) < EPSILON ? 1f : e;
+
+            out[i] = s[i] + c[i] * v;
+        }
+    }
+
+    /**
+     * Eases every element of the parallel arrays with an arbitrary easing
+     * function.
+     *
+     * @param easing the easing function.
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public static void ease(
+            final ScalarEasingF easing,
+            final float[] t, final float[] s, final float[] c, final float[] d,
+            final float[] out, final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = easing.ease(t[i], s[i], c[i], d[i]);
+        }
+    }
+}
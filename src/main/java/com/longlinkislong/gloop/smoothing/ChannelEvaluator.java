@@ -0,0 +1,431 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Evaluates many channels that share the same point count, spline type and
+ * time step, such as the bones of a skeleton or the weights of a morph
+ * target. The point indices and basis weights depend only on the time step, so
+ * {@link #prepare(double)} computes them once and every channel is then a
+ * weighted sum of the same few points. Results match {@link PrimitiveSplines}
+ * evaluating each channel on its own.
+ *
+ * <p>
+ * A point of channel c at index i starts at offset + c * channelStride + i *
+ * pointStride with its components stored consecutively. Channel-major data
+ * (each channel's points together) and interleaved data (each point holds
+ * every channel) are both special cases; interleaved data is evaluated as a
+ * handful of contiguous multiply-add passes across all channels at once.
+ *
+ * <p>
+ * Bessel-Overhauser splines are not supported: their weights depend on the
+ * distances between the points of each channel.
+ *
+ * <p>
+ * A ChannelEvaluator holds the prepared weights and must not be shared
+ * between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class ChannelEvaluator {
+
+    // the 4 points of a TCB segment as unit vectors; blending them yields the weights themselves
+    private static final double[] IDENTITY = {
+        1.0, 0.0, 0.0, 0.0,
+        0.0, 1.0, 0.0, 0.0,
+        0.0, 0.0, 1.0, 0.0,
+        0.0, 0.0, 0.0, 1.0
+    };
+
+    private static final int BSPLINE = 0;
+    private static final int TCB = 1;
+    private static final int PIECEWISE_BEZIER = 2;
+
+    private final int kind;
+    private final int pointCount;
+    private final int degrees;
+    private final double tension;
+    private final double continuity;
+    private final double bias;
+    private final int[] indices;
+    private final double[] weights;
+    private final float[] weightsF;
+
+    private ChannelEvaluator(
+            final int kind, final int pointCount, final int window, final int degrees,
+            final double tension, final double continuity, final double bias) {
+
+        this.kind = kind;
+        this.pointCount = pointCount;
+        this.degrees = degrees;
+        this.tension = tension;
+        this.continuity = continuity;
+        this.bias = bias;
+        this.indices = new int[window];
+        this.weights = new double[window];
+        this.weightsF = new float[window];
+        this.prepare(0.0);
+    }
+
+    /**
+     * Constructs an evaluator for uniform BSplines. See
+     * {@link PrimitiveSplines#bSpline(int, double, double[], int, int, int, int, double[], double[], int)}.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param count the number of points per channel.
+     * @return the evaluator.
+     * @since 26.10.18
+     */
+    public static ChannelEvaluator bSpline(final int degrees, final int count) {
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        } else if (count < degrees) {
+            throw new IllegalArgumentException("BSpline requires at least as many points as degrees!");
+        }
+
+        return new ChannelEvaluator(BSPLINE, count, degrees, degrees, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Constructs an evaluator for TCB splines (Kochanek-Bartels). See
+     * {@link PrimitiveSplines#tcbSpline(double, double, double, double, double[], int, int, int, int, double[], int)}.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param count the number of points per channel.
+     * @return the evaluator.
+     * @since 26.10.18
+     */
+    public static ChannelEvaluator tcbSpline(
+            final double tension, final double continuity, final double bias, final int count) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("TCB spline requires at least 2 points!");
+        }
+
+        return new ChannelEvaluator(TCB, count, 4, 0, tension, continuity, bias);
+    }
+
+    /**
+     * Constructs an evaluator for chains of cubic Bezier curves. See
+     * {@link PrimitiveSplines#piecewiseBezier(double, double[], int, int, int, int, double[], int)}.
+     *
+     * @param count the number of points per channel.
+     * @return the evaluator.
+     * @since 26.10.18
+     */
+    public static ChannelEvaluator piecewiseBezier(final int count) {
+        if (count < 4) {
+            throw new IllegalArgumentException("Piecewise Bezier requires at least 4 points!");
+        }
+
+        return new ChannelEvaluator(PIECEWISE_BEZIER, count, 4, 0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Retrieves the number of points per channel.
+     *
+     * @return the point count.
+     * @since 26.10.18
+     */
+    public int pointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Retrieves the number of points that contribute to each evaluation.
+     *
+     * @return the window size.
+     * @since 26.10.18
+     */
+    public int window() {
+        return this.indices.length;
+    }
+
+    /**
+     * Retrieves the index of a contributing point for the prepared time step.
+     * An index may appear more than once near the ends of a TCB spline.
+     *
+     * @param r the position within the window.
+     * @return the point index.
+     * @since 26.10.18
+     */
+    public int index(final int r) {
+        return this.indices[r];
+    }
+
+    /**
+     * Retrieves the weight of a contributing point for the prepared time
+     * step.
+     *
+     * @param r the position within the window.
+     * @return the weight.
+     * @since 26.10.18
+     */
+    public double weight(final int r) {
+        return this.weights[r];
+    }
+
+    /**
+     * Computes the point indices and weights for a time step. Every
+     * following evaluation uses them until the next call.
+     *
+     * @param t the time step on range [0, 1]
+     * @since 26.10.18
+     */
+    public void prepare(final double t) {
+        final int count = this.pointCount;
+
+        switch (this.kind) {
+            case BSPLINE: {
+                final int order = this.degrees;
+                final double u = (order - 1.0) + (t * (count - (order - 1.0)));
+                final int span = min(max((int) u, order - 1), count - 1);
+
+                BSplines.uniformBasis(order, u - span, this.weights, 0);
+
+                for (int r = 0; r < order; r++) {
+                    this.indices[r] = span - order + 1 + r;
+                }
+            }
+            break;
+            case TCB: {
+                final double iT = t * (count - 1.0);
+                final int i1 = min((int) iT, count - 1);
+
+                this.indices[0] = min(max(0, i1 - 1), count - 1);
+                this.indices[1] = i1;
+                this.indices[2] = min(i1 + 1, count - 1);
+                this.indices[3] = min(i1 + 2, count - 1);
+
+                PrimitiveSplines.tcbSegment(
+                        this.tension, this.continuity, this.bias, iT - i1,
+                        IDENTITY, 0, 4, 4, 0, 1, 2, 3,
+                        this.weights, 0);
+            }
+            break;
+            default: {
+                final int curves = (count - 1) / 3;
+                final double x = t * curves;
+                final int curve = min(max((int) x, 0), curves - 1);
+                final double u = x - curve;
+                final double v = 1.0 - u;
+
+                this.weights[0] = v * v * v;
+                this.weights[1] = 3.0 * u * v * v;
+                this.weights[2] = 3.0 * u * u * v;
+                this.weights[3] = u * u * u;
+
+                for (int r = 0; r < 4; r++) {
+                    this.indices[r] = 3 * curve + r;
+                }
+            }
+            break;
+        }
+
+        for (int r = 0; r < this.weights.length; r++) {
+            this.weightsF[r] = (float) this.weights[r];
+        }
+    }
+
+    /**
+     * Evaluates every channel at the prepared time step.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param pointStride the distance between two consecutive points of a
+     * channel.
+     * @param channelStride the distance between the same point of two
+     * consecutive channels.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into, dimension values per
+     * channel.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void eval(
+            final double[] points, final int offset, final int pointStride, final int channelStride,
+            final int channels, final int dimension,
+            final double[] out, final int outOffset) {
+
+        final int window = this.indices.length;
+
+        if (channelStride == dimension) {
+            // each point is one contiguous row across all channels
+            final int width = channels * dimension;
+            final int first = offset + this.indices[0] * pointStride;
+            final double w0 = this.weights[0];
+
+            for (int k = 0; k < width; k++) {
+                out[outOffset + k] = w0 * points[first + k];
+            }
+
+            for (int r = 1; r < window; r++) {
+                final int row = offset + this.indices[r] * pointStride;
+                final double w = this.weights[r];
+
+                for (int k = 0; k < width; k++) {
+                    out[outOffset + k] += w * points[row + k];
+                }
+            }
+        } else {
+            for (int c = 0; c < channels; c++) {
+                final int base = offset + c * channelStride;
+                final int o = outOffset + c * dimension;
+
+                for (int j = 0; j < dimension; j++) {
+                    double v = 0.0;
+
+                    for (int r = 0; r < window; r++) {
+                        v += this.weights[r] * points[base + this.indices[r] * pointStride + j];
+                    }
+
+                    out[o + j] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates every channel at the prepared time step.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param pointStride the distance between two consecutive points of a
+     * channel.
+     * @param channelStride the distance between the same point of two
+     * consecutive channels.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into, dimension values per
+     * channel.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void eval(
+            final float[] points, final int offset, final int pointStride, final int channelStride,
+            final int channels, final int dimension,
+            final float[] out, final int outOffset) {
+
+        final int window = this.indices.length;
+
+        if (channelStride == dimension) {
+            final int width = channels * dimension;
+            final int first = offset + this.indices[0] * pointStride;
+            final float w0 = this.weightsF[0];
+
+            for (int k = 0; k < width; k++) {
+                out[outOffset + k] = w0 * points[first + k];
+            }
+
+            for (int r = 1; r < window; r++) {
+                final int row = offset + this.indices[r] * pointStride;
+                final float w = this.weightsF[r];
+
+                for (int k = 0; k < width; k++) {
+                    out[outOffset + k] += w * points[row + k];
+                }
+            }
+        } else {
+            for (int c = 0; c < channels; c++) {
+                final int base = offset + c * channelStride;
+                final int o = outOffset + c * dimension;
+
+                for (int j = 0; j < dimension; j++) {
+                    float v = 0f;
+
+                    for (int r = 0; r < window; r++) {
+                        v += this.weightsF[r] * points[base + this.indices[r] * pointStride + j];
+                    }
+
+                    out[o + j] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates channels stored one after another, each holding pointCount
+     * consecutive points.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void evalChannelMajor(
+            final double[] points, final int offset, final int channels, final int dimension,
+            final double[] out, final int outOffset) {
+
+        this.eval(points, offset, dimension, this.pointCount * dimension, channels, dimension, out, outOffset);
+    }
+
+    /**
+     * Evaluates channels stored one after another, each holding pointCount
+     * consecutive points.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void evalChannelMajor(
+            final float[] points, final int offset, final int channels, final int dimension,
+            final float[] out, final int outOffset) {
+
+        this.eval(points, offset, dimension, this.pointCount * dimension, channels, dimension, out, outOffset);
+    }
+
+    /**
+     * Evaluates channels stored interleaved: point i of every channel is
+     * stored together before point i + 1.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void evalInterleaved(
+            final double[] points, final int offset, final int channels, final int dimension,
+            final double[] out, final int outOffset) {
+
+        this.eval(points, offset, channels * dimension, dimension, channels, dimension, out, outOffset);
+    }
+
+    /**
+     * Evaluates channels stored interleaved: point i of every channel is
+     * stored together before point i + 1.
+     *
+     * @param points the point data of all channels.
+     * @param offset the offset of the first point of the first channel.
+     * @param channels the number of channels.
+     * @param dimension the number of components per point.
+     * @param out the array to write the channels into.
+     * @param outOffset the offset to write the first channel at.
+     * @since 26.10.18
+     */
+    public void evalInterleaved(
+            final float[] points, final int offset, final int channels, final int dimension,
+            final float[] out, final int outOffset) {
+
+        this.eval(points, offset, channels * dimension, dimension, channels, dimension, out, outOffset);
+    }
+}
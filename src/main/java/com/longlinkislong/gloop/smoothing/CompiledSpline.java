@@ -0,0 +1,530 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVecD;
+
+/**
+ * A spline that has been reduced to a sequence of polynomial pieces. Each
+ * piece covers an equal share of the range [0, 1] and stores its coefficients
+ * in the power basis, so evaluation is a piece lookup followed by a Horner
+ * evaluation per component. CompiledSplines are immutable and may be shared
+ * between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class CompiledSpline {
+
+    private static final double[][] QUADRATIC_BASIS = uniformBasis(3);
+
+    // cubic Bernstein polynomials; entry [i][m] is the coefficient of s^m
+    private static final double[][] BEZIER_BASIS = {
+        {1.0, -3.0, 3.0, -1.0},
+        {0.0, 3.0, -6.0, 3.0},
+        {0.0, 0.0, 3.0, -3.0},
+        {0.0, 0.0, 0.0, 1.0}
+    };
+
+    private final int dimension;
+    private final int order;
+    private final int pieceCount;
+    private final int piecesPerSegment;
+    private final double[] coefficients;
+
+    CompiledSpline(
+            final int dimension, final int order, final int pieceCount, final int piecesPerSegment,
+            final double[] coefficients) {
+
+        this.dimension = dimension;
+        this.order = order;
+        this.pieceCount = pieceCount;
+        this.piecesPerSegment = piecesPerSegment;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Compiles a TCB spline (Kochanek-Bartels). Each segment between two
+     * points is stored as four quadratic pieces.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the compiled spline.
+     * @since 26.10.18
+     */
+    public static CompiledSpline tcbSpline(
+            final double tension, final double continuity, final double bias,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("TCB spline requires at least 2 points!");
+        }
+
+        final int segments = count - 1;
+        final double[] control = new double[6 * dimension];
+        final double[] coefficients = new double[segments * 4 * dimension * 3];
+
+        for (int segment = 0; segment < segments; segment++) {
+            PrimitiveSplines.tcbControlPoints(tension, continuity, bias, points, offset, stride, count, dimension, segment, control, 0);
+            fitSegment(control, dimension, coefficients, segment * 4 * dimension * 3);
+        }
+
+        return new CompiledSpline(dimension, 3, segments * 4, 4, coefficients);
+    }
+
+    /**
+     * Compiles a Bessel-Overhauser spline. Each segment between two points is
+     * stored as four quadratic pieces.
+     *
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the compiled spline.
+     * @since 26.10.18
+     */
+    public static CompiledSpline besselOverhauser(
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("Bessel-Overhauser spline requires at least 2 points!");
+        }
+
+        final int segments = count - 1;
+        final double[] control = new double[6 * dimension];
+        final double[] coefficients = new double[segments * 4 * dimension * 3];
+
+        for (int segment = 0; segment < segments; segment++) {
+            PrimitiveSplines.besselOverhauserControlPoints(points, offset, stride, count, dimension, segment, control, 0);
+            fitSegment(control, dimension, coefficients, segment * 4 * dimension * 3);
+        }
+
+        return new CompiledSpline(dimension, 3, segments * 4, 4, coefficients);
+    }
+
+    /**
+     * Compiles a uniform BSpline. Each knot span is stored as one piece.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the compiled spline.
+     * @since 26.10.18
+     */
+    public static CompiledSpline bSpline(
+            final int degrees,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        } else if (count < degrees) {
+            throw new IllegalArgumentException("BSpline requires at least as many points as degrees!");
+        }
+
+        final double[][] basis = uniformBasis(degrees);
+        final int pieces = count - degrees + 1;
+        final double[] coefficients = new double[pieces * dimension * degrees];
+
+        for (int piece = 0; piece < pieces; piece++) {
+            fit(basis, points, offset + piece * stride, stride, dimension, coefficients, piece * dimension * degrees);
+        }
+
+        return new CompiledSpline(dimension, degrees, pieces, 1, coefficients);
+    }
+
+    /**
+     * Compiles a chain of cubic Bezier curves. Every curve shares its last
+     * point with the first point of the next, so 3 * n + 1 points describe n
+     * curves. Each curve is stored as one piece.
+     *
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the compiled spline.
+     * @since 26.10.18
+     */
+    public static CompiledSpline piecewiseBezier(
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 4) {
+            throw new IllegalArgumentException("Piecewise Bezier requires at least 4 points!");
+        }
+
+        final int curves = (count - 1) / 3;
+        final double[] coefficients = new double[curves * dimension * 4];
+
+        for (int curve = 0; curve < curves; curve++) {
+            fit(BEZIER_BASIS, points, offset + 3 * curve * stride, stride, dimension, coefficients, curve * dimension * 4);
+        }
+
+        return new CompiledSpline(dimension, 4, curves, 1, coefficients);
+    }
+
+    /**
+     * Retrieves the number of components per point.
+     *
+     * @return the dimension.
+     * @since 26.10.18
+     */
+    public int dimension() {
+        return this.dimension;
+    }
+
+    /**
+     * Retrieves the number of polynomial pieces. Piece i covers the time steps
+     * [i / pieceCount, (i + 1) / pieceCount].
+     *
+     * @return the number of pieces.
+     * @since 26.10.18
+     */
+    public int pieceCount() {
+        return this.pieceCount;
+    }
+
+    /**
+     * Retrieves the number of segments. A segment spans two consecutive
+     * points of a TCB or Bessel-Overhauser spline, one knot span of a
+     * BSpline or one curve of a piecewise Bezier spline.
+     *
+     * @return the number of segments.
+     * @since 26.10.18
+     */
+    public int segmentCount() {
+        return this.pieceCount / this.piecesPerSegment;
+    }
+
+    /**
+     * Retrieves the number of polynomial pieces that make up one segment.
+     *
+     * @return the pieces per segment.
+     */
+    int piecesPerSegment() {
+        return this.piecesPerSegment;
+    }
+
+    /**
+     * Retrieves the number of coefficients per component of each piece. This
+     * is the degree of the pieces plus one.
+     *
+     * @return the order.
+     */
+    int order() {
+        return this.order;
+    }
+
+    /**
+     * Retrieves the power basis coefficients of every piece laid out
+     * [piece][component][power], highest power first. The array is shared and
+     * must not be modified.
+     *
+     * @return the coefficients.
+     */
+    double[] coefficients() {
+        return this.coefficients;
+    }
+
+    /**
+     * Computes the length of the first derivative of a piece with respect to
+     * its local parameter.
+     *
+     * @param piece the piece index.
+     * @param s the local parameter on range [0, 1]
+     * @return the speed of the piece at s.
+     */
+    double speed(final int piece, final double s) {
+        return speed(this.coefficients, this.dimension, this.order, piece, s);
+    }
+
+    /**
+     * Computes the length of the first derivative of a piece stored in a raw
+     * coefficient array laid out like the coefficients of a CompiledSpline.
+     */
+    static double speed(
+            final double[] coefficients, final int dimension, final int order,
+            final int piece, final double s) {
+
+        final int base = piece * dimension * order;
+        double sq = 0.0;
+
+        for (int j = 0; j < dimension; j++) {
+            final int c = base + j * order;
+            double v = 0.0;
+
+            for (int m = 0; m < order - 1; m++) {
+                v = v * s + (order - 1 - m) * coefficients[c + m];
+            }
+
+            sq += v * v;
+        }
+
+        return Math.sqrt(sq);
+    }
+
+    /**
+     * Evaluates the spline.
+     *
+     * @param t the time step on range [0, 1]
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public void eval(final double t, final double[] out, final int outOffset) {
+        final double x = t * this.pieceCount;
+        final int piece = Math.min(Math.max((int) x, 0), this.pieceCount - 1);
+
+        this.evalPiece(piece, x - piece, out, outOffset);
+    }
+
+    /**
+     * Evaluates a single piece at its local parameter. Unlike
+     * {@link #eval(double, double[], int)} this can evaluate the end of a
+     * piece without selecting the next one.
+     *
+     * @param piece the piece index.
+     * @param s the local parameter on range [0, 1]
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     */
+    void evalPiece(final int piece, final double s, final double[] out, final int outOffset) {
+        final int base = piece * this.dimension * this.order;
+
+        for (int j = 0; j < this.dimension; j++) {
+            final int c = base + j * this.order;
+            double v = this.coefficients[c];
+
+            for (int m = 1; m < this.order; m++) {
+                v = v * s + this.coefficients[c + m];
+            }
+
+            out[outOffset + j] = v;
+        }
+    }
+
+    /**
+     * Evaluates the spline along with its derivatives with respect to t in a
+     * single pass over the piece coefficients. The derivatives of TCB and
+     * Bessel-Overhauser splines are those of the quadratic pieces and may jump
+     * where two pieces meet.
+     *
+     * @param t the time step on range [0, 1]
+     * @param derivatives the highest derivative to evaluate.
+     * @param out the array to write (derivatives + 1) * dimension values into;
+     * the point first, followed by each derivative.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public void evalDerivatives(final double t, final int derivatives, final double[] out, final int outOffset) {
+        final double x = t * this.pieceCount;
+        final int piece = Math.min(Math.max((int) x, 0), this.pieceCount - 1);
+
+        this.evalPiece(piece, x - piece, derivatives, out, outOffset);
+
+        // ds / dt = pieceCount
+        double scale = 1.0;
+
+        for (int k = 1; k <= derivatives; k++) {
+            scale *= this.pieceCount;
+
+            for (int j = 0; j < this.dimension; j++) {
+                out[outOffset + k * this.dimension + j] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the spline at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public void eval(
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            this.eval(ts[tOffset + i], out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates the spline and writes the components into a vector.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the time step on range [0, 1]
+     * @param out the vector to write into.
+     * @return the vector written to.
+     * @since 26.10.18
+     */
+    public <VecT extends GLVecD> VecT eval(final double t, final VecT out) {
+        final double x = t * this.pieceCount;
+        final int piece = Math.min(Math.max((int) x, 0), this.pieceCount - 1);
+        final double s = x - piece;
+        final int base = piece * this.dimension * this.order;
+
+        for (int j = 0; j < this.dimension; j++) {
+            final int c = base + j * this.order;
+            double v = this.coefficients[c];
+
+            for (int m = 1; m < this.order; m++) {
+                v = v * s + this.coefficients[c + m];
+            }
+
+            out.set(j, v);
+        }
+
+        return out;
+    }
+
+    /**
+     * Evaluates a piece and its derivatives with respect to the local
+     * parameter. The position is written first, followed by each derivative.
+     *
+     * @param piece the piece index.
+     * @param s the local parameter on range [0, 1]
+     * @param derivatives the highest derivative to evaluate.
+     * @param out the array to write (derivatives + 1) * dimension values into.
+     * @param outOffset the offset to write the values at.
+     */
+    void evalPiece(final int piece, final double s, final int derivatives, final double[] out, final int outOffset) {
+        evalPiece(this.coefficients, this.dimension, this.order, piece, s, derivatives, out, outOffset);
+    }
+
+    /**
+     * Evaluates a piece and its derivatives from a raw coefficient array laid
+     * out like the coefficients of a CompiledSpline.
+     */
+    static void evalPiece(
+            final double[] coefficients, final int dimension, final int order,
+            final int piece, final double s, final int derivatives,
+            final double[] out, final int outOffset) {
+
+        final int base = piece * dimension * order;
+
+        for (int j = 0; j < dimension; j++) {
+            final int c = base + j * order;
+
+            for (int k = 0; k <= derivatives; k++) {
+                // coefficient m belongs to power (order - 1 - m); differentiating k times scales it by a falling factorial
+                double v = 0.0;
+
+                for (int m = 0; m < order - k; m++) {
+                    final int power = order - 1 - m;
+                    double scale = 1.0;
+
+                    for (int f = 0; f < k; f++) {
+                        scale *= power - f;
+                    }
+
+                    v = v * s + scale * coefficients[c + m];
+                }
+
+                out[outOffset + k * dimension + j] = v;
+            }
+        }
+    }
+
+    /**
+     * Copies the power basis coefficients of a piece. Component j occupies
+     * order values starting at outOffset + j * order, highest power first.
+     *
+     * @param piece the piece index.
+     * @param out the array to copy dimension * order coefficients into.
+     * @param outOffset the offset to copy the coefficients to.
+     */
+    void pieceCoefficients(final int piece, final double[] out, final int outOffset) {
+        System.arraycopy(this.coefficients, piece * this.dimension * this.order, out, outOffset, this.dimension * this.order);
+    }
+
+    /**
+     * Fits the four quadratic pieces that blend the six intermediate control
+     * points of a TCB or Bessel-Overhauser segment.
+     */
+    static void fitSegment(final double[] control, final int dimension, final double[] coefficients, final int coefficientOffset) {
+        for (int q = 0; q < 4; q++) {
+            fit(QUADRATIC_BASIS, control, q * dimension, dimension, dimension, coefficients, coefficientOffset + q * dimension * 3);
+        }
+    }
+
+    /**
+     * Converts the control points of one uniform span into power basis
+     * coefficients, highest power first.
+     */
+    static void fit(
+            final double[][] basis,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final double[] coefficients, final int coefficientOffset) {
+
+        final int order = basis.length;
+
+        for (int j = 0; j < dimension; j++) {
+            for (int m = 0; m < order; m++) {
+                double c = 0.0;
+
+                for (int i = 0; i < order; i++) {
+                    c += basis[i][m] * points[offset + i * stride + j];
+                }
+
+                coefficients[coefficientOffset + j * order + (order - 1 - m)] = c;
+            }
+        }
+    }
+
+    /**
+     * Computes the uniform BSpline basis functions over a single knot span as
+     * polynomials of the local parameter s on [0, 1). Entry [i][m] is the
+     * coefficient of s^m for the i-th non-zero basis function. This is the
+     * iterative Cox-de Boor recurrence carried out on polynomials; with integer
+     * knots every denominator reduces to the recursion level.
+     */
+    static double[][] uniformBasis(final int order) {
+        final double[][] n = new double[order][order];
+
+        n[0][0] = 1.0;
+
+        for (int j = 1; j < order; j++) {
+            final double[] saved = new double[order];
+
+            for (int r = 0; r < j; r++) {
+                final double[] temp = new double[order];
+
+                for (int m = 0; m < order; m++) {
+                    temp[m] = n[r][m] / j;
+                }
+
+                // N[r] = saved + (r + 1 - s) * temp
+                for (int m = 0; m < order; m++) {
+                    n[r][m] = saved[m] + (r + 1) * temp[m] - (m > 0 ? temp[m - 1] : 0.0);
+                }
+
+                // saved = (s + j - r - 1) * temp
+                for (int m = 0; m < order; m++) {
+                    saved[m] = (j - r - 1) * temp[m] + (m > 0 ? temp[m - 1] : 0.0);
+                }
+            }
+
+            System.arraycopy(saved, 0, n[j], 0, order);
+        }
+
+        return n;
+    }
+}
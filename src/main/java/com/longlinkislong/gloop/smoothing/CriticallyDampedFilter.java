@@ -0,0 +1,92 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * Follows the input with a critically damped spring. The output accelerates
+ * toward each new sample and settles without overshooting, and its velocity is
+ * continuous even when the input jumps. Each step uses the exact solution of
+ * the spring for a target that is constant over the step, so it is stable for
+ * any time step.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class CriticallyDampedFilter implements SignalFilter {
+
+    private final double omega;
+    private final double[] value;
+    private final double[] velocity;
+    private final boolean[] primed;
+
+    /**
+     * Constructs a new critically damped filter.
+     *
+     * @param dimension the number of components.
+     * @param smoothTime the approximate time in seconds to reach a target
+     * that stops moving.
+     * @since 26.10.18
+     */
+    public CriticallyDampedFilter(final int dimension, final double smoothTime) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (!(smoothTime > 0.0)) {
+            throw new IllegalArgumentException("Smooth time must be greater than 0!");
+        }
+
+        this.omega = 2.0 / smoothTime;
+        this.value = new double[dimension];
+        this.velocity = new double[dimension];
+        this.primed = new boolean[dimension];
+    }
+
+    @Override
+    public int dimension() {
+        return this.value.length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(this.primed, false);
+    }
+
+    @Override
+    public void reset(final int component) {
+        this.primed[component] = false;
+    }
+
+    /**
+     * Retrieves the velocity of a component.
+     *
+     * @param component the component index.
+     * @return the velocity per second.
+     * @since 26.10.18
+     */
+    public double velocity(final int component) {
+        return this.velocity[component];
+    }
+
+    @Override
+    public double filter(final double dt, final int component, final double value) {
+        if (!this.primed[component]) {
+            this.primed[component] = true;
+            this.value[component] = value;
+            this.velocity[component] = 0.0;
+        } else if (dt > 0.0) {
+            // x(t) = target + (c + (v + omega * c) * t) * exp(-omega * t) with c = x(0) - target
+            final double decay = Math.exp(-this.omega * dt);
+            final double offset = this.value[component] - value;
+            final double temp = (this.velocity[component] + this.omega * offset) * dt;
+
+            this.velocity[component] = (this.velocity[component] - this.omega * temp) * decay;
+            this.value[component] = value + (offset + temp) * decay;
+        }
+
+        return this.value[component];
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * A timing function defined by a cubic Bezier curve from (0, 0) to (1, 1),
+ * matching the CSS {@code cubic-bezier(x1, y1, x2, y2)} function. Easing
+ * requires solving x(u) = t for the curve parameter u and returning y(u).
+ * Construction samples x(u) into a small table; evaluation seeds Newton's
+ * method from the table and falls back to bisection within the table interval
+ * where the curve is too flat for Newton to converge. Evaluation works on
+ * primitive doubles only and never allocates.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class CubicBezierEasing implements ScalarEasing {
+
+    private static final int TABLE_INTERVALS = 10;
+    private static final double TABLE_STEP = 1.0 / TABLE_INTERVALS;
+    private static final int NEWTON_ITERATIONS = 4;
+    private static final double NEWTON_MIN_SLOPE = 1E-3;
+    private static final double PRECISION = 1E-14;
+    private static final double BISECTION_PRECISION = 1E-15;
+
+    /**
+     * The CSS {@code ease} timing function.
+     *
+     * @since 26.10.18
+     */
+    public static final CubicBezierEasing EASE = of(0.25, 0.1, 0.25, 1.0);
+    /**
+     * The CSS {@code ease-in} timing function.
+     *
+     * @since 26.10.18
+     */
+    public static final CubicBezierEasing EASE_IN = of(0.42, 0.0, 1.0, 1.0);
+    /**
+     * The CSS {@code ease-out} timing function.
+     *
+     * @since 26.10.18
+     */
+    public static final CubicBezierEasing EASE_OUT = of(0.0, 0.0, 0.58, 1.0);
+    /**
+     * The CSS {@code ease-in-out} timing function.
+     *
+     * @since 26.10.18
+     */
+    public static final CubicBezierEasing EASE_IN_OUT = of(0.42, 0.0, 0.58, 1.0);
+
+    private final double x1;
+    private final double y1;
+    private final double x2;
+    private final double y2;
+    // power basis: x(u) = ((ax * u + bx) * u + cx) * u
+    private final double ax;
+    private final double bx;
+    private final double cx;
+    private final double ay;
+    private final double by;
+    private final double cy;
+    private final double[] table;
+
+    private CubicBezierEasing(final double x1, final double y1, final double x2, final double y2) {
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+
+        this.cx = 3.0 * x1;
+        this.bx = 3.0 * (x2 - x1) - this.cx;
+        this.ax = 1.0 - this.cx - this.bx;
+        this.cy = 3.0 * y1;
+        this.by = 3.0 * (y2 - y1) - this.cy;
+        this.ay = 1.0 - this.cy - this.by;
+
+        this.table = new double[TABLE_INTERVALS + 1];
+
+        for (int i = 0; i <= TABLE_INTERVALS; i++) {
+            this.table[i] = this.x(i * TABLE_STEP);
+        }
+    }
+
+    /**
+     * Constructs a cubic Bezier timing function. The x coordinates must lie
+     * on range [0, 1] so the curve is a function of time; the y coordinates
+     * may overshoot.
+     *
+     * @param x1 the x coordinate of the first control point.
+     * @param y1 the y coordinate of the first control point.
+     * @param x2 the x coordinate of the second control point.
+     * @param y2 the y coordinate of the second control point.
+     * @return the easing function.
+     * @since 26.10.18
+     */
+    public static CubicBezierEasing of(final double x1, final double y1, final double x2, final double y2) {
+        if (!(x1 >= 0.0 && x1 <= 1.0 && x2 >= 0.0 && x2 <= 1.0)) {
+            throw new IllegalArgumentException("Control point x coordinates must be on range [0, 1]!");
+        } else if (!(Double.isFinite(y1) && Double.isFinite(y2))) {
+            throw new IllegalArgumentException("Control point y coordinates must be finite!");
+        }
+
+        return new CubicBezierEasing(x1, y1, x2, y2);
+    }
+
+    /**
+     * Retrieves the x coordinate of the first control point.
+     *
+     * @return the x coordinate.
+     * @since 26.10.18
+     */
+    public double getX1() {
+        return this.x1;
+    }
+
+    /**
+     * Retrieves the y coordinate of the first control point.
+     *
+     * @return the y coordinate.
+     * @since 26.10.18
+     */
+    public double getY1() {
+        return this.y1;
+    }
+
+    /**
+     * Retrieves the x coordinate of the second control point.
+     *
+     * @return the x coordinate.
+     * @since 26.10.18
+     */
+    public double getX2() {
+        return this.x2;
+    }
+
+    /**
+     * Retrieves the y coordinate of the second control point.
+     *
+     * @return the y coordinate.
+     * @since 26.10.18
+     */
+    public double getY2() {
+        return this.y2;
+    }
+
+    /**
+     * Evaluates the normalized timing function.
+     *
+     * @param x the normalized time on range [0, 1]. Values outside of the
+     * range are clamped.
+     * @return the normalized progress.
+     * @since 26.10.18
+     */
+    public double progress(final double x) {
+        if (!(x > 0.0)) {
+            return 0.0;
+        } else if (x >= 1.0) {
+            return 1.0;
+        } else if (this.x1 == this.y1 && this.x2 == this.y2) {
+            return x;
+        }
+
+        final double u = this.solve(x);
+
+        return ((this.ay * u + this.by) * u + this.cy) * u;
+    }
+
+    @Override
+    public double ease(final double time, final double start, final double delta, final double duration) {
+        return start + delta * this.progress(time / duration);
+    }
+
+    private double x(final double u) {
+        return ((this.ax * u + this.bx) * u + this.cx) * u;
+    }
+
+    private double dx(final double u) {
+        return (3.0 * this.ax * u + 2.0 * this.bx) * u + this.cx;
+    }
+
+    /**
+     * Finds u such that x(u) = x. x(u) is monotonic on [0, 1] because both
+     * control points lie within the unit interval, so the table interval
+     * containing x also brackets u.
+     */
+    private double solve(final double x) {
+        int i = 0;
+
+        while (i < TABLE_INTERVALS - 1 && this.table[i + 1] <= x) {
+            i++;
+        }
+
+        double low = i * TABLE_STEP;
+        double high = low + TABLE_STEP;
+        final double span = this.table[i + 1] - this.table[i];
+        double u = span > 0.0 ? low + (x - this.table[i]) / span * TABLE_STEP : low;
+
+        for (int n = 0; n < NEWTON_ITERATIONS; n++) {
+            final double slope = this.dx(u);
+
+            if (slope < NEWTON_MIN_SLOPE) {
+                break;
+            }
+
+            final double error = this.x(u) - x;
+
+            if (Math.abs(error) < PRECISION) {
+                return u;
+            }
+
+            u -= error / slope;
+
+            if (!(u >= low && u <= high)) {
+                break;
+            }
+        }
+
+        if (u >= low && u <= high && Math.abs(this.x(u) - x) < PRECISION) {
+            return u;
+        }
+
+        // where x(u) is flat a small error in x is a large error in u, so narrow u itself
+        while (high - low > BISECTION_PRECISION) {
+            u = 0.5 * (low + high);
+
+            final double error = this.x(u) - x;
+
+            if (error == 0.0) {
+                return u;
+            } else if (error > 0.0) {
+                high = u;
+            } else {
+                low = u;
+            }
+        }
+
+        return 0.5 * (low + high);
+    }
+
+    @Override
+    public String toString() {
+        return "cubic-bezier(" + this.x1 + ", " + this.y1 + ", " + this.x2 + ", " + this.y2 + ")";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * Double exponential smoothing (Holt's linear trend). Alongside the smoothed
+ * level the filter tracks a smoothed rate of change and predicts the level
+ * forward by it, so it lags far less than an {@link ExponentialFilter} on
+ * signals that move steadily. Both smoothing factors are derived from time
+ * constants so the result does not depend on the sample rate.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class DoubleExponentialFilter implements SignalFilter {
+
+    private final double levelTime;
+    private final double trendTime;
+    private final double[] level;
+    private final double[] trend;
+    private final boolean[] primed;
+
+    /**
+     * Constructs a new double exponential filter.
+     *
+     * @param dimension the number of components.
+     * @param levelTime the time constant of the level in seconds.
+     * @param trendTime the time constant of the trend in seconds.
+     * @since 26.10.18
+     */
+    public DoubleExponentialFilter(final int dimension, final double levelTime, final double trendTime) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (!(levelTime > 0.0) || !(trendTime > 0.0)) {
+            throw new IllegalArgumentException("Time constants must be greater than 0!");
+        }
+
+        this.levelTime = levelTime;
+        this.trendTime = trendTime;
+        this.level = new double[dimension];
+        this.trend = new double[dimension];
+        this.primed = new boolean[dimension];
+    }
+
+    @Override
+    public int dimension() {
+        return this.level.length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(this.primed, false);
+    }
+
+    @Override
+    public void reset(final int component) {
+        this.primed[component] = false;
+    }
+
+    /**
+     * Retrieves the smoothed rate of change of a component.
+     *
+     * @param component the component index.
+     * @return the rate of change per second.
+     * @since 26.10.18
+     */
+    public double trend(final int component) {
+        return this.trend[component];
+    }
+
+    @Override
+    public double filter(final double dt, final int component, final double value) {
+        if (!this.primed[component]) {
+            this.primed[component] = true;
+            this.level[component] = value;
+            this.trend[component] = 0.0;
+        } else if (dt > 0.0) {
+            final double alpha = -Math.expm1(-dt / this.levelTime);
+            final double beta = -Math.expm1(-dt / this.trendTime);
+            final double previous = this.level[component];
+            final double predicted = previous + this.trend[component] * dt;
+            final double next = predicted + alpha * (value - predicted);
+
+            this.level[component] = next;
+            this.trend[component] += beta * ((next - previous) / dt - this.trend[component]);
+        }
+
+        return this.level[component];
+    }
+}
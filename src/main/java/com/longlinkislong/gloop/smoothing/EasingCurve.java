@@ -0,0 +1,475 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A composable easing curve. Curves are normalized: they map a time step on
+ * range [0, 1] to a progress value that is 0 at the start and 1 at the end.
+ * Combinators build new curves out of existing ones without evaluating them;
+ * internally every curve is a tree of method handles.
+ *
+ * <p>
+ * {@link #compile()} turns the tree into a {@link ScalarEasing} backed by its
+ * own generated class. The class holds a single invokedynamic call site that
+ * is bound to the tree once, so the JIT sees one constant target and can
+ * inline the whole curve the same way it inlines a hand-written easing
+ * function. Nested lambdas instead share their call sites between all curves
+ * built from the same combinators, which stop inlining once they become
+ * megamorphic.
+ *
+ * <p>
+ * EasingCurves are immutable and may be shared between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class EasingCurve {
+
+    private static final MethodType CURVE_TYPE = MethodType.methodType(double.class, double.class);
+    private static final MethodType EASE_TYPE = MethodType.methodType(double.class, double.class, double.class, double.class, double.class);
+
+    private static final MethodHandle ONE_MINUS;
+    private static final MethodHandle AFFINE;
+    private static final MethodHandle LESS_THAN;
+    private static final MethodHandle LERP;
+    private static final MethodHandle DIVIDE;
+    private static final MethodHandle SCALE_INTO;
+    private static final MethodHandle SCALAR_EASE;
+
+    private static final EasingCurve LINEAR;
+
+    private static final String BOOTSTRAP_NAME = "bootstrap";
+    private static final String BOOTSTRAP_DESCRIPTOR = "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;";
+    private static final Map<String, MethodHandle> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            ONE_MINUS = lookup.findStatic(EasingCurve.class, "oneMinus", CURVE_TYPE);
+            AFFINE = lookup.findStatic(EasingCurve.class, "affine", MethodType.methodType(double.class, double.class, double.class, double.class));
+            LESS_THAN = lookup.findStatic(EasingCurve.class, "lessThan", MethodType.methodType(boolean.class, double.class, double.class));
+            LERP = lookup.findStatic(EasingCurve.class, "lerp", MethodType.methodType(double.class, double.class, double.class, double.class));
+            DIVIDE = lookup.findStatic(EasingCurve.class, "divide", MethodType.methodType(double.class, double.class, double.class));
+            SCALE_INTO = lookup.findStatic(EasingCurve.class, "scaleInto", MethodType.methodType(double.class, double.class, double.class, double.class, double.class, double.class));
+            SCALAR_EASE = lookup.findVirtual(ScalarEasing.class, "ease", EASE_TYPE);
+            LINEAR = new EasingCurve(MethodHandles.identity(double.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final MethodHandle curve;
+    private volatile ScalarEasing compiled;
+
+    private EasingCurve(final MethodHandle curve) {
+        this.curve = curve;
+    }
+
+    /**
+     * Retrieves the linear curve; progress equals the time step.
+     *
+     * @return the linear curve.
+     * @since 26.10.18
+     */
+    public static EasingCurve linear() {
+        return LINEAR;
+    }
+
+    /**
+     * Constructs a curve from one of the easing functions in {@link Easings}.
+     * The curve calls the static easing function directly.
+     *
+     * @param kind the easing function.
+     * @return the curve.
+     * @since 26.10.18
+     */
+    public static EasingCurve of(final EasingKind kind) {
+        try {
+            return of(MethodHandles.publicLookup().findStatic(Easings.class, kind.method(), EASE_TYPE));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to access easing function for kind: " + kind, ex);
+        }
+    }
+
+    /**
+     * Constructs a curve from any easing function. The easing function is
+     * evaluated from 0 to 1 over a duration of 1.
+     *
+     * @param easing the easing function.
+     * @return the curve.
+     * @since 26.10.18
+     */
+    public static EasingCurve of(final ScalarEasing easing) {
+        return of(SCALAR_EASE.bindTo(easing));
+    }
+
+    private static EasingCurve of(final MethodHandle ease) {
+        return new EasingCurve(MethodHandles.insertArguments(ease, 1, 0.0, 1.0, 1.0));
+    }
+
+    /**
+     * Constructs a curve that plays this curve backwards: f(1 - x).
+     *
+     * @return the reversed curve.
+     * @since 26.10.18
+     */
+    public EasingCurve reverse() {
+        return new EasingCurve(MethodHandles.filterArguments(this.curve, 0, ONE_MINUS));
+    }
+
+    /**
+     * Constructs a curve that mirrors this curve through its center:
+     * 1 - f(1 - x). The mirror of an ease-in curve is the matching ease-out
+     * curve.
+     *
+     * @return the mirrored curve.
+     * @since 26.10.18
+     */
+    public EasingCurve mirror() {
+        return new EasingCurve(MethodHandles.filterReturnValue(this.reverse().curve, ONE_MINUS));
+    }
+
+    /**
+     * Constructs a curve that scales time: f(x * scale). A scale greater than
+     * 1 reaches the end of this curve early and continues past it.
+     *
+     * @param scale the time scale.
+     * @return the time-scaled curve.
+     * @since 26.10.18
+     */
+    public EasingCurve timeScale(final double scale) {
+        return new EasingCurve(MethodHandles.filterArguments(this.curve, 0, MethodHandles.insertArguments(AFFINE, 0, scale, 0.0)));
+    }
+
+    /**
+     * Constructs a curve that blends this curve with another: (1 - weight) *
+     * f(x) + weight * g(x).
+     *
+     * @param other the curve to blend with.
+     * @param weight the weight of the other curve.
+     * @return the blended curve.
+     * @since 26.10.18
+     */
+    public EasingCurve blend(final EasingCurve other, final double weight) {
+        final MethodHandle both = MethodHandles.filterArguments(MethodHandles.insertArguments(LERP, 0, weight), 0, this.curve, other.curve);
+
+        return new EasingCurve(MethodHandles.permuteArguments(both, CURVE_TYPE, 0, 0));
+    }
+
+    /**
+     * Constructs a curve that plays this curve and then the next one. This
+     * curve covers the time steps and progress up to split; the next curve
+     * covers the rest.
+     *
+     * @param next the curve to play second.
+     * @param split the time step and progress where the curves meet. Must be
+     * on range (0, 1).
+     * @return the sequenced curve.
+     * @since 26.10.18
+     */
+    public EasingCurve then(final EasingCurve next, final double split) {
+        if (!(split > 0.0 && split < 1.0)) {
+            throw new IllegalArgumentException("Split must be on range (0, 1)!");
+        }
+
+        final MethodHandle first = affine(this.curve, 1.0 / split, 0.0, split, 0.0);
+        final MethodHandle second = affine(next.curve, 1.0 / (1.0 - split), -split / (1.0 - split), 1.0 - split, split);
+
+        return new EasingCurve(MethodHandles.guardWithTest(MethodHandles.insertArguments(LESS_THAN, 1, split), first, second));
+    }
+
+    /**
+     * Wraps a curve as a * f(b * x + c) + d.
+     */
+    private static MethodHandle affine(final MethodHandle curve, final double b, final double c, final double a, final double d) {
+        final MethodHandle in = MethodHandles.filterArguments(curve, 0, MethodHandles.insertArguments(AFFINE, 0, b, c));
+
+        return MethodHandles.filterReturnValue(in, MethodHandles.insertArguments(AFFINE, 0, a, d));
+    }
+
+    /**
+     * Evaluates the curve without compiling it.
+     *
+     * @param x the time step on range [0, 1]
+     * @return the progress.
+     * @since 26.10.18
+     */
+    public double progress(final double x) {
+        try {
+            return (double) this.curve.invokeExact(x);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Compiles the curve into an easing function. The easing function eases
+     * from start to start + delta as start + delta * f(time / duration). The
+     * first call generates and links a class; later calls return the same
+     * easing function.
+     *
+     * @return the compiled easing function.
+     * @since 26.10.18
+     */
+    public ScalarEasing compile() {
+        ScalarEasing result = this.compiled;
+
+        if (result == null) {
+            synchronized (this) {
+                result = this.compiled;
+
+                if (result == null) {
+                    result = this.spin();
+                    this.compiled = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private ScalarEasing spin() {
+        // ease(t, s, c, d) = scaleInto(f(t / d), t, s, c, d)
+        final MethodHandle progress = MethodHandles.filterReturnValue(DIVIDE, this.curve);
+        final MethodHandle combiner = MethodHandles.dropArguments(progress, 1, double.class, double.class);
+        final MethodHandle target = MethodHandles.foldArguments(SCALE_INTO, combiner);
+        final long id = NEXT_ID.getAndIncrement();
+        final String siteName = "curve" + id;
+        final String className = EasingCurve.class.getName() + "$Fused" + id;
+
+        PENDING.put(siteName, target);
+
+        try {
+            final byte[] classFile = classFile(className.replace('.', '/'), siteName);
+            final Class<?> type = new FusedClassLoader(EasingCurve.class.getClassLoader()).define(className, classFile);
+            final ScalarEasing easing = (ScalarEasing) type.getConstructor().newInstance();
+
+            // link the call site now so the pending tree is released
+            easing.ease(0.0, 0.0, 1.0, 1.0);
+
+            return easing;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to instantiate compiled curve!", ex);
+        } finally {
+            PENDING.remove(siteName);
+        }
+    }
+
+    /**
+     * Links the call site of a compiled curve. This is called by the JVM the
+     * first time a compiled curve is evaluated. It is public only so the
+     * generated classes can link against it; it is not part of the API and
+     * rejects any lookup that does not belong to a compiled curve class.
+     *
+     * @param lookup the lookup of the compiled curve class.
+     * @param name the name of the call site.
+     * @param type the type of the call site.
+     * @return the call site bound to the curve.
+     * @throws IllegalArgumentException if the lookup is not a full privilege
+     * lookup on a compiled curve class.
+     * @since 26.10.18
+     */
+    public static CallSite bootstrap(final MethodHandles.Lookup lookup, final String name, final MethodType type) {
+        if (!(lookup.lookupClass().getClassLoader() instanceof FusedClassLoader)
+                || (lookup.lookupModes() & MethodHandles.Lookup.PRIVATE) == 0) {
+
+            throw new IllegalArgumentException("Bootstrap may only be linked by a compiled curve!");
+        }
+
+        final MethodHandle target = PENDING.get(name);
+
+        if (target == null) {
+            throw new IllegalStateException("No pending curve: " + name);
+        }
+
+        return new ConstantCallSite(target.asType(type));
+    }
+
+    /**
+     * Writes a class file (version 51) for a final class that implements
+     * ScalarEasing. Its ease method loads the four arguments, invokes the
+     * dynamic call site and returns the result.
+     */
+    private static byte[] classFile(final String className, final String siteName) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(51);
+
+            // constant pool
+            out.writeShort(25);
+            utf8(out, className);                                       // 1
+            classRef(out, 1);                                           // 2
+            utf8(out, "java/lang/Object");                              // 3
+            classRef(out, 3);                                           // 4
+            utf8(out, ScalarEasing.class.getName().replace('.', '/'));  // 5
+            classRef(out, 5);                                           // 6
+            utf8(out, "<init>");                                        // 7
+            utf8(out, "()V");                                           // 8
+            nameAndType(out, 7, 8);                                     // 9
+            memberRef(out, 10, 4, 9);                                   // 10 Object.<init>
+            utf8(out, "Code");                                          // 11
+            utf8(out, "ease");                                          // 12
+            utf8(out, "(DDDD)D");                                       // 13
+            utf8(out, EasingCurve.class.getName().replace('.', '/'));   // 14
+            classRef(out, 14);                                          // 15
+            utf8(out, BOOTSTRAP_NAME);                                  // 16
+            utf8(out, BOOTSTRAP_DESCRIPTOR);                            // 17
+            nameAndType(out, 16, 17);                                   // 18
+            memberRef(out, 10, 15, 18);                                 // 19 EasingCurve.bootstrap
+            out.writeByte(15);                                          // 20 REF_invokeStatic handle
+            out.writeByte(6);
+            out.writeShort(19);
+            utf8(out, siteName);                                        // 21
+            nameAndType(out, 21, 13);                                   // 22
+            out.writeByte(18);                                          // 23 invokedynamic
+            out.writeShort(0);
+            out.writeShort(22);
+            utf8(out, "BootstrapMethods");                              // 24
+
+            // public final super, this, super, interfaces, no fields
+            out.writeShort(0x0031);
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(1);
+            out.writeShort(6);
+            out.writeShort(0);
+
+            out.writeShort(2);
+
+            // public <init>() { super(); }
+            final byte[] init = {
+                0x2A, // aload_0
+                (byte) 0xB7, 0x00, 0x0A, // invokespecial #10
+                (byte) 0xB1 // return
+            };
+
+            method(out, 7, 8, 1, 1, init);
+
+            // public double ease(double, double, double, double)
+            final byte[] ease = {
+                0x27, // dload_1
+                0x29, // dload_3
+                0x18, 0x05, // dload 5
+                0x18, 0x07, // dload 7
+                (byte) 0xBA, 0x00, 0x17, 0x00, 0x00, // invokedynamic #23
+                (byte) 0xAF // dreturn
+            };
+
+            method(out, 12, 13, 8, 9, ease);
+
+            // BootstrapMethods: [EasingCurve.bootstrap with no static arguments]
+            out.writeShort(1);
+            out.writeShort(24);
+            out.writeInt(6);
+            out.writeShort(1);
+            out.writeShort(20);
+            out.writeShort(0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(final DataOutputStream out, final String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void classRef(final DataOutputStream out, final int name) throws IOException {
+        out.writeByte(7);
+        out.writeShort(name);
+    }
+
+    private static void nameAndType(final DataOutputStream out, final int name, final int descriptor) throws IOException {
+        out.writeByte(12);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+    }
+
+    private static void memberRef(final DataOutputStream out, final int tag, final int owner, final int nameAndType) throws IOException {
+        out.writeByte(tag);
+        out.writeShort(owner);
+        out.writeShort(nameAndType);
+    }
+
+    private static void method(
+            final DataOutputStream out, final int name, final int descriptor,
+            final int maxStack, final int maxLocals, final byte[] code) throws IOException {
+
+        out.writeShort(0x0001);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(11);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private static double oneMinus(final double x) {
+        return 1.0 - x;
+    }
+
+    private static double affine(final double a, final double b, final double x) {
+        return a * x + b;
+    }
+
+    private static boolean lessThan(final double x, final double limit) {
+        return x < limit;
+    }
+
+    private static double lerp(final double weight, final double a, final double b) {
+        return a + weight * (b - a);
+    }
+
+    private static double divide(final double t, final double d) {
+        return t / d;
+    }
+
+    private static double scaleInto(final double g, final double t, final double s, final double c, final double d) {
+        return s + c * g;
+    }
+
+    /**
+     * Defines the class of a single compiled curve. Every curve gets its own
+     * loader so the class can be unloaded with the curve.
+     */
+    private static final class FusedClassLoader extends ClassLoader {
+
+        private FusedClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(final String name, final byte[] classFile) {
+            return this.defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * The measured difference between an easing function and an approximation of
+ * it. Both easing functions are compared as normalized curves, eased from 0 to
+ * 1 over a duration of 1.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class EasingError {
+
+    private final double maxError;
+    private final double maxErrorTime;
+    private final double rmsError;
+    private final int samples;
+
+    private EasingError(final double maxError, final double maxErrorTime, final double rmsError, final int samples) {
+        this.maxError = maxError;
+        this.maxErrorTime = maxErrorTime;
+        this.rmsError = rmsError;
+        this.samples = samples;
+    }
+
+    /**
+     * Measures the error of an approximation at evenly spaced time steps on
+     * the range [0, 1].
+     *
+     * @param reference the exact easing function.
+     * @param approximation the easing function to measure.
+     * @param samples the number of time steps to compare. Must be at least 2.
+     * @return the measured error.
+     * @since 26.10.18
+     */
+    public static EasingError measure(final ScalarEasing reference, final ScalarEasing approximation, final int samples) {
+        if (samples < 2) {
+            throw new IllegalArgumentException("At least 2 samples are required!");
+        }
+
+        double max = 0.0;
+        double maxTime = 0.0;
+        double sumSq = 0.0;
+
+        for (int i = 0; i < samples; i++) {
+            final double t = i / (samples - 1.0);
+            final double error = Math.abs(reference.ease(t, 0.0, 1.0, 1.0) - approximation.ease(t, 0.0, 1.0, 1.0));
+
+            if (error > max) {
+                max = error;
+                maxTime = t;
+            }
+
+            sumSq += error * error;
+        }
+
+        return new EasingError(max, maxTime, Math.sqrt(sumSq / samples), samples);
+    }
+
+    /**
+     * Retrieves the largest absolute error.
+     *
+     * @return the max error.
+     * @since 26.10.18
+     */
+    public double getMaxError() {
+        return this.maxError;
+    }
+
+    /**
+     * Retrieves the normalized time step where the largest error occurred.
+     *
+     * @return the time step on range [0, 1].
+     * @since 26.10.18
+     */
+    public double getMaxErrorTime() {
+        return this.maxErrorTime;
+    }
+
+    /**
+     * Retrieves the root mean square error.
+     *
+     * @return the RMS error.
+     * @since 26.10.18
+     */
+    public double getRMSError() {
+        return this.rmsError;
+    }
+
+    /**
+     * Retrieves the number of time steps that were compared.
+     *
+     * @return the sample count.
+     * @since 26.10.18
+     */
+    public int getSamples() {
+        return this.samples;
+    }
+
+    @Override
+    public String toString() {
+        return "EasingError: [max=" + this.maxError
+                + " at t=" + this.maxErrorTime
+                + ", rms=" + this.rmsError
+                + ", samples=" + this.samples + "]";
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * The easing functions implemented by {@link Easings}. Every kind pairs the
+ * scalar easing function with its {@link BulkEasings} kernel so that many
+ * values sharing the same kind can be eased in a single pass.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public enum EasingKind implements ScalarEasing {
+    LINEAR("linear", Easings::linear, BulkEasings::linear),
+    QUADRATIC_IN("quadraticIn", Easings::quadraticIn, BulkEasings::quadraticIn),
+    QUADRATIC_OUT("quadraticOut", Easings::quadraticOut, BulkEasings::quadraticOut),
+    QUADRATIC_IN_OUT("quadraticInOut", Easings::quadraticInOut, BulkEasings::quadraticInOut),
+    CUBIC_IN("cubicIn", Easings::cubicIn, BulkEasings::cubicIn),
+    CUBIC_OUT("cubicOut", Easings::cubicOut, BulkEasings::cubicOut),
+    CUBIC_IN_OUT("cubicInOut", Easings::cubicInOut, BulkEasings::cubicInOut),
+    QUINT_IN("quintIn", Easings::quintIn, BulkEasings::quintIn),
+    QUINT_OUT("quintOut", Easings::quintOut, BulkEasings::quintOut),
+    QUINT_IN_OUT("quintInOut", Easings::quintInOut, BulkEasings::quintInOut),
+    SINE_IN("sineIn", Easings::sineIn, BulkEasings::sineIn),
+    SINE_OUT("sineOut", Easings::sineOut, BulkEasings::sineOut),
+    SINE_IN_OUT("sineInOut", Easings::sineInOut, BulkEasings::sineInOut),
+    EXPONENTIAL_IN("exponentialIn", Easings::exponentialIn, BulkEasings::exponentialIn),
+    EXPONENTIAL_OUT("exponentialOut", Easings::exponentialOut, BulkEasings::exponentialOut),
+    EXPONENTIAL_IN_OUT("exponentialInOut", Easings::exponentialInOut, BulkEasings::exponentialInOut);
+
+    private interface Kernel {
+
+        void ease(double[] t, double[] s, double[] c, double[] d, double[] out, int offset, int count);
+    }
+
+    private final String method;
+    private final ScalarEasing easing;
+    private final Kernel kernel;
+
+    private EasingKind(final String method, final ScalarEasing easing, final Kernel kernel) {
+        this.method = method;
+        this.easing = easing;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Retrieves the name of the scalar easing function in {@link Easings}.
+     *
+     * @return the method name.
+     */
+    String method() {
+        return this.method;
+    }
+
+    @Override
+    public double ease(final double time, final double start, final double delta, final double duration) {
+        return this.easing.ease(time, start, delta, duration);
+    }
+
+    /**
+     * Eases every element of the parallel arrays.
+     *
+     * @param t the current times.
+     * @param s the starting values.
+     * @param c the changes in value between the start and the end.
+     * @param d the durations of the interpolations.
+     * @param out the array to write the interpolated values into.
+     * @param offset the index of the first element in every array.
+     * @param count the number of elements to ease.
+     * @since 26.10.18
+     */
+    public void ease(
+            final double[] t, final double[] s, final double[] c, final double[] d,
+            final double[] out, final int offset, final int count) {
+
+        this.kernel.ease(t, s, c, d, out, offset, count);
+    }
+}
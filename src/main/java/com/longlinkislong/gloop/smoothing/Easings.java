@@ -6,6 +6,7 @@
 package com.longlinkislong.gloop.smoothing;
 
 import com.longlinkislong.gloop.GLVecD;
+import com.longlinkislong.gloop.GLVecF;
 
 /**
  * A collections of easing functions.
@@ -70,7 +71,7 @@ public class Easings {
      * @since 15.07.24
      */
     public static double quadraticInOut(double t, double s, double c, double d) {
-        return ((t /= d * 2.0) < 1.0)
+        return ((t /= d * 0.5) < 1.0)
                 ? c * 0.5 * t * t + s
                 : -c * 0.5 * ((t -= 1.0) * (t - 2.0) - 1.0) + s;
     }
@@ -89,6 +90,20 @@ public class Easings {
         return c * (t /= d) * t * t + s;
     }
 
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static double cubicOut(double t, double s, double c, double d) {
+        return c * ((t = t / d - 1.0) * t * t + 1.0) + s;
+    }
+
     /**
      * Performs a cubic smoothing operation.
      *
@@ -98,9 +113,11 @@ public class Easings {
      * @param d the duration of the interpolation.
      * @return the interpolated value.
      * @since 15.07.24
+     * @deprecated use {@link #cubicOut(double, double, double, double)}.
      */
+    @Deprecated
     public static double cubicOUt(double t, double s, double c, double d) {
-        return c * ((t = t / d - 1.0) * t * t + 1.0) + s;
+        return cubicOut(t, s, c, d);
     }
 
     /**
@@ -133,6 +150,20 @@ public class Easings {
         return c * (t /= d) * t * t * t * t + s;
     }
 
+    /**
+     * Performs a T^5 smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static double quintOut(double t, double s, double c, double d) {
+        return c * ((t = t / d - 1.0) * t * t * t * t + 1.0) + s;
+    }
+
     /**
      * Performs a T^5 smoothing operation.
      *
@@ -142,9 +173,11 @@ public class Easings {
      * @param d the duration of the interpolation.
      * @return the interpolated value.
      * @since 15.07.24
+     * @deprecated use {@link #quintOut(double, double, double, double)}.
      */
+    @Deprecated
     public static double quintOUt(double t, double s, double c, double d) {
-        return c * ((t = t / d - 1.0) * t * t * t * t + 1.0) + s;
+        return quintOut(t, s, c, d);
     }
 
     /**
@@ -188,7 +221,7 @@ public class Easings {
     public static double exponentialIn(double t, double s, double c, double d) {
         return Math.abs(t) < EPSILON
                 ? s
-                : c * (-Math.pow(2.0, -10.0 * t / d) + 1.0) + s;
+                : c * Math.pow(2.0, 10.0 * (t / d - 1.0)) + s;
     }
 
     /**
@@ -215,9 +248,9 @@ public class Easings {
      * @param c the change in value between the start and the end.
      * @param d the duration of the interpolation.
      * @return the interpolated value.
-     * @since 15.07.24
+     * @since 26.10.18
      */
-    public static double exponentialInOUt(double t, double s, double c, double d) {
+    public static double exponentialInOut(double t, double s, double c, double d) {
         if (Math.abs(t) < EPSILON) {
             return s;
         } else if (Math.abs(t - d) < EPSILON) {
@@ -229,6 +262,234 @@ public class Easings {
         }
     }
 
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 15.07.24
+     * @deprecated use {@link #exponentialInOut(double, double, double, double)}.
+     */
+    @Deprecated
+    public static double exponentialInOUt(double t, double s, double c, double d) {
+        return exponentialInOut(t, s, c, d);
+    }
+
+    /**
+     * Performs a linear easing.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float linear(float t, float s, float c, float d) {
+        return (1f - t / d) * s + t / d * (s + c);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quadraticIn(float t, float s, float c, float d) {
+        return c * (t /= d) * t + s;
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quadraticOut(float t, float s, float c, float d) {
+        return -c * (t /= d) * (t - 2f) + s;
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quadraticInOut(float t, float s, float c, float d) {
+        return ((t /= d * 0.5f) < 1f)
+                ? c * 0.5f * t * t + s
+                : -c * 0.5f * ((t -= 1f) * (t - 2f) - 1f) + s;
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float cubicIn(float t, float s, float c, float d) {
+        return c * (t /= d) * t * t + s;
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float cubicOut(float t, float s, float c, float d) {
+        return c * ((t = t / d - 1f) * t * t + 1f) + s;
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float cubicInOut(float t, float s, float c, float d) {
+        return ((t /= d * 0.5f) < 1f)
+                ? c * 0.5f * t * t * t + s
+                : c * 0.5f * ((t -= 2f) * t * t + 2f) + s;
+    }
+
+    /**
+     * Performs a T^5 smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quintIn(float t, float s, float c, float d) {
+        return c * (t /= d) * t * t * t * t + s;
+    }
+
+    /**
+     * Performs a T^5 smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quintOut(float t, float s, float c, float d) {
+        return c * ((t = t / d - 1f) * t * t * t * t + 1f) + s;
+    }
+
+    /**
+     * Performs a T^5 smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float quintInOut(float t, float s, float c, float d) {
+        return ((t /= d * 0.5f) < 1f)
+                ? c * 0.5f * t * t * t * t * t + s
+                : c * 0.5f * ((t -= 2f) * t * t * t * t + 2f) + s;
+    }
+
+    public static float sineIn(float t, float s, float c, float d) {
+        return -c * (float) Math.cos(t / d * Math.PI * 0.5f) + c + s;
+    }
+
+    public static float sineOut(float t, float s, float c, float d) {
+        return c * (float) Math.sin(t / d * Math.PI * 0.5f) + s;
+    }
+
+    public static float sineInOut(float t, float s, float c, float d) {
+        return -c * 0.5f * ((float) Math.cos(Math.PI * t / d) - 1f) + s;
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float exponentialIn(float t, float s, float c, float d) {
+        return Math.abs(t) < EPSILON
+                ? s
+                : c * (float) Math.pow(2f, 10f * (t / d - 1f)) + s;
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float exponentialOut(float t, float s, float c, float d) {
+        return Math.abs(t - d) < EPSILON
+                ? s + c
+                : c * (-(float) Math.pow(2f, -10f * t / d) + 1f) + s;
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static float exponentialInOut(float t, float s, float c, float d) {
+        if (Math.abs(t) < EPSILON) {
+            return s;
+        } else if (Math.abs(t - d) < EPSILON) {
+            return s + c;
+        } else {
+            return ((t /= d * 0.5f) < 1f)
+                    ? c * 0.5f * (float) Math.pow(2f, 10f * (t - 1f)) + s
+                    : c * 0.5f * (-(float) Math.pow(2f, -10f * --t) + 2f) + s;
+        }
+    }
+
     /**
      * Performs a linear smoothing operation.
      *
@@ -288,7 +549,7 @@ public class Easings {
     public static <VecT extends GLVecD> VecT quadraticInOut(double t, VecT s, VecT c, double d) {
         return ((t /= d / 2.0) < 1.0)
                 ? (VecT) c.scale(0.5 * t * t).plus(s)
-                : (VecT) c.scale(0.5 * ((t -= 1.0) * (t - 2.0) - 1.0)).plus(s);
+                : (VecT) c.scale(-0.5 * ((t -= 1.0) * (t - 2.0) - 1.0)).plus(s);
     }
 
     /**
@@ -330,14 +591,31 @@ public class Easings {
      * @param c the change in value between the start and the end.
      * @param d the duration of the interpolation.
      * @return the interpolated value.
-     * @since 15.07.24
+     * @since 26.10.18
      */
-    public static <VecT extends GLVecD> VecT cubicInOUt(double t, VecT s, VecT c, double d) {
+    public static <VecT extends GLVecD> VecT cubicInOut(double t, VecT s, VecT c, double d) {
         return ((t /= d * 0.5) < 1.0)
                 ? (VecT) c.scale(0.5 * t * t * t).plus(s)
                 : (VecT) c.scale(0.5 * ((t -= 2.0) * t * t + 2.0)).plus(s);
     }
 
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 15.07.24
+     * @deprecated use {@link #cubicInOut(double, GLVecD, GLVecD, double)}.
+     */
+    @Deprecated
+    public static <VecT extends GLVecD> VecT cubicInOUt(double t, VecT s, VecT c, double d) {
+        return cubicInOut(t, s, c, d);
+    }
+
     public static <VecT extends GLVecD> VecT quintIn(double t, VecT s, VecT c, double d) {
         return (VecT) c.scale((t /= d) * t * t * t * t).plus(s);
     }
@@ -378,7 +656,7 @@ public class Easings {
     public static <VecT extends GLVecD> VecT exponentialIn(double t, VecT s, VecT c, double d) {
         return Math.abs(t) < EPSILON
                 ? s
-                : (VecT) c.scale(-Math.pow(2.0, -10.0 * t / d) + 1.0).plus(s);
+                : (VecT) c.scale(Math.pow(2.0, 10.0 * (t / d - 1.0))).plus(s);
     }
 
     /**
@@ -393,9 +671,9 @@ public class Easings {
      * @since 15.07.24
      */
     public static <VecT extends GLVecD> VecT exponentialOut(double t, VecT s, VecT c, double d) {
-        return Math.abs(t) < EPSILON
+        return Math.abs(t - d) < EPSILON
                 ? (VecT) s.plus(c)
-                : (VecT) c.scale(-Math.pow(2.0, 1.0 * t / d) + 1.0).plus(s);
+                : (VecT) c.scale(-Math.pow(2.0, -10.0 * t / d) + 1.0).plus(s);
     }
 
     /**
@@ -417,7 +695,1489 @@ public class Easings {
         } else {
             return ((t /= d * 0.5) < 1.0)
                     ? (VecT) c.scale(0.5 * Math.pow(2.0, 10.0 * (t - 1.0))).plus(s)
-                    : (VecT) c.scale(0.5 * -Math.pow(2.0, 10.0 * --t) + 2.0).plus(s);
+                    : (VecT) c.scale(0.5 * (-Math.pow(2.0, -10.0 * --t) + 2.0)).plus(s);
+        }
+    }
+
+    /**
+     * Performs a linear smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT linear(float t, VecT s, VecT c, float d) {
+        return (VecT) s.scale((1f - t / d)).plus(s.plus(c).scale(t / d));
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticIn(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale((t /= d) * t).plus(s);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticOut(float t, VecT s, VecT c, float d) {
+        return (VecT) s.plus(c.scale((t /= d) * (t - 2f)).negative());
+    }
+
+    /**
+     * Performs a quadratic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticInOut(float t, VecT s, VecT c, float d) {
+        return ((t /= d / 2f) < 1f)
+                ? (VecT) c.scale(0.5f * t * t).plus(s)
+                : (VecT) c.scale(-0.5f * ((t -= 1f) * (t - 2f) - 1f)).plus(s);
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicIn(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale((t /= d) * t * t).plus(s);
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicOut(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale((t = t / d - 1f) * t * t + 1f).plus(s);
+    }
+
+    /**
+     * Performs a cubic smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicInOut(float t, VecT s, VecT c, float d) {
+        return ((t /= d * 0.5f) < 1f)
+                ? (VecT) c.scale(0.5f * t * t * t).plus(s)
+                : (VecT) c.scale(0.5f * ((t -= 2f) * t * t + 2f)).plus(s);
+    }
+
+    public static <VecT extends GLVecF> VecT quintIn(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale((t /= d) * t * t * t * t).plus(s);
+    }
+
+    public static <VecT extends GLVecF> VecT quintOut(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale(((t = t / d - 1f) * t * t * t * t + 1f)).plus(s);
+    }
+
+    public static <VecT extends GLVecF> VecT quintInOut(float t, VecT s, VecT c, float d) {
+        return ((t /= d / 2f) < 1f)
+                ? (VecT) c.scale(0.5f * t * t * t * t * t).plus(s)
+                : (VecT) c.scale(0.5f * ((t -= 2f) * t * t * t * t + 2f)).plus(s);
+    }
+
+    public static <VecT extends GLVecF> VecT sineIn(float t, VecT s, VecT c, float d) {
+        return (VecT) c.plus(s).plus(c.scale((float) Math.cos(t / d * (Math.PI / 2f))).negative());
+    }
+
+    public static <VecT extends GLVecF> VecT sineOut(float t, VecT s, VecT c, float d) {
+        return (VecT) c.scale((float) Math.sin(t / d * Math.PI / 2f)).plus(s);
+    }
+
+    public static <VecT extends GLVecF> VecT sineInOut(float t, VecT s, VecT c, float d) {
+        return (VecT) s.plus(c.scale(0.5f * ((float) Math.cos(Math.PI * t / d) - 1f)).negative());
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialIn(float t, VecT s, VecT c, float d) {
+        return Math.abs(t) < EPSILON
+                ? s
+                : (VecT) c.scale((float) Math.pow(2f, 10f * (t / d - 1f))).plus(s);
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialOut(float t, VecT s, VecT c, float d) {
+        return Math.abs(t - d) < EPSILON
+                ? (VecT) s.plus(c)
+                : (VecT) c.scale(-(float) Math.pow(2f, -10f * t / d) + 1f).plus(s);
+    }
+
+    /**
+     * Performs an exponential smoothing operation.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @return the interpolated value.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialInOut(float t, VecT s, VecT c, float d) {
+        if (Math.abs(t) < EPSILON) {
+            return s;
+        } else if (Math.abs(t - d) < EPSILON) {
+            return (VecT) s.plus(c);
+        } else {
+            return ((t /= d * 0.5f) < 1f)
+                    ? (VecT) c.scale(0.5f * (float) Math.pow(2f, 10f * (t - 1f))).plus(s)
+                    : (VecT) c.scale(0.5f * (-(float) Math.pow(2f, -10f * --t) + 2f)).plus(s);
+        }
+    }
+
+    /**
+     * Performs a linear smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT linear(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(linear(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a linear smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT linear(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(linear(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a linear smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void linear(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(linear(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a linear smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void linear(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(linear(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quadraticIn(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quadraticIn(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticIn(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quadraticIn(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticIn(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quadraticIn(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticIn(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quadraticIn(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quadraticOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quadraticOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quadraticOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quadraticOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quadraticOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quadraticInOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quadraticInOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quadraticInOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quadraticInOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticInOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quadraticInOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a quadratic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quadraticInOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quadraticInOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT cubicIn(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(cubicIn(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicIn(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(cubicIn(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicIn(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(cubicIn(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicIn(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(cubicIn(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT cubicOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(cubicOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(cubicOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(cubicOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(cubicOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT cubicInOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(cubicInOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT cubicInOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(cubicInOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicInOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(cubicInOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a cubic smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void cubicInOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(cubicInOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quintIn(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quintIn(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quintIn(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quintIn(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintIn(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quintIn(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintIn(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quintIn(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quintOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quintOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quintOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quintOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quintOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quintOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT quintInOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(quintInOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT quintInOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(quintInOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintInOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(quintInOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a T^5 smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void quintInOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(quintInOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT sineIn(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(sineIn(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT sineIn(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(sineIn(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineIn(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(sineIn(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineIn(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(sineIn(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT sineOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(sineOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT sineOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(sineOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(sineOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(sineOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT sineInOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(sineInOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT sineInOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(sineInOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineInOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(sineInOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs a sine smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void sineInOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(sineInOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT exponentialIn(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(exponentialIn(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialIn(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(exponentialIn(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialIn(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(exponentialIn(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialIn(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(exponentialIn(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT exponentialOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(exponentialOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(exponentialOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(exponentialOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(exponentialOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT exponentialInOut(double t, VecT s, VecT c, double d, VecT out) {
+        return ease(exponentialInOut(t, 0.0, 1.0, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation and writes the result into a destination vector
+     * without allocating.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the current time
+     * @param s the starting value.
+     * @param c the change in value between the start and the end.
+     * @param d the duration of the interpolation.
+     * @param out the vector to write the interpolated value into. May be s or
+     * c.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT exponentialInOut(float t, VecT s, VecT c, float d, VecT out) {
+        return ease(exponentialInOut(t, 0f, 1f, d), s, c, out);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialInOut(
+            double t, double[] s, int sOffset, double[] c, int cOffset, double d,
+            double[] out, int outOffset, int dimension) {
+
+        ease(exponentialInOut(t, 0.0, 1.0, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Performs an exponential smoothing operation on packed vector components.
+     *
+     * @param t the current time
+     * @param s the starting value data.
+     * @param sOffset the offset of the starting value.
+     * @param c the change in value data.
+     * @param cOffset the offset of the change in value.
+     * @param d the duration of the interpolation.
+     * @param out the array to write the interpolated value into.
+     * @param outOffset the offset to write the interpolated value at.
+     * @param dimension the number of components.
+     * @since 26.10.18
+     */
+    public static void exponentialInOut(
+            float t, float[] s, int sOffset, float[] c, int cOffset, float d,
+            float[] out, int outOffset, int dimension) {
+
+        ease(exponentialInOut(t, 0f, 1f, d), s, sOffset, c, cOffset, out, outOffset, dimension);
+    }
+
+    /**
+     * Writes s + c * g component-wise into out. g is the normalized easing
+     * value, so every vector easing reduces to one scalar easing call.
+     */
+    private static <VecT extends GLVecD> VecT ease(final double g, final VecT s, final VecT c, final VecT out) {
+        final int size = out.size();
+
+        for (int j = 0; j < size; j++) {
+            out.set(j, s.get(j) + c.get(j) * g);
+        }
+
+        return out;
+    }
+
+    private static <VecT extends GLVecF> VecT ease(final float g, final VecT s, final VecT c, final VecT out) {
+        final int size = out.size();
+
+        for (int j = 0; j < size; j++) {
+            out.set(j, s.get(j) + c.get(j) * g);
+        }
+
+        return out;
+    }
+
+    private static void ease(
+            final double g, final double[] s, final int sOffset, final double[] c, final int cOffset,
+            final double[] out, final int outOffset, final int dimension) {
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = s[sOffset + j] + c[cOffset + j] * g;
+        }
+    }
+
+    private static void ease(
+            final float g, final float[] s, final int sOffset, final float[] c, final int cOffset,
+            final float[] out, final int outOffset, final int dimension) {
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = s[sOffset + j] + c[cOffset + j] * g;
         }
     }
 }
@@ -0,0 +1,610 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * A spline whose control points can be inserted, removed and moved. The
+ * spline keeps the same power basis pieces as a {@link CompiledSpline} along
+ * with the arc length of every piece, and an edit only refits the segments
+ * whose local support contains the edited point: the order segments of a
+ * BSpline and the four surrounding segments of a TCB or Bessel-Overhauser
+ * spline. Piece lengths are summed in a Fenwick tree, so moving a point costs a
+ * constant number of segment fits plus O(log n) to update the total length.
+ * Inserting or removing a point additionally shifts the cached arrays and
+ * rebuilds the Fenwick tree from the cached lengths in linear time, without
+ * refitting or re-measuring any other segment. Pieces are measured with the
+ * same subdivision and tolerance as {@link ArcLengthTable}, so the lengths
+ * match those of a table built over {@link #compile()}.
+ *
+ * <p>
+ * Refitting is deferred until the spline is next evaluated, so a burst of
+ * edits to the same neighborhood is only refitted once. An EditableSpline is
+ * not thread-safe; {@link #compile()} takes an immutable snapshot.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class EditableSpline {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_NEWTON_STEPS = 8;
+    private static final double DEFAULT_TOLERANCE = 1E-6;
+
+    private enum Kind {
+        BSPLINE, TCB, BESSEL_OVERHAUSER
+    }
+
+    private final Kind kind;
+    private final int dimension;
+    private final int order;
+    private final int piecesPerSegment;
+    private final int minPoints;
+    // segments [index - supportBefore, index + supportAfter] depend on point index
+    private final int supportBefore;
+    private final int supportAfter;
+    private final double tension;
+    private final double continuity;
+    private final double bias;
+    private final double[][] basis;
+    private final double[] control;
+    private final double tolerance;
+
+    private double[] points;
+    private int size;
+
+    private int segments;
+    private double[] coefficients = new double[0];
+    private double[] lengths = new double[0];
+    private double[] lengthTree = new double[1];
+    private boolean[] dirty = new boolean[0];
+    private int[] dirtySegments = new int[0];
+    private int dirtyCount;
+
+    private EditableSpline(
+            final Kind kind, final int dimension, final int order, final int piecesPerSegment,
+            final int minPoints, final int supportBefore, final int supportAfter,
+            final double tension, final double continuity, final double bias) {
+
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        }
+
+        this.kind = kind;
+        this.dimension = dimension;
+        this.order = order;
+        this.piecesPerSegment = piecesPerSegment;
+        this.minPoints = minPoints;
+        this.supportBefore = supportBefore;
+        this.supportAfter = supportAfter;
+        this.tension = tension;
+        this.continuity = continuity;
+        this.bias = bias;
+        this.basis = kind == Kind.BSPLINE ? CompiledSpline.uniformBasis(order) : null;
+        this.control = new double[6 * dimension];
+        this.tolerance = DEFAULT_TOLERANCE;
+        this.points = new double[DEFAULT_CAPACITY * dimension];
+    }
+
+    /**
+     * Constructs an empty uniform BSpline.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param dimension the number of components per control point.
+     * @return the editable spline.
+     * @since 26.10.18
+     */
+    public static EditableSpline bSpline(final int degrees, final int dimension) {
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        }
+
+        return new EditableSpline(Kind.BSPLINE, dimension, degrees, 1, degrees, degrees - 1, 0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Constructs an empty TCB spline (Kochanek-Bartels).
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param dimension the number of components per control point.
+     * @return the editable spline.
+     * @since 26.10.18
+     */
+    public static EditableSpline tcbSpline(
+            final double tension, final double continuity, final double bias, final int dimension) {
+
+        return new EditableSpline(Kind.TCB, dimension, 3, 4, 2, 2, 1, tension, continuity, bias);
+    }
+
+    /**
+     * Constructs an empty Bessel-Overhauser spline.
+     *
+     * @param dimension the number of components per control point.
+     * @return the editable spline.
+     * @since 26.10.18
+     */
+    public static EditableSpline besselOverhauser(final int dimension) {
+        return new EditableSpline(Kind.BESSEL_OVERHAUSER, dimension, 3, 4, 2, 2, 1, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Retrieves the number of components per point.
+     *
+     * @return the dimension.
+     * @since 26.10.18
+     */
+    public int dimension() {
+        return this.dimension;
+    }
+
+    /**
+     * Retrieves the number of control points.
+     *
+     * @return the control point count.
+     * @since 26.10.18
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieves the number of segments. This is 0 until there are enough
+     * control points to form a spline.
+     *
+     * @return the segment count.
+     * @since 26.10.18
+     */
+    public int segmentCount() {
+        return this.segments;
+    }
+
+    /**
+     * Retrieves the number of polynomial pieces.
+     *
+     * @return the piece count.
+     * @since 26.10.18
+     */
+    public int pieceCount() {
+        return this.segments * this.piecesPerSegment;
+    }
+
+    /**
+     * Copies a control point.
+     *
+     * @param index the index of the control point.
+     * @param out the array to copy the point into.
+     * @param outOffset the offset to copy the point to.
+     * @since 26.10.18
+     */
+    public void get(final int index, final double[] out, final int outOffset) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Invalid control point index: " + index);
+        }
+
+        System.arraycopy(this.points, index * this.dimension, out, outOffset, this.dimension);
+    }
+
+    /**
+     * Appends a control point.
+     *
+     * @param point the point data.
+     * @param offset the offset of the point.
+     * @since 26.10.18
+     */
+    public void add(final double[] point, final int offset) {
+        this.insert(this.size, point, offset);
+    }
+
+    /**
+     * Inserts a control point before the point at index.
+     *
+     * @param index the index of the new point.
+     * @param point the point data.
+     * @param offset the offset of the point.
+     * @since 26.10.18
+     */
+    public void insert(final int index, final double[] point, final int offset) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Invalid control point index: " + index);
+        }
+
+        final int dim = this.dimension;
+
+        this.refit();
+
+        if (this.points.length < (this.size + 1) * dim) {
+            this.points = Arrays.copyOf(this.points, Math.max(2 * this.points.length, (this.size + 1) * dim));
+        }
+
+        System.arraycopy(this.points, index * dim, this.points, (index + 1) * dim, (this.size - index) * dim);
+        System.arraycopy(point, offset, this.points, index * dim, dim);
+        this.size++;
+
+        final int oldSegments = this.segments;
+        final int newSegments = this.segmentCount(this.size);
+
+        if (oldSegments == 0) {
+            this.resize(newSegments);
+            this.invalidate(0, newSegments - 1);
+        } else {
+            final int hi = Math.min(index + this.supportAfter, newSegments - 1);
+
+            // segments past the support window keep their data and move up by one
+            this.resize(newSegments);
+            this.moveSegments(hi, hi + 1, oldSegments - hi);
+            this.invalidate(index - this.supportBefore, hi);
+        }
+
+        this.rebuildLengthTree();
+    }
+
+    /**
+     * Removes a control point.
+     *
+     * @param index the index of the point to remove.
+     * @since 26.10.18
+     */
+    public void remove(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Invalid control point index: " + index);
+        }
+
+        final int dim = this.dimension;
+
+        this.refit();
+
+        System.arraycopy(this.points, (index + 1) * dim, this.points, index * dim, (this.size - index - 1) * dim);
+        this.size--;
+
+        final int oldSegments = this.segments;
+        final int newSegments = this.segmentCount(this.size);
+
+        if (newSegments > 0) {
+            final int hi = Math.min(index + this.supportAfter, newSegments - 1);
+
+            // segments past the support window keep their data and move down by one
+            this.moveSegments(hi + 2, hi + 1, oldSegments - hi - 2);
+            this.resize(newSegments);
+            this.invalidate(index - this.supportBefore, hi);
+        } else {
+            this.resize(0);
+        }
+
+        this.rebuildLengthTree();
+    }
+
+    /**
+     * Moves a control point. Only the segments that depend on the point are
+     * refitted.
+     *
+     * @param index the index of the point to move.
+     * @param point the new point data.
+     * @param offset the offset of the point.
+     * @since 26.10.18
+     */
+    public void set(final int index, final double[] point, final int offset) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Invalid control point index: " + index);
+        }
+
+        System.arraycopy(point, offset, this.points, index * this.dimension, this.dimension);
+        this.invalidate(index - this.supportBefore, index + this.supportAfter);
+    }
+
+    /**
+     * Evaluates the spline.
+     *
+     * @param t the time step on range [0, 1]
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public void eval(final double t, final double[] out, final int outOffset) {
+        this.evalDerivatives(t, 0, out, outOffset);
+    }
+
+    /**
+     * Evaluates the spline along with its derivatives with respect to t. See
+     * {@link CompiledSpline#evalDerivatives(double, int, double[], int)}.
+     *
+     * @param t the time step on range [0, 1]
+     * @param derivatives the highest derivative to evaluate.
+     * @param out the array to write (derivatives + 1) * dimension values into.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public void evalDerivatives(final double t, final int derivatives, final double[] out, final int outOffset) {
+        this.update();
+
+        final int pieces = this.pieceCount();
+        final double x = t * pieces;
+        final int piece = Math.min(Math.max((int) x, 0), pieces - 1);
+
+        CompiledSpline.evalPiece(this.coefficients, this.dimension, this.order, piece, x - piece, derivatives, out, outOffset);
+
+        double scale = 1.0;
+
+        for (int k = 1; k <= derivatives; k++) {
+            scale *= pieces;
+
+            for (int j = 0; j < this.dimension; j++) {
+                out[outOffset + k * this.dimension + j] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the total arc length of the spline.
+     *
+     * @return the length.
+     * @since 26.10.18
+     */
+    public double length() {
+        this.update();
+
+        return this.prefixLength(this.pieceCount());
+    }
+
+    /**
+     * Computes the arc length from the start of the spline up to a time step.
+     *
+     * @param t the time step on range [0, 1]
+     * @return the distance along the spline.
+     * @since 26.10.18
+     */
+    public double length(final double t) {
+        this.update();
+
+        final int pieces = this.pieceCount();
+
+        if (!(t > 0.0)) {
+            return 0.0;
+        } else if (t >= 1.0) {
+            return this.prefixLength(pieces);
+        }
+
+        final double x = t * pieces;
+        final int piece = Math.min((int) x, pieces - 1);
+
+        return this.prefixLength(piece) + this.partialLength(piece, x - piece);
+    }
+
+    /**
+     * Finds the time step at a distance along the spline.
+     *
+     * @param distance the distance from the start of the spline. Values
+     * outside of [0, length] are clamped.
+     * @return the time step on range [0, 1]
+     * @since 26.10.18
+     */
+    public double timeAt(final double distance) {
+        this.update();
+
+        final int pieces = this.pieceCount();
+
+        if (!(distance > 0.0)) {
+            return 0.0;
+        } else if (distance >= this.prefixLength(pieces)) {
+            return 1.0;
+        }
+
+        // descend the Fenwick tree to the last piece that starts at or before distance
+        final double[] tree = this.lengthTree;
+        int piece = 0;
+        double remaining = distance;
+
+        for (int step = Integer.highestOneBit(pieces); step > 0; step >>>= 1) {
+            if (piece + step <= pieces && tree[piece + step] <= remaining) {
+                piece += step;
+                remaining -= tree[piece];
+            }
+        }
+
+        if (piece >= pieces) {
+            return 1.0;
+        }
+
+        final double pieceLength = this.lengths[piece];
+        double low = 0.0;
+        double high = 1.0;
+        double s = pieceLength > 0.0 ? Math.min(remaining / pieceLength, 1.0) : 0.0;
+
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            final double f = this.partialLength(piece, s) - remaining;
+
+            if (Math.abs(f) <= this.tolerance) {
+                break;
+            } else if (f > 0.0) {
+                high = s;
+            } else {
+                low = s;
+            }
+
+            final double next = s - f / CompiledSpline.speed(this.coefficients, this.dimension, this.order, piece, s);
+
+            s = next > low && next < high ? next : 0.5 * (low + high);
+        }
+
+        return (piece + s) / pieces;
+    }
+
+    /**
+     * Takes an immutable snapshot of the spline.
+     *
+     * @return the compiled spline.
+     * @throws IllegalStateException if there are not enough control points.
+     * @since 26.10.18
+     */
+    public CompiledSpline compile() {
+        this.update();
+
+        final int pieces = this.pieceCount();
+
+        return new CompiledSpline(
+                this.dimension, this.order, pieces, this.piecesPerSegment,
+                Arrays.copyOf(this.coefficients, pieces * this.dimension * this.order));
+    }
+
+    private int segmentCount(final int points) {
+        if (points < this.minPoints) {
+            return 0;
+        }
+
+        return this.kind == Kind.BSPLINE ? points - this.order + 1 : points - 1;
+    }
+
+    private int segmentSize() {
+        return this.piecesPerSegment * this.dimension * this.order;
+    }
+
+    /**
+     * Changes the number of segments, growing the per-segment arrays if
+     * needed. Data of the segments that remain is kept.
+     */
+    private void resize(final int segments) {
+        if (this.dirty.length < segments) {
+            final int capacity = Math.max(2 * this.dirty.length, Math.max(segments, DEFAULT_CAPACITY));
+
+            this.coefficients = Arrays.copyOf(this.coefficients, capacity * this.segmentSize());
+            this.lengths = Arrays.copyOf(this.lengths, capacity * this.piecesPerSegment);
+            this.lengthTree = new double[capacity * this.piecesPerSegment + 1];
+            this.dirty = Arrays.copyOf(this.dirty, capacity);
+            this.dirtySegments = Arrays.copyOf(this.dirtySegments, capacity);
+        }
+
+        this.segments = segments;
+    }
+
+    private void moveSegments(final int from, final int to, final int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        final int pps = this.piecesPerSegment;
+
+        System.arraycopy(this.coefficients, from * this.segmentSize(), this.coefficients, to * this.segmentSize(), count * this.segmentSize());
+        System.arraycopy(this.lengths, from * pps, this.lengths, to * pps, count * pps);
+    }
+
+    /**
+     * Marks the segments [from, to] for refitting. Their lengths are removed
+     * from the total until they are refitted.
+     */
+    private void invalidate(final int from, final int to) {
+        final int first = Math.max(from, 0);
+        final int last = Math.min(to, this.segments - 1);
+
+        for (int segment = first; segment <= last; segment++) {
+            if (!this.dirty[segment]) {
+                this.dirty[segment] = true;
+                this.dirtySegments[this.dirtyCount++] = segment;
+            }
+        }
+    }
+
+    /**
+     * Brings the spline up to date before it is evaluated.
+     */
+    private void update() {
+        if (this.segments == 0) {
+            throw new IllegalStateException("Spline requires at least " + this.minPoints + " points!");
+        }
+
+        this.refit();
+    }
+
+    /**
+     * Refits every invalidated segment and updates the lengths of its pieces.
+     */
+    private void refit() {
+        final int dim = this.dimension;
+        final int pps = this.piecesPerSegment;
+
+        for (int i = 0; i < this.dirtyCount; i++) {
+            final int segment = this.dirtySegments[i];
+
+            switch (this.kind) {
+                case BSPLINE:
+                    CompiledSpline.fit(this.basis, this.points, segment * dim, dim, dim, this.coefficients, segment * this.segmentSize());
+                    break;
+                case TCB:
+                    PrimitiveSplines.tcbControlPoints(
+                            this.tension, this.continuity, this.bias,
+                            this.points, 0, dim, this.size, dim, segment, this.control, 0);
+                    CompiledSpline.fitSegment(this.control, dim, this.coefficients, segment * this.segmentSize());
+                    break;
+                default:
+                    PrimitiveSplines.besselOverhauserControlPoints(this.points, 0, dim, this.size, dim, segment, this.control, 0);
+                    CompiledSpline.fitSegment(this.control, dim, this.coefficients, segment * this.segmentSize());
+                    break;
+            }
+
+            for (int piece = segment * pps; piece < (segment + 1) * pps; piece++) {
+                final double length = this.partialLength(piece, 1.0);
+
+                this.addLength(piece, length - this.lengths[piece]);
+                this.lengths[piece] = length;
+            }
+
+            this.dirty[segment] = false;
+        }
+
+        this.dirtyCount = 0;
+    }
+
+    private double partialLength(final int piece, final double s) {
+        return ArcLengthTable.partialLength(this.coefficients, this.dimension, this.order, piece, s, this.tolerance);
+    }
+
+    /**
+     * Rebuilds the Fenwick tree over the piece lengths in linear time. Pieces
+     * of invalidated segments count as 0 until they are refitted.
+     */
+    private void rebuildLengthTree() {
+        final int pieces = this.pieceCount();
+        final double[] tree = this.lengthTree;
+
+        for (int i = 0; i < this.dirtyCount; i++) {
+            final int segment = this.dirtySegments[i];
+
+            Arrays.fill(this.lengths, segment * this.piecesPerSegment, (segment + 1) * this.piecesPerSegment, 0.0);
+        }
+
+        System.arraycopy(this.lengths, 0, tree, 1, pieces);
+
+        for (int i = 1; i <= pieces; i++) {
+            final int parent = i + (i & -i);
+
+            if (parent <= pieces) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void addLength(final int piece, final double delta) {
+        final int pieces = this.pieceCount();
+
+        for (int i = piece + 1; i <= pieces; i += i & -i) {
+            this.lengthTree[i] += delta;
+        }
+    }
+
+    /**
+     * Sums the lengths of the first count pieces.
+     */
+    private double prefixLength(final int count) {
+        double sum = 0.0;
+
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += this.lengthTree[i];
+        }
+
+        return sum;
+    }
+}
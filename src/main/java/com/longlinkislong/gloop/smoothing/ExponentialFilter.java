@@ -0,0 +1,72 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * An exponential moving average. Each sample moves the output toward the input
+ * by 1 - exp(-dt / timeConstant), which keeps the amount of smoothing the same
+ * regardless of the sample rate.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class ExponentialFilter implements SignalFilter {
+
+    private final double timeConstant;
+    private final double[] value;
+    private final boolean[] primed;
+
+    /**
+     * Constructs a new exponential moving average.
+     *
+     * @param dimension the number of components.
+     * @param timeConstant the time in seconds for the output to cover 63% of
+     * a step in the input.
+     * @since 26.10.18
+     */
+    public ExponentialFilter(final int dimension, final double timeConstant) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (!(timeConstant > 0.0)) {
+            throw new IllegalArgumentException("Time constant must be greater than 0!");
+        }
+
+        this.timeConstant = timeConstant;
+        this.value = new double[dimension];
+        this.primed = new boolean[dimension];
+    }
+
+    @Override
+    public int dimension() {
+        return this.value.length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(this.primed, false);
+    }
+
+    @Override
+    public void reset(final int component) {
+        this.primed[component] = false;
+    }
+
+    @Override
+    public double filter(final double dt, final int component, final double value) {
+        if (!this.primed[component]) {
+            this.primed[component] = true;
+            this.value[component] = value;
+        } else if (dt > 0.0) {
+            final double alpha = -Math.expm1(-dt / this.timeConstant);
+
+            this.value[component] += alpha * (value - this.value[component]);
+        }
+
+        return this.value[component];
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * Filters many independent channels, such as the replicated positions of
+ * every networked entity, through a single {@link SignalFilter}. Channel c
+ * occupies components [c * channelDimension, (c + 1) * channelDimension) of
+ * the filter, so the state of every channel lives in the filter's flat
+ * primitive arrays. Channels may be updated all at once with a shared time
+ * step, or individually with timestamps when their samples arrive at
+ * different times.
+ *
+ * <p>
+ * A FilterBank is not thread-safe.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class FilterBank {
+
+    private final SignalFilter filter;
+    private final int channelDimension;
+    private final int channelCount;
+    private final double[] lastTime;
+
+    /**
+     * Constructs a new filter bank.
+     *
+     * @param filter the filter that holds the state of every channel.
+     * @param channelDimension the number of components per channel.
+     * @since 26.10.18
+     */
+    public FilterBank(final SignalFilter filter, final int channelDimension) {
+        if (channelDimension < 1) {
+            throw new IllegalArgumentException("Channel dimension must be at least 1!");
+        } else if (filter.dimension() % channelDimension != 0) {
+            throw new IllegalArgumentException("Filter dimension must be a multiple of the channel dimension!");
+        }
+
+        this.filter = filter;
+        this.channelDimension = channelDimension;
+        this.channelCount = filter.dimension() / channelDimension;
+        this.lastTime = new double[this.channelCount];
+
+        Arrays.fill(this.lastTime, Double.NaN);
+    }
+
+    /**
+     * Retrieves the number of channels.
+     *
+     * @return the channel count.
+     * @since 26.10.18
+     */
+    public int channelCount() {
+        return this.channelCount;
+    }
+
+    /**
+     * Retrieves the number of components per channel.
+     *
+     * @return the channel dimension.
+     * @since 26.10.18
+     */
+    public int channelDimension() {
+        return this.channelDimension;
+    }
+
+    /**
+     * Forgets the state of every channel.
+     *
+     * @since 26.10.18
+     */
+    public void reset() {
+        this.filter.reset();
+        Arrays.fill(this.lastTime, Double.NaN);
+    }
+
+    /**
+     * Forgets the state of a single channel. Its next sample passes through
+     * unchanged.
+     *
+     * @param channel the channel index.
+     * @since 26.10.18
+     */
+    public void reset(final int channel) {
+        final int first = channel * this.channelDimension;
+
+        for (int j = 0; j < this.channelDimension; j++) {
+            this.filter.reset(first + j);
+        }
+
+        this.lastTime[channel] = Double.NaN;
+    }
+
+    /**
+     * Filters a sample of every channel. Samples are read and written with
+     * component j of channel c at offset + c * stride + j. The timestamp of
+     * every channel that has one moves forward by dt, so timestamped updates
+     * may follow. A channel that never received a timestamped sample still
+     * has no timestamp afterwards, and its next timestamped sample is
+     * filtered with a time step of 0.
+     *
+     * @param dt the time since the previous samples in seconds.
+     * @param in the raw samples.
+     * @param inOffset the offset of the first raw sample.
+     * @param inStride the distance between the samples of two consecutive
+     * channels.
+     * @param out the array to write the filtered samples into. May be in.
+     * @param outOffset the offset of the first filtered sample.
+     * @param outStride the distance between the filtered samples of two
+     * consecutive channels.
+     * @since 26.10.18
+     */
+    public void filter(
+            final double dt,
+            final double[] in, final int inOffset, final int inStride,
+            final double[] out, final int outOffset, final int outStride) {
+
+        final int dim = this.channelDimension;
+
+        for (int c = 0; c < this.channelCount; c++) {
+            final int first = c * dim;
+            final int src = inOffset + c * inStride;
+            final int dst = outOffset + c * outStride;
+
+            for (int j = 0; j < dim; j++) {
+                out[dst + j] = this.filter.filter(dt, first + j, in[src + j]);
+            }
+
+            this.lastTime[c] += dt;
+        }
+    }
+
+    /**
+     * Filters a timestamped sample of a single channel. The time step is the
+     * time since the channel's previous sample; the first sample of a channel
+     * passes through unchanged.
+     *
+     * @param time the time of the sample in seconds.
+     * @param channel the channel index.
+     * @param in the raw sample.
+     * @param inOffset the offset of the raw sample.
+     * @param out the array to write the filtered sample into. May be in.
+     * @param outOffset the offset to write the filtered sample at.
+     * @since 26.10.18
+     */
+    public void update(
+            final double time, final int channel,
+            final double[] in, final int inOffset,
+            final double[] out, final int outOffset) {
+
+        final double previous = this.lastTime[channel];
+        final double dt = Double.isNaN(previous) ? 0.0 : time - previous;
+        final int first = channel * this.channelDimension;
+
+        for (int j = 0; j < this.channelDimension; j++) {
+            out[outOffset + j] = this.filter.filter(dt, first + j, in[inOffset + j]);
+        }
+
+        this.lastTime[channel] = time;
+    }
+
+    /**
+     * Filters timestamped samples of a subset of the channels.
+     *
+     * @param time the time of the samples in seconds.
+     * @param channels the indices of the channels to update.
+     * @param channelOffset the offset of the first channel index.
+     * @param count the number of channels to update.
+     * @param in the raw samples, one per listed channel.
+     * @param inOffset the offset of the first raw sample.
+     * @param inStride the distance between two consecutive raw samples.
+     * @param out the array to write the filtered samples into. May be in.
+     * @param outOffset the offset of the first filtered sample.
+     * @param outStride the distance between two consecutive filtered samples.
+     * @since 26.10.18
+     */
+    public void update(
+            final double time,
+            final int[] channels, final int channelOffset, final int count,
+            final double[] in, final int inOffset, final int inStride,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < count; i++) {
+            this.update(time, channels[channelOffset + i], in, inOffset + i * inStride, out, outOffset + i * outStride);
+        }
+    }
+}
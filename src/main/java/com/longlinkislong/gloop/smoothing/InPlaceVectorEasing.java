@@ -0,0 +1,79 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVec;
+import com.longlinkislong.gloop.GLVecD;
+import com.longlinkislong.gloop.GLVecF;
+
+/**
+ * A functional interface that represents an easing function from one vector to
+ * another that writes its result into a caller owned vector instead of
+ * allocating a new one.
+ *
+ * @author zmichaels
+ * @param <T> the type of vector.
+ * @since 26.10.18
+ */
+@FunctionalInterface
+public interface InPlaceVectorEasing<T extends GLVec> {
+
+    /**
+     * Eases from start to (start+delta) in the specified timeframe.
+     *
+     * @param time the current time.
+     * @param start the starting value.
+     * @param delta the change in value between the start and the end.
+     * @param duration the time frame.
+     * @param out the vector to write the interpolated value into. May be start
+     * or delta.
+     * @return the destination vector.
+     * @since 26.10.18
+     */
+    T ease(double time, T start, T delta, double duration, T out);
+
+    /**
+     * Lifts a scalar easing function to vectors by easing every component
+     * independently.
+     *
+     * @param <T> the type of vector.
+     * @param easing the scalar easing function.
+     * @return the vector easing function.
+     * @since 26.10.18
+     */
+    static <T extends GLVecD> InPlaceVectorEasing<T> componentWise(final ScalarEasing easing) {
+        return (time, start, delta, duration, out) -> {
+            final int size = out.size();
+
+            for (int j = 0; j < size; j++) {
+                out.set(j, easing.ease(time, start.get(j), delta.get(j), duration));
+            }
+
+            return out;
+        };
+    }
+
+    /**
+     * Lifts a single precision scalar easing function to vectors by easing
+     * every component independently.
+     *
+     * @param <T> the type of vector.
+     * @param easing the scalar easing function.
+     * @return the vector easing function.
+     * @since 26.10.18
+     */
+    static <T extends GLVecF> InPlaceVectorEasing<T> componentWiseF(final ScalarEasingF easing) {
+        return (time, start, delta, duration, out) -> {
+            final int size = out.size();
+
+            for (int j = 0; j < size; j++) {
+                out.set(j, easing.ease((float) time, start.get(j), delta.get(j), (float) duration));
+            }
+
+            return out;
+        };
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * A track of keyframes at arbitrary, strictly increasing times interpolated
+ * with Kochanek-Bartels (TCB) Hermite curves. Unlike
+ * {@link Splines#genTCBSpline(double, double, double)}, which assumes evenly
+ * spaced points, the tangents at each key are scaled by the lengths of the two
+ * neighboring intervals so the speed stays continuous across keys that are
+ * unevenly spaced in time. The tangents are computed once when the track is
+ * constructed.
+ *
+ * <p>
+ * Segment lookup is a binary search over the key times. Playback that moves
+ * forward in small steps can pass the segment of the previous lookup as a hint
+ * (see {@link #eval(double, int, double[], int)} and {@link Cursor}), which
+ * makes the lookup O(1) amortized. KeyframeTracks are immutable and may be
+ * shared between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class KeyframeTrack {
+
+    private final int dimension;
+    private final int keyCount;
+    private final double[] times;
+    private final double[] values;
+    // outgoing[i] starts segment i, incoming[i] ends segment i - 1; both per unit of local time
+    private final double[] outgoing;
+    private final double[] incoming;
+
+    /**
+     * Constructs a TCB keyframe track.
+     *
+     * @param times the strictly increasing key times.
+     * @param values the key values; key i occupies values[i * dimension] to
+     * values[(i + 1) * dimension - 1].
+     * @param dimension the number of components per key.
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @since 26.10.18
+     */
+    public KeyframeTrack(
+            final double[] times, final double[] values, final int dimension,
+            final double tension, final double continuity, final double bias) {
+
+        final int n = times.length;
+
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (n < 2) {
+            throw new IllegalArgumentException("Keyframe track requires at least 2 keys!");
+        } else if (values.length < n * dimension) {
+            throw new IllegalArgumentException("Expected " + (n * dimension) + " values!");
+        }
+
+        for (int i = 1; i < n; i++) {
+            if (!(times[i] > times[i - 1])) {
+                throw new IllegalArgumentException("Key times must be strictly increasing!");
+            }
+        }
+
+        this.dimension = dimension;
+        this.keyCount = n;
+        this.times = times.clone();
+        this.values = Arrays.copyOf(values, n * dimension);
+        this.outgoing = new double[n * dimension];
+        this.incoming = new double[n * dimension];
+
+        final double outPrevious = (1.0 - tension) * (1.0 + continuity) * (1.0 + bias) * 0.5;
+        final double outNext = (1.0 - tension) * (1.0 - continuity) * (1.0 - bias) * 0.5;
+        final double inPrevious = (1.0 - tension) * (1.0 - continuity) * (1.0 + bias) * 0.5;
+        final double inNext = (1.0 - tension) * (1.0 + continuity) * (1.0 - bias) * 0.5;
+
+        for (int i = 0; i < n; i++) {
+            final int previous = Math.max(i - 1, 0);
+            final int next = Math.min(i + 1, n - 1);
+            final double before = i > 0 ? this.times[i] - this.times[i - 1] : 0.0;
+            final double after = i < n - 1 ? this.times[i + 1] - this.times[i] : 0.0;
+            // each tangent is measured over the segment it belongs to, weighted by the relative interval lengths
+            final double outScale = i > 0 && i < n - 1 ? 2.0 * after / (before + after) : 1.0;
+            final double inScale = i > 0 && i < n - 1 ? 2.0 * before / (before + after) : 1.0;
+
+            for (int j = 0; j < dimension; j++) {
+                final double p = this.values[i * dimension + j];
+                final double dPrevious = p - this.values[previous * dimension + j];
+                final double dNext = this.values[next * dimension + j] - p;
+
+                this.outgoing[i * dimension + j] = outScale * (outPrevious * dPrevious + outNext * dNext);
+                this.incoming[i * dimension + j] = inScale * (inPrevious * dPrevious + inNext * dNext);
+            }
+        }
+    }
+
+    /**
+     * Constructs a Catmull-Rom keyframe track. This is a TCB track with all
+     * parameters set to 0.
+     *
+     * @param times the strictly increasing key times.
+     * @param values the key values.
+     * @param dimension the number of components per key.
+     * @return the keyframe track.
+     * @since 26.10.18
+     */
+    public static KeyframeTrack catmullRom(final double[] times, final double[] values, final int dimension) {
+        return new KeyframeTrack(times, values, dimension, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Retrieves the number of components per key.
+     *
+     * @return the dimension.
+     * @since 26.10.18
+     */
+    public int dimension() {
+        return this.dimension;
+    }
+
+    /**
+     * Retrieves the number of keys.
+     *
+     * @return the key count.
+     * @since 26.10.18
+     */
+    public int keyCount() {
+        return this.keyCount;
+    }
+
+    /**
+     * Retrieves the time of a key.
+     *
+     * @param key the key index.
+     * @return the key time.
+     * @since 26.10.18
+     */
+    public double time(final int key) {
+        return this.times[key];
+    }
+
+    /**
+     * Retrieves the time of the first key.
+     *
+     * @return the start time.
+     * @since 26.10.18
+     */
+    public double startTime() {
+        return this.times[0];
+    }
+
+    /**
+     * Retrieves the time of the last key.
+     *
+     * @return the end time.
+     * @since 26.10.18
+     */
+    public double endTime() {
+        return this.times[this.keyCount - 1];
+    }
+
+    /**
+     * Finds the segment that contains a time with a binary search. Segment i
+     * spans keys i and i + 1; times outside of the track select the first or
+     * last segment.
+     *
+     * @param time the time.
+     * @return the segment index.
+     * @since 26.10.18
+     */
+    public int findSegment(final double time) {
+        int low = 0;
+        int high = this.keyCount - 1;
+
+        // times[low] <= time < times[high]
+        while (high - low > 1) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.times[mid] <= time) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the segment that contains a time, starting from the segment of a
+     * previous lookup. The hint and the segment after it are checked before
+     * falling back to a binary search.
+     *
+     * @param time the time.
+     * @param hint a previously returned segment index.
+     * @return the segment index.
+     * @since 26.10.18
+     */
+    public int findSegment(final double time, final int hint) {
+        final int last = this.keyCount - 2;
+
+        if (hint >= 0 && hint <= last) {
+            if (time >= this.times[hint] || hint == 0) {
+                if (time < this.times[hint + 1] || hint == last) {
+                    return hint;
+                } else if (hint + 1 == last || time < this.times[hint + 2]) {
+                    return hint + 1;
+                }
+            }
+        }
+
+        return this.findSegment(time);
+    }
+
+    /**
+     * Evaluates the track. Times outside of the track are clamped to the
+     * first or last key.
+     *
+     * @param time the time.
+     * @param out the array to write the value into.
+     * @param outOffset the offset to write the value at.
+     * @since 26.10.18
+     */
+    public void eval(final double time, final double[] out, final int outOffset) {
+        this.evalSegment(this.findSegment(time), time, out, outOffset);
+    }
+
+    /**
+     * Evaluates the track using the segment of a previous lookup as a hint.
+     * Callers that keep one int per playback can store the returned segment
+     * and pass it back on the next frame.
+     *
+     * @param time the time.
+     * @param segmentHint the segment returned by the previous call, or any
+     * value if there was none.
+     * @param out the array to write the value into.
+     * @param outOffset the offset to write the value at.
+     * @return the segment that contains the time.
+     * @since 26.10.18
+     */
+    public int eval(final double time, final int segmentHint, final double[] out, final int outOffset) {
+        final int segment = this.findSegment(time, segmentHint);
+
+        this.evalSegment(segment, time, out, outOffset);
+
+        return segment;
+    }
+
+    /**
+     * Constructs a cursor that remembers the segment of its last lookup.
+     *
+     * @return the new cursor.
+     * @since 26.10.18
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void evalSegment(final int segment, final double time, final double[] out, final int outOffset) {
+        final int dim = this.dimension;
+        final double t0 = this.times[segment];
+        final double t1 = this.times[segment + 1];
+        final double s = Math.min(Math.max((time - t0) / (t1 - t0), 0.0), 1.0);
+        final double s2 = s * s;
+        final double s3 = s2 * s;
+        final double h00 = 2.0 * s3 - 3.0 * s2 + 1.0;
+        final double h10 = s3 - 2.0 * s2 + s;
+        final double h01 = -2.0 * s3 + 3.0 * s2;
+        final double h11 = s3 - s2;
+        final int a = segment * dim;
+        final int b = a + dim;
+
+        for (int j = 0; j < dim; j++) {
+            out[outOffset + j] = h00 * this.values[a + j]
+                    + h10 * this.outgoing[a + j]
+                    + h01 * this.values[b + j]
+                    + h11 * this.incoming[b + j];
+        }
+    }
+
+    /**
+     * A playback position on the track. Sequential playback, forwards in
+     * steps shorter than a segment, finds its segment in O(1). A cursor must
+     * not be shared between threads.
+     *
+     * @since 26.10.18
+     */
+    public final class Cursor {
+
+        private int segment;
+
+        private Cursor() {
+        }
+
+        /**
+         * Evaluates the track at a time and remembers its segment.
+         *
+         * @param time the time.
+         * @param out the array to write the value into.
+         * @param outOffset the offset to write the value at.
+         * @since 26.10.18
+         */
+        public void eval(final double time, final double[] out, final int outOffset) {
+            this.segment = KeyframeTrack.this.eval(time, this.segment, out, outOffset);
+        }
+
+        /**
+         * Retrieves the segment of the last lookup.
+         *
+         * @return the segment index.
+         * @since 26.10.18
+         */
+        public int segment() {
+            return this.segment;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, non-decreasing sequence of knots for a BSpline of a given
+ * order. The order is the degree of the polynomial plus one; it matches the
+ * degrees parameter of {@link Splines#getBSpline(int)}. A knot vector for n
+ * control points holds n + order knots.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class KnotVector {
+
+    private final int order;
+    private final double[] knots;
+
+    private KnotVector(final int order, final double[] knots) {
+        this.order = order;
+        this.knots = knots;
+    }
+
+    /**
+     * Constructs an open uniform knot vector. The knots are the integers 0 to
+     * count + order - 1, so the spline does not pass through the first and
+     * last control points. This is the knot vector used by
+     * {@link Splines#getBSpline(int)}.
+     *
+     * @param order the order of the BSpline.
+     * @param count the number of control points.
+     * @return the knot vector.
+     * @since 26.10.18
+     */
+    public static KnotVector uniform(final int order, final int count) {
+        checkOrder(order, count);
+
+        final double[] knots = new double[count + order];
+
+        for (int i = 0; i < knots.length; i++) {
+            knots[i] = i;
+        }
+
+        return new KnotVector(order, knots);
+    }
+
+    /**
+     * Constructs a clamped uniform knot vector. The first and last knots are
+     * repeated order times so the spline passes through the first and last
+     * control points.
+     *
+     * @param order the order of the BSpline.
+     * @param count the number of control points.
+     * @return the knot vector.
+     * @since 26.10.18
+     */
+    public static KnotVector clamped(final int order, final int count) {
+        checkOrder(order, count);
+
+        final double[] knots = new double[count + order];
+        final double end = count - order + 1;
+
+        for (int i = 0; i < knots.length; i++) {
+            knots[i] = Math.min(Math.max(i - order + 1, 0), end);
+        }
+
+        return new KnotVector(order, knots);
+    }
+
+    /**
+     * Constructs a knot vector from explicit knot values. The knots may be
+     * non-uniform and may be clamped by repeating the end knots.
+     *
+     * @param order the order of the BSpline.
+     * @param knots the knot values. These are copied.
+     * @return the knot vector.
+     * @throws IllegalArgumentException if the knots are decreasing or do not
+     * describe at least order control points.
+     * @since 26.10.18
+     */
+    public static KnotVector of(final int order, final double... knots) {
+        checkOrder(order, knots.length - order);
+
+        for (int i = 1; i < knots.length; i++) {
+            if (knots[i] < knots[i - 1]) {
+                throw new IllegalArgumentException("Knots must be non-decreasing!");
+            }
+        }
+
+        return new KnotVector(order, Arrays.copyOf(knots, knots.length));
+    }
+
+    private static void checkOrder(final int order, final int count) {
+        if (order < 2) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal order = 2!");
+        } else if (count < order) {
+            throw new IllegalArgumentException("BSpline requires at least as many control points as its order!");
+        }
+    }
+
+    /**
+     * Retrieves the order of the BSpline.
+     *
+     * @return the order.
+     * @since 26.10.18
+     */
+    public int order() {
+        return this.order;
+    }
+
+    /**
+     * Retrieves the number of control points the knot vector describes.
+     *
+     * @return the number of control points.
+     * @since 26.10.18
+     */
+    public int controlPointCount() {
+        return this.knots.length - this.order;
+    }
+
+    /**
+     * Retrieves a knot value.
+     *
+     * @param index the index of the knot.
+     * @return the knot value.
+     * @since 26.10.18
+     */
+    public double knot(final int index) {
+        return this.knots[index];
+    }
+
+    /**
+     * Retrieves the first parameter value the BSpline is defined on.
+     *
+     * @return the start of the domain.
+     * @since 26.10.18
+     */
+    public double domainStart() {
+        return this.knots[this.order - 1];
+    }
+
+    /**
+     * Retrieves the last parameter value the BSpline is defined on.
+     *
+     * @return the end of the domain.
+     * @since 26.10.18
+     */
+    public double domainEnd() {
+        return this.knots[this.controlPointCount()];
+    }
+
+    /**
+     * Finds the knot span containing u by binary search. The span index i
+     * satisfies knot(i) &lt;= u &lt; knot(i + 1); values outside of the domain
+     * are clamped to the first or last span.
+     *
+     * @param u the parameter value.
+     * @return the span index.
+     * @since 26.10.18
+     */
+    public int findSpan(final double u) {
+        final int n = this.controlPointCount() - 1;
+
+        if (u >= this.knots[n + 1]) {
+            // the last non-empty span; ends with repeated knots are skipped
+            int span = n;
+
+            while (span > this.order - 1 && this.knots[span] == this.knots[n + 1]) {
+                span--;
+            }
+
+            return span;
+        } else if (u <= this.knots[this.order - 1]) {
+            int span = this.order - 1;
+
+            while (span < n && this.knots[span + 1] <= u) {
+                span++;
+            }
+
+            return span;
+        }
+
+        int low = this.order - 1;
+        int high = n + 1;
+        int mid = (low + high) >>> 1;
+
+        while (u < this.knots[mid] || u >= this.knots[mid + 1]) {
+            if (u < this.knots[mid]) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+
+            mid = (low + high) >>> 1;
+        }
+
+        return mid;
+    }
+
+    /**
+     * Computes the order non-zero basis functions over a knot span with the
+     * iterative Cox-de Boor recurrence. Entry r of the output is the basis
+     * function of control point span - order + 1 + r.
+     *
+     * @param span the span index as returned by {@link #findSpan(double)}.
+     * @param u the parameter value.
+     * @param out the array to write the basis values into.
+     * @param outOffset the offset to write the basis values at.
+     * @param scratch a scratch array with at least 2 * order elements past
+     * the scratch offset.
+     * @param scratchOffset the offset of the scratch region.
+     * @since 26.10.18
+     */
+    public void basis(
+            final int span, final double u,
+            final double[] out, final int outOffset,
+            final double[] scratch, final int scratchOffset) {
+
+        final int left = scratchOffset;
+        final int right = scratchOffset + this.order;
+
+        out[outOffset] = 1.0;
+
+        for (int j = 1; j < this.order; j++) {
+            scratch[left + j] = u - this.knots[span + 1 - j];
+            scratch[right + j] = this.knots[span + j] - u;
+
+            double saved = 0.0;
+
+            for (int r = 0; r < j; r++) {
+                final double denominator = scratch[right + r + 1] + scratch[left + j - r];
+                final double temp = denominator == 0.0 ? 0.0 : out[outOffset + r] / denominator;
+
+                out[outOffset + r] = saved + scratch[right + r + 1] * temp;
+                saved = scratch[left + j - r] * temp;
+            }
+
+            out[outOffset + j] = saved;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * An easing function that has been baked into a table of samples. The table
+ * holds the easing function normalized to ease from 0 to 1 over a duration of
+ * 1, sampled at evenly spaced time steps. Evaluation interpolates between the
+ * two nearest samples and never calls the original easing function. Time
+ * steps outside of the duration are clamped to the start or end value.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class LookupTableEasing implements ScalarEasing {
+
+    /**
+     * The method used to interpolate between two samples.
+     *
+     * @since 26.10.18
+     */
+    public enum Interpolation {
+        /**
+         * Straight line between the two samples.
+         *
+         * @since 26.10.18
+         */
+        LINEAR,
+        /**
+         * Cubic Hermite curve using the slope of the easing function at both
+         * samples.
+         *
+         * @since 26.10.18
+         */
+        CUBIC_HERMITE
+    }
+
+    private static final int MIN_INTERVALS = 8;
+    private static final int MAX_INTERVALS = 1 << 16;
+    private static final int VERIFY_SAMPLES_PER_INTERVAL = 16;
+    private static final double EDGE = 1E-7;
+
+    private final Interpolation interpolation;
+    private final int intervals;
+    private final double first;
+    private final double last;
+    private final double[] values;
+    private final double[] slopes;
+
+    private LookupTableEasing(
+            final Interpolation interpolation, final int intervals,
+            final double first, final double last,
+            final double[] values, final double[] slopes) {
+
+        this.interpolation = interpolation;
+        this.intervals = intervals;
+        this.first = first;
+        this.last = last;
+        this.values = values;
+        this.slopes = slopes;
+    }
+
+    /**
+     * Bakes an easing function into a table with a fixed number of intervals.
+     *
+     * @param easing the easing function to bake.
+     * @param interpolation the interpolation between samples.
+     * @param intervals the number of intervals; the table holds intervals + 1
+     * samples.
+     * @return the baked easing function.
+     * @since 26.10.18
+     */
+    public static LookupTableEasing bake(final ScalarEasing easing, final Interpolation interpolation, final int intervals) {
+        if (intervals < 1) {
+            throw new IllegalArgumentException("At least 1 interval is required!");
+        }
+
+        final double[] values = new double[intervals + 1];
+        final double step = 1.0 / intervals;
+
+        for (int i = 1; i < intervals; i++) {
+            values[i] = easing.ease(i * step, 0.0, 1.0, 1.0);
+        }
+
+        // the end samples are one-sided limits so easing functions that snap to
+        // their end values (such as the exponential easings) do not skew the
+        // first and last intervals; the exact end values are kept separately
+        final double e0 = easing.ease(EDGE, 0.0, 1.0, 1.0);
+        final double e1 = easing.ease(1.0 - EDGE, 0.0, 1.0, 1.0);
+        final double e0h = easing.ease(EDGE + EDGE, 0.0, 1.0, 1.0);
+        final double e1h = easing.ease(1.0 - EDGE - EDGE, 0.0, 1.0, 1.0);
+
+        values[0] = 2.0 * e0 - e0h;
+        values[intervals] = 2.0 * e1 - e1h;
+
+        final double first = easing.ease(0.0, 0.0, 1.0, 1.0);
+        final double last = easing.ease(1.0, 0.0, 1.0, 1.0);
+
+        if (interpolation == Interpolation.CUBIC_HERMITE) {
+            final double[] slopes = new double[intervals + 1];
+            final double h = step * 1E-2;
+
+            // slopes are stored pre-multiplied by the interval width
+            for (int i = 1; i < intervals; i++) {
+                final double t = i * step;
+
+                slopes[i] = (easing.ease(t + h, 0.0, 1.0, 1.0) - easing.ease(t - h, 0.0, 1.0, 1.0)) / (2.0 * h) * step;
+            }
+
+            slopes[0] = (-3.0 * e0 + 4.0 * easing.ease(EDGE + h, 0.0, 1.0, 1.0) - easing.ease(EDGE + 2.0 * h, 0.0, 1.0, 1.0)) / (2.0 * h) * step;
+            slopes[intervals] = (3.0 * e1 - 4.0 * easing.ease(1.0 - EDGE - h, 0.0, 1.0, 1.0) + easing.ease(1.0 - EDGE - 2.0 * h, 0.0, 1.0, 1.0)) / (2.0 * h) * step;
+
+            return new LookupTableEasing(interpolation, intervals, first, last, values, slopes);
+        } else {
+            return new LookupTableEasing(interpolation, intervals, first, last, values, null);
+        }
+    }
+
+    /**
+     * Bakes an easing function into the smallest table whose error does not
+     * exceed the requested max error. The error is checked with
+     * {@link EasingError#measure} at 16 time steps per interval.
+     *
+     * @param easing the easing function to bake.
+     * @param interpolation the interpolation between samples.
+     * @param maxError the largest allowed absolute error of the normalized
+     * easing function.
+     * @return the baked easing function.
+     * @throws IllegalArgumentException if the max error is not positive, or
+     * if it cannot be reached within 65536 intervals. The latter happens for
+     * discontinuous easing functions.
+     * @since 26.10.18
+     */
+    public static LookupTableEasing bakeToError(final ScalarEasing easing, final Interpolation interpolation, final double maxError) {
+        if (!(maxError > 0.0)) {
+            throw new IllegalArgumentException("Max error must be positive!");
+        }
+
+        int low = 0;
+        int high = MIN_INTERVALS;
+        LookupTableEasing best = bake(easing, interpolation, high);
+
+        // double the table until it is accurate enough...
+        while (best.verify(easing).getMaxError() > maxError) {
+            if (high >= MAX_INTERVALS) {
+                throw new IllegalArgumentException("Unable to reach max error " + maxError + " within " + MAX_INTERVALS + " intervals!");
+            }
+
+            low = high;
+            high *= 2;
+            best = bake(easing, interpolation, high);
+        }
+
+        // ...then search for the smallest table between the last two sizes
+        while (high - low > 1) {
+            final int mid = (low + high) >>> 1;
+            final LookupTableEasing candidate = bake(easing, interpolation, mid);
+
+            if (candidate.verify(easing).getMaxError() > maxError) {
+                low = mid;
+            } else {
+                high = mid;
+                best = candidate;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Measures the error of the table against the easing function it was baked
+     * from.
+     *
+     * @param reference the original easing function.
+     * @return the measured error.
+     * @since 26.10.18
+     */
+    public EasingError verify(final ScalarEasing reference) {
+        return EasingError.measure(reference, this, this.intervals * VERIFY_SAMPLES_PER_INTERVAL + 1);
+    }
+
+    /**
+     * Retrieves the number of intervals in the table.
+     *
+     * @return the number of intervals.
+     * @since 26.10.18
+     */
+    public int getIntervals() {
+        return this.intervals;
+    }
+
+    /**
+     * Retrieves the interpolation used between samples.
+     *
+     * @return the interpolation.
+     * @since 26.10.18
+     */
+    public Interpolation getInterpolation() {
+        return this.interpolation;
+    }
+
+    @Override
+    public double ease(final double time, final double start, final double delta, final double duration) {
+        final double x = time / duration * this.intervals;
+
+        if (!(x > 0.0)) {
+            return start + delta * this.first;
+        } else if (x >= this.intervals) {
+            return start + delta * this.last;
+        }
+
+        final int i = Math.min((int) x, this.intervals - 1);
+        final double u = x - i;
+        final double v0 = this.values[i];
+        final double v1 = this.values[i + 1];
+
+        if (this.slopes == null) {
+            return start + delta * (v0 + u * (v1 - v0));
+        } else {
+            final double m0 = this.slopes[i];
+            final double m1 = this.slopes[i + 1];
+            final double u2 = u * u;
+            final double u3 = u2 * u;
+            final double v = (2.0 * u3 - 3.0 * u2 + 1.0) * v0
+                    + (u3 - 2.0 * u2 + u) * m0
+                    + (-2.0 * u3 + 3.0 * u2) * v1
+                    + (u3 - u2) * m1;
+
+            return start + delta * v;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+
+/**
+ * The 1 Euro filter (Casiez, Roussel and Vogel). A first order low-pass filter
+ * whose cutoff frequency rises with the speed of the signal: slow movements
+ * are smoothed heavily to remove jitter while fast movements pass through with
+ * little lag. The speed is itself estimated with a low-pass filter of fixed
+ * cutoff.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class OneEuroFilter implements SignalFilter {
+
+    private final double minCutoff;
+    private final double beta;
+    private final double derivativeCutoff;
+    private final double[] value;
+    private final double[] derivative;
+    private final boolean[] primed;
+
+    /**
+     * Constructs a new 1 Euro filter.
+     *
+     * @param dimension the number of components.
+     * @param minCutoff the cutoff frequency in Hz when the signal is at rest.
+     * Lower values remove more jitter.
+     * @param beta how quickly the cutoff frequency rises with speed. Higher
+     * values reduce lag.
+     * @param derivativeCutoff the cutoff frequency in Hz of the speed
+     * estimate. 1 Hz is a good default.
+     * @since 26.10.18
+     */
+    public OneEuroFilter(final int dimension, final double minCutoff, final double beta, final double derivativeCutoff) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (!(minCutoff > 0.0) || !(derivativeCutoff > 0.0)) {
+            throw new IllegalArgumentException("Cutoff frequencies must be greater than 0!");
+        } else if (!(beta >= 0.0)) {
+            throw new IllegalArgumentException("Beta must not be negative!");
+        }
+
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.derivativeCutoff = derivativeCutoff;
+        this.value = new double[dimension];
+        this.derivative = new double[dimension];
+        this.primed = new boolean[dimension];
+    }
+
+    @Override
+    public int dimension() {
+        return this.value.length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(this.primed, false);
+    }
+
+    @Override
+    public void reset(final int component) {
+        this.primed[component] = false;
+    }
+
+    @Override
+    public double filter(final double dt, final int component, final double value) {
+        if (!this.primed[component]) {
+            this.primed[component] = true;
+            this.value[component] = value;
+            this.derivative[component] = 0.0;
+        } else if (dt > 0.0) {
+            final double previous = this.value[component];
+            final double rawDerivative = (value - previous) / dt;
+            final double derivative = this.derivative[component]
+                    + smoothing(dt, this.derivativeCutoff) * (rawDerivative - this.derivative[component]);
+            final double cutoff = this.minCutoff + this.beta * Math.abs(derivative);
+
+            this.derivative[component] = derivative;
+            this.value[component] = previous + smoothing(dt, cutoff) * (value - previous);
+        }
+
+        return this.value[component];
+    }
+
+    /**
+     * Computes the smoothing factor of a first order low-pass filter:
+     * 1 / (1 + tau / dt) with tau = 1 / (2 pi cutoff)
+     */
+    private static double smoothing(final double dt, final double cutoff) {
+        final double r = 2.0 * Math.PI * cutoff * dt;
+
+        return r / (r + 1.0);
+    }
+}
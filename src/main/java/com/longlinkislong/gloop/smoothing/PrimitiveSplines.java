@@ -0,0 +1,1617 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.log1p;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
+
+/**
+ * Spline functions that operate directly on primitive buffers. Control points
+ * are read from a flat double or float array where component j of point i is
+ * located at {@code offset + i * stride + j}. Results are written into a
+ * caller-provided array of the same type. None of these functions allocate.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class PrimitiveSplines {
+
+    private static final double BEZIER_RESCALE = 0x1p500;
+    private static final double BEZIER_INV_RESCALE = 0x1p-500;
+    private static final double BEZIER_LOG_RESCALE = 500.0 * Math.log(2.0);
+    private static final float BEZIER_RESCALE_F = 0x1p64f;
+    private static final float BEZIER_INV_RESCALE_F = 0x1p-64f;
+    private static final float BEZIER_LOG_RESCALE_F = (float) (64.0 * Math.log(2.0));
+
+    private PrimitiveSplines() {
+    }
+
+    /**
+     * Interpolates a point across the control points using a Bezier curve. The
+     * Bernstein weights are built incrementally from the ratio of consecutive
+     * weights, so the cost is linear in the number of points and there is no
+     * limit on the degree.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bezier(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        final int n = count - 1;
+        // walk from the end with the larger weight so the ratio never exceeds 1
+        final boolean reverse = t > 0.5;
+        final double u = reverse ? 1.0 - t : t;
+        final double ratio = u / (1.0 - u);
+        double weight = 1.0;
+        int rescales = 0;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = 0.0;
+        }
+
+        // weight is C(n, k) * (u / (1 - u))^k; the common (1 - u)^n is applied last
+        for (int k = 0; k <= n; k++) {
+            if (k > 0) {
+                weight *= ratio * (n - k + 1) / k;
+            }
+
+            final int p = offset + (reverse ? n - k : k) * stride;
+
+            for (int j = 0; j < dimension; j++) {
+                out[outOffset + j] += weight * points[p + j];
+            }
+
+            if (weight > BEZIER_RESCALE) {
+                weight *= BEZIER_INV_RESCALE;
+                rescales++;
+
+                for (int j = 0; j < dimension; j++) {
+                    out[outOffset + j] *= BEZIER_INV_RESCALE;
+                }
+            }
+        }
+
+        final double scale = rescales == 0
+                ? pow(1.0 - u, n)
+                : exp(n * log1p(-u) + rescales * BEZIER_LOG_RESCALE);
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] *= scale;
+        }
+    }
+
+    /**
+     * Interpolates a point across the control points using a Bezier curve
+     * evaluated with de Casteljau's algorithm. This repeatedly interpolates
+     * between neighboring points and is the most numerically stable mode, but
+     * its cost is quadratic in the number of points.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least count * dimension elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bezierDeCasteljau(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(points, offset + i * stride, scratch, i * dimension, dimension);
+        }
+
+        for (int level = count - 1; level > 0; level--) {
+            for (int i = 0; i < level * dimension; i++) {
+                scratch[i] += t * (scratch[i + dimension] - scratch[i]);
+            }
+        }
+
+        System.arraycopy(scratch, 0, out, outOffset, dimension);
+    }
+
+    /**
+     * Interpolates a point across a chain of cubic Bezier curves. Every curve
+     * shares its last control point with the first control point of the next,
+     * so 3 * n + 1 points describe n curves; any extra points are ignored. Each
+     * curve covers an equal share of the time step range.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void piecewiseBezier(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        final int curves = (count - 1) / 3;
+        final double x = t * curves;
+        final int curve = min(max((int) x, 0), curves - 1);
+        final double u = x - curve;
+        final double v = 1.0 - u;
+        final double b0 = v * v * v;
+        final double b1 = 3.0 * u * v * v;
+        final double b2 = 3.0 * u * u * v;
+        final double b3 = u * u * u;
+        final int p = offset + 3 * curve * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = b0 * points[p + j]
+                    + b1 * points[p + stride + j]
+                    + b2 * points[p + 2 * stride + j]
+                    + b3 * points[p + 3 * stride + j];
+        }
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline. See
+     * {@link Splines#besselOverhauser(double, java.util.List)}.
+     *
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void besselOverhauser(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        double iT = t * (count - 1.0);
+
+        final int i1 = (int) iT;
+        final int i0 = min(max(i1 - 1, 0), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        besselOverhauserSegment(iT, points, offset, stride, dimension, i0, i1, i2, i3, out, outOffset);
+    }
+
+    /**
+     * Evaluates a uniform BSpline. See {@link Splines#getBSpline(int)}.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least degrees elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bSpline(
+            final int degrees, final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final double u = (degrees - 1.0) + (t * (count - (degrees - 1.0)));
+        // only the basis functions of the control points inside the span are non-zero
+        final int span = min(max((int) u, degrees - 1), count - 1);
+
+        bSplineSpan(degrees, u - span, points, offset + (span - degrees + 1) * stride, stride, dimension, scratch, out, outOffset);
+    }
+
+    /**
+     * Evaluates a TCB spline (Kochanek-Bartels). See
+     * {@link Splines#genTCBSpline(double, double, double)}.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void tcbSpline(
+            final double tension, final double continuity, final double bias, final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        double iT = t * (count - 1.0);
+
+        final int i1 = min((int) iT, count - 1);
+        final int i0 = min(max(0, i1 - 1), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        tcbSegment(tension, continuity, bias, iT, points, offset, stride, dimension, i0, i1, i2, i3, out, outOffset);
+    }
+
+    /**
+     * Evaluates a Bezier curve along with its first and second derivatives
+     * with respect to t. De Casteljau's algorithm is run until three points
+     * remain; their differences give the derivatives.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least count * dimension elements.
+     * @param out the array to write the point, first derivative and second
+     * derivative into; 3 * dimension values.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public static void bezierDerivatives(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final int n = count - 1;
+
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(points, offset + i * stride, scratch, i * dimension, dimension);
+        }
+
+        for (int level = n; level > 2; level--) {
+            for (int i = 0; i < level * dimension; i++) {
+                scratch[i] += t * (scratch[i + dimension] - scratch[i]);
+            }
+        }
+
+        for (int j = 0; j < dimension; j++) {
+            if (n >= 2) {
+                final double q0 = scratch[j];
+                final double q1 = scratch[dimension + j];
+                final double q2 = scratch[2 * dimension + j];
+                final double r0 = q0 + t * (q1 - q0);
+                final double r1 = q1 + t * (q2 - q1);
+
+                out[outOffset + j] = r0 + t * (r1 - r0);
+                out[outOffset + dimension + j] = n * (r1 - r0);
+                out[outOffset + 2 * dimension + j] = n * (n - 1) * (q2 - 2.0 * q1 + q0);
+            } else if (n == 1) {
+                final double q0 = scratch[j];
+                final double q1 = scratch[dimension + j];
+
+                out[outOffset + j] = q0 + t * (q1 - q0);
+                out[outOffset + dimension + j] = q1 - q0;
+                out[outOffset + 2 * dimension + j] = 0.0;
+            } else {
+                out[outOffset + j] = scratch[j];
+                out[outOffset + dimension + j] = 0.0;
+                out[outOffset + 2 * dimension + j] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Evaluates a chain of cubic Bezier curves along with its first and second
+     * derivatives with respect to t. See
+     * {@link #piecewiseBezier(double, double[], int, int, int, int, double[], int)}.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point, first derivative and second
+     * derivative into; 3 * dimension values.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public static void piecewiseBezierDerivatives(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        final int curves = (count - 1) / 3;
+        final double x = t * curves;
+        final int curve = min(max((int) x, 0), curves - 1);
+        final double u = x - curve;
+        final double v = 1.0 - u;
+        // du / dt = curves
+        final double k1 = curves;
+        final double k2 = (double) curves * curves;
+        final double b0 = v * v * v;
+        final double b1 = 3.0 * u * v * v;
+        final double b2 = 3.0 * u * u * v;
+        final double b3 = u * u * u;
+        final double d0 = k1 * -3.0 * v * v;
+        final double d1 = k1 * (3.0 * v * v - 6.0 * u * v);
+        final double d2 = k1 * (6.0 * u * v - 3.0 * u * u);
+        final double d3 = k1 * 3.0 * u * u;
+        final double e0 = k2 * 6.0 * v;
+        final double e1 = k2 * (6.0 * u - 12.0 * v);
+        final double e2 = k2 * (6.0 * v - 12.0 * u);
+        final double e3 = k2 * 6.0 * u;
+        final int p = offset + 3 * curve * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            final double p0 = points[p + j];
+            final double p1 = points[p + stride + j];
+            final double p2 = points[p + 2 * stride + j];
+            final double p3 = points[p + 3 * stride + j];
+
+            out[outOffset + j] = b0 * p0 + b1 * p1 + b2 * p2 + b3 * p3;
+            out[outOffset + dimension + j] = d0 * p0 + d1 * p1 + d2 * p2 + d3 * p3;
+            out[outOffset + 2 * dimension + j] = e0 * p0 + e1 * p1 + e2 * p2 + e3 * p3;
+        }
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline along with its first and second
+     * derivatives with respect to t. See
+     * {@link #besselOverhauser(double, double[], int, int, int, int, double[], int)}.
+     *
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point, first derivative and second
+     * derivative into; 3 * dimension values.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public static void besselOverhauserDerivatives(
+            final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        double iT = t * (count - 1.0);
+
+        final int i1 = (int) iT;
+        final int i0 = min(max(i1 - 1, 0), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        final double d10 = distance(points, offset, stride, dimension, i0, i1);
+        final double d21 = distance(points, offset, stride, dimension, i1, i2);
+        final double d32 = distance(points, offset, stride, dimension, i2, i3);
+        final double in1 = besselIn(d10, d21) / 3.0;
+        final double out1 = besselOut(d10, d21) / 3.0;
+        final double in2 = besselIn(d21, d32) / 3.0;
+        final double out2 = besselOut(d21, d32) / 3.0;
+
+        blendDerivatives(iT, count - 1.0,
+                in1 * d10, out1 * d10, in1 * d21, out1 * d21,
+                in2 * d21, out2 * d21, in2 * d32, out2 * d32,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Evaluates a uniform BSpline along with its first and second derivatives
+     * with respect to t. The derivatives come from the derivative basis
+     * functions computed alongside the basis in
+     * {@link BSplines#uniformBasisDerivatives(int, double, int, double[], int)}.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least 3 * degrees elements.
+     * @param out the array to write the point, first derivative and second
+     * derivative into; 3 * dimension values.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public static void bSplineDerivatives(
+            final int degrees, final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        final double u = (degrees - 1.0) + (t * (count - (degrees - 1.0)));
+        final int span = min(max((int) u, degrees - 1), count - 1);
+        final int first = offset + (span - degrees + 1) * stride;
+        // du / dt
+        final double k1 = count - (degrees - 1.0);
+        final double k2 = k1 * k1;
+
+        BSplines.uniformBasisDerivatives(degrees, u - span, 2, scratch, 0);
+
+        for (int j = 0; j < dimension; j++) {
+            double v = 0.0;
+            double d1 = 0.0;
+            double d2 = 0.0;
+
+            for (int r = 0; r < degrees; r++) {
+                final double p = points[first + r * stride + j];
+
+                v += scratch[r] * p;
+                d1 += scratch[degrees + r] * p;
+                d2 += scratch[2 * degrees + r] * p;
+            }
+
+            out[outOffset + j] = v;
+            out[outOffset + dimension + j] = k1 * d1;
+            out[outOffset + 2 * dimension + j] = k2 * d2;
+        }
+    }
+
+    /**
+     * Evaluates a TCB spline along with its first and second derivatives with
+     * respect to t. See
+     * {@link #tcbSpline(double, double, double, double, double[], int, int, int, int, double[], int)}.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point, first derivative and second
+     * derivative into; 3 * dimension values.
+     * @param outOffset the offset to write the values at.
+     * @since 26.10.18
+     */
+    public static void tcbSplineDerivatives(
+            final double tension, final double continuity, final double bias, final double t,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset) {
+
+        double iT = t * (count - 1.0);
+
+        final int i1 = min((int) iT, count - 1);
+        final int i0 = min(max(0, i1 - 1), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        final double a = (1.0 - tension) * (1.0 + bias) * (1.0 + continuity) / 6.0;
+        final double b = (1.0 - tension) * (1.0 - bias) * (1.0 - continuity) / 6.0;
+        final double c = (1.0 - tension) * (1.0 + bias) * (1.0 - continuity) / 6.0;
+        final double d = (1.0 - tension) * (1.0 - bias) * (1.0 + continuity) / 6.0;
+
+        blendDerivatives(iT, count - 1.0,
+                a, b, a, b,
+                c, d, c, d,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Evaluates a Bezier curve at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bezier(
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bezier(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a Bezier curve with de Casteljau's algorithm at every time
+     * step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least count * dimension elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bezierDeCasteljau(
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bezierDeCasteljau(ts[tOffset + i], points, offset, stride, count, dimension, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a chain of cubic Bezier curves at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void piecewiseBezier(
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            piecewiseBezier(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void besselOverhauser(
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            besselOverhauser(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a uniform BSpline at every time step.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least degrees elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bSpline(
+            final int degrees,
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bSpline(degrees, ts[tOffset + i], points, offset, stride, count, dimension, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a TCB spline at every time step.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void tcbSpline(
+            final double tension, final double continuity, final double bias,
+            final double[] ts, final int tOffset, final int tCount,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final double[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            tcbSpline(tension, continuity, bias, ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Interpolates a point across the control points using a Bezier curve. The
+     * Bernstein weights are built incrementally from the ratio of consecutive
+     * weights, so the cost is linear in the number of points and there is no
+     * limit on the degree.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bezier(
+            final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset) {
+
+        final int n = count - 1;
+        // walk from the end with the larger weight so the ratio never exceeds 1
+        final boolean reverse = t > 0.5f;
+        final float u = reverse ? 1f - t : t;
+        final float ratio = u / (1f - u);
+        float weight = 1f;
+        int rescales = 0;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = 0f;
+        }
+
+        // weight is C(n, k) * (u / (1 - u))^k; the common (1 - u)^n is applied last
+        for (int k = 0; k <= n; k++) {
+            if (k > 0) {
+                weight *= ratio * (n - k + 1) / k;
+            }
+
+            final int p = offset + (reverse ? n - k : k) * stride;
+
+            for (int j = 0; j < dimension; j++) {
+                out[outOffset + j] += weight * points[p + j];
+            }
+
+            if (weight > BEZIER_RESCALE_F) {
+                weight *= BEZIER_INV_RESCALE_F;
+                rescales++;
+
+                for (int j = 0; j < dimension; j++) {
+                    out[outOffset + j] *= BEZIER_INV_RESCALE_F;
+                }
+            }
+        }
+
+        final float scale = rescales == 0
+                ? (float) pow(1f - u, n)
+                : (float) exp(n * log1p(-u) + rescales * BEZIER_LOG_RESCALE_F);
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] *= scale;
+        }
+    }
+
+    /**
+     * Interpolates a point across the control points using a Bezier curve
+     * evaluated with de Casteljau's algorithm. This repeatedly interpolates
+     * between neighboring points and is the most numerically stable mode, but
+     * its cost is quadratic in the number of points.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least count * dimension elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bezierDeCasteljau(
+            final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] scratch,
+            final float[] out, final int outOffset) {
+
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(points, offset + i * stride, scratch, i * dimension, dimension);
+        }
+
+        for (int level = count - 1; level > 0; level--) {
+            for (int i = 0; i < level * dimension; i++) {
+                scratch[i] += t * (scratch[i + dimension] - scratch[i]);
+            }
+        }
+
+        System.arraycopy(scratch, 0, out, outOffset, dimension);
+    }
+
+    /**
+     * Interpolates a point across a chain of cubic Bezier curves. Every curve
+     * shares its last control point with the first control point of the next,
+     * so 3 * n + 1 points describe n curves; any extra points are ignored. Each
+     * curve covers an equal share of the time step range.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void piecewiseBezier(
+            final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset) {
+
+        final int curves = (count - 1) / 3;
+        final float x = t * curves;
+        final int curve = min(max((int) x, 0), curves - 1);
+        final float u = x - curve;
+        final float v = 1f - u;
+        final float b0 = v * v * v;
+        final float b1 = 3f * u * v * v;
+        final float b2 = 3f * u * u * v;
+        final float b3 = u * u * u;
+        final int p = offset + 3 * curve * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = b0 * points[p + j]
+                    + b1 * points[p + stride + j]
+                    + b2 * points[p + 2 * stride + j]
+                    + b3 * points[p + 3 * stride + j];
+        }
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline. See
+     * {@link Splines#besselOverhauser(float, java.util.List)}.
+     *
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void besselOverhauser(
+            final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset) {
+
+        float iT = t * (count - 1f);
+
+        final int i1 = (int) iT;
+        final int i0 = min(max(i1 - 1, 0), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        besselOverhauserSegment(iT, points, offset, stride, dimension, i0, i1, i2, i3, out, outOffset);
+    }
+
+    /**
+     * Evaluates a uniform BSpline. See {@link Splines#getBSplineF(int)}.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param t the time step on range [0, 1)
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least degrees elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void bSpline(
+            final int degrees, final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] scratch,
+            final float[] out, final int outOffset) {
+
+        final float u = (degrees - 1f) + (t * (count - (degrees - 1f)));
+        // only the basis functions of the control points inside the span are non-zero
+        final int span = min(max((int) u, degrees - 1), count - 1);
+
+        bSplineSpan(degrees, u - span, points, offset + (span - degrees + 1) * stride, stride, dimension, scratch, out, outOffset);
+    }
+
+    /**
+     * Evaluates a TCB spline (Kochanek-Bartels). See
+     * {@link Splines#genTCBSplineF(float, float, float)}.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param t the time step on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public static void tcbSpline(
+            final float tension, final float continuity, final float bias, final float t,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset) {
+
+        float iT = t * (count - 1f);
+
+        final int i1 = min((int) iT, count - 1);
+        final int i0 = min(max(0, i1 - 1), count - 1);
+        final int i2 = min(i1 + 1, count - 1);
+        final int i3 = min(i1 + 2, count - 1);
+
+        iT -= i1;
+
+        tcbSegment(tension, continuity, bias, iT, points, offset, stride, dimension, i0, i1, i2, i3, out, outOffset);
+    }
+
+    /**
+     * Evaluates a Bezier curve at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bezier(
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bezier(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a Bezier curve with de Casteljau's algorithm at every time
+     * step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least count * dimension elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bezierDeCasteljau(
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] scratch,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bezierDeCasteljau(ts[tOffset + i], points, offset, stride, count, dimension, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a chain of cubic Bezier curves at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void piecewiseBezier(
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            piecewiseBezier(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline at every time step.
+     *
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void besselOverhauser(
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            besselOverhauser(ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a uniform BSpline at every time step.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least degrees elements.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void bSpline(
+            final int degrees,
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] scratch,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            bSpline(degrees, ts[tOffset + i], points, offset, stride, count, dimension, scratch, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates a TCB spline at every time step.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param tCount the number of time steps to evaluate.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public static void tcbSpline(
+            final float tension, final float continuity, final float bias,
+            final float[] ts, final int tOffset, final int tCount,
+            final float[] points, final int offset, final int stride, final int count, final int dimension,
+            final float[] out, final int outOffset, final int outStride) {
+
+        for (int i = 0; i < tCount; i++) {
+            tcbSpline(tension, continuity, bias, ts[tOffset + i], points, offset, stride, count, dimension, out, outOffset + i * outStride);
+        }
+    }
+
+    /**
+     * Evaluates the span of a uniform BSpline that starts at the given
+     * control point. Every BSpline evaluation blends its control points here.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param s the local parameter within the span on range [0, 1]
+     * @param points the control point data.
+     * @param first the offset of the first control point of the span.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param scratch a scratch array with at least degrees elements.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     */
+    static void bSplineSpan(
+            final int degrees, final double s,
+            final double[] points, final int first, final int stride, final int dimension,
+            final double[] scratch,
+            final double[] out, final int outOffset) {
+
+        BSplines.uniformBasis(degrees, s, scratch, 0);
+
+        for (int j = 0; j < dimension; j++) {
+            double v = 0.0;
+
+            for (int r = 0; r < degrees; r++) {
+                v += scratch[r] * points[first + r * stride + j];
+            }
+
+            out[outOffset + j] = v;
+        }
+    }
+
+    /**
+     * Evaluates one segment of a TCB spline between points i1 and i2.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param iT the local time step within the segment on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param i0 the index of the point before the segment.
+     * @param i1 the index of the point that starts the segment.
+     * @param i2 the index of the point that ends the segment.
+     * @param i3 the index of the point after the segment.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     */
+    static void tcbSegment(
+            final double tension, final double continuity, final double bias, final double iT,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] out, final int outOffset) {
+
+        final double a = (1.0 - tension) * (1.0 + bias) * (1.0 + continuity) / 6.0;
+        final double b = (1.0 - tension) * (1.0 - bias) * (1.0 - continuity) / 6.0;
+        final double c = (1.0 - tension) * (1.0 + bias) * (1.0 - continuity) / 6.0;
+        final double d = (1.0 - tension) * (1.0 - bias) * (1.0 + continuity) / 6.0;
+
+        blend(iT,
+                a, b, a, b,
+                c, d, c, d,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Evaluates one segment of a Bessel-Overhauser spline between points i1
+     * and i2.
+     *
+     * @param iT the local time step within the segment on range [0, 1]
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param dimension the number of components per control point.
+     * @param i0 the index of the point before the segment.
+     * @param i1 the index of the point that starts the segment.
+     * @param i2 the index of the point that ends the segment.
+     * @param i3 the index of the point after the segment.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     */
+    static void besselOverhauserSegment(
+            final double iT,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] out, final int outOffset) {
+
+        final double d10 = distance(points, offset, stride, dimension, i0, i1);
+        final double d21 = distance(points, offset, stride, dimension, i1, i2);
+        final double d32 = distance(points, offset, stride, dimension, i2, i3);
+
+        // v3 = p1 - v * dm / 3, v5 = p1 + v * dp / 3 where v blends the unit chords
+        final double in1 = besselIn(d10, d21) / 3.0;
+        final double out1 = besselOut(d10, d21) / 3.0;
+        final double in2 = besselIn(d21, d32) / 3.0;
+        final double out2 = besselOut(d21, d32) / 3.0;
+
+        blend(iT,
+                in1 * d10, out1 * d10, in1 * d21, out1 * d21,
+                in2 * d21, out2 * d21, in2 * d32, out2 * d32,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Computes the six intermediate control points of a TCB spline segment.
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param segment the segment between point segment and segment + 1.
+     * @param control the array to write the 6 tightly packed points into.
+     * @param controlOffset the offset to write the points at.
+     */
+    static void tcbControlPoints(
+            final double tension, final double continuity, final double bias,
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final int segment, final double[] control, final int controlOffset) {
+
+        final double a = (1.0 - tension) * (1.0 + bias) * (1.0 + continuity) / 6.0;
+        final double b = (1.0 - tension) * (1.0 - bias) * (1.0 - continuity) / 6.0;
+        final double c = (1.0 - tension) * (1.0 + bias) * (1.0 - continuity) / 6.0;
+        final double d = (1.0 - tension) * (1.0 - bias) * (1.0 + continuity) / 6.0;
+
+        controlPoints(
+                a, b, a, b,
+                c, d, c, d,
+                points, offset, stride, dimension,
+                max(segment - 1, 0), segment, min(segment + 1, count - 1), min(segment + 2, count - 1),
+                control, controlOffset);
+    }
+
+    /**
+     * Computes the six intermediate control points of a Bessel-Overhauser
+     * spline segment.
+     *
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @param segment the segment between point segment and segment + 1.
+     * @param control the array to write the 6 tightly packed points into.
+     * @param controlOffset the offset to write the points at.
+     */
+    static void besselOverhauserControlPoints(
+            final double[] points, final int offset, final int stride, final int count, final int dimension,
+            final int segment, final double[] control, final int controlOffset) {
+
+        final int i0 = max(segment - 1, 0);
+        final int i1 = segment;
+        final int i2 = min(segment + 1, count - 1);
+        final int i3 = min(segment + 2, count - 1);
+
+        final double d10 = distance(points, offset, stride, dimension, i0, i1);
+        final double d21 = distance(points, offset, stride, dimension, i1, i2);
+        final double d32 = distance(points, offset, stride, dimension, i2, i3);
+        final double in1 = besselIn(d10, d21) / 3.0;
+        final double out1 = besselOut(d10, d21) / 3.0;
+        final double in2 = besselIn(d21, d32) / 3.0;
+        final double out2 = besselOut(d21, d32) / 3.0;
+
+        controlPoints(
+                in1 * d10, out1 * d10, in1 * d21, out1 * d21,
+                in2 * d21, out2 * d21, in2 * d32, out2 * d32,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                control, controlOffset);
+    }
+
+    /**
+     * The Bessel tangent at a point is v = a * (p1 - p0) + b * (p2 - p1) with
+     * a = dp / (dm * (dm + dp)) and b = dm / (dp * (dm + dp)). A zero length
+     * chord (such as the clamped end points) takes the direction of the other
+     * chord.
+     */
+    private static double besselIn(final double dm, final double dp) {
+        if (dm == 0.0) {
+            return 0.0;
+        } else if (dp == 0.0) {
+            return 1.0 / dm;
+        } else {
+            return dp / (dm * (dm + dp));
+        }
+    }
+
+    private static double besselOut(final double dm, final double dp) {
+        if (dp == 0.0) {
+            return 0.0;
+        } else if (dm == 0.0) {
+            return 1.0 / dp;
+        } else {
+            return dm / (dp * (dm + dp));
+        }
+    }
+
+    private static double distance(
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1) {
+
+        final int p0 = offset + i0 * stride;
+        final int p1 = offset + i1 * stride;
+        double sum = 0.0;
+
+        for (int j = 0; j < dimension; j++) {
+            final double d = points[p1 + j] - points[p0 + j];
+
+            sum += d * d;
+        }
+
+        return sqrt(sum);
+    }
+
+    /**
+     * Blends the six intermediate control points used by the TCB and
+     * Bessel-Overhauser splines. The control points are expressed relative to
+     * the four neighboring points: v3 = p1 - (a0 * (p1 - p0) + a1 * (p2 - p1)),
+     * v4 = p1, v5 = p1 + (b0 * (p1 - p0) + b1 * (p2 - p1)) and likewise v6, v7
+     * and v8 around p2. This allows the point to be evaluated as a weighted sum
+     * of p0..p3 without building the intermediate vectors.
+     */
+    private static void blend(
+            final double iT,
+            final double a0, final double a1, final double b0, final double b1,
+            final double e0, final double e1, final double f0, final double f1,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] out, final int outOffset) {
+
+        // the six points are blended by a uniform quadratic BSpline over u = 2 + 4 * iT;
+        // only points q, q + 1 and q + 2 are non-zero (see BSplines.uniformBasis)
+        final double x = iT * 4.0;
+        final int q = min(max((int) x, 0), 3);
+        final double s = x - q;
+        final double n0 = 0.5 * (1.0 - s) * (1.0 - s);
+        final double n2 = 0.5 * s * s;
+        final double n1 = 1.0 - n0 - n2;
+
+        blend(q, n0, n1, n2,
+                a0, a1, b0, b1,
+                e0, e1, f0, f1,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Evaluates the point and its first and second derivatives described in
+     * {@link #blend}. The weights of the four neighboring points are linear in
+     * the quadratic basis, so each derivative blends the same points with the
+     * derivative basis instead.
+     *
+     * @param scale the derivative of iT with respect to the time step.
+     */
+    private static void blendDerivatives(
+            final double iT, final double scale,
+            final double a0, final double a1, final double b0, final double b1,
+            final double e0, final double e1, final double f0, final double f1,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] out, final int outOffset) {
+
+        final double x = iT * 4.0;
+        final int q = min(max((int) x, 0), 3);
+        final double s = x - q;
+        // ds / dt
+        final double k1 = 4.0 * scale;
+        final double k2 = k1 * k1;
+        final double n0 = 0.5 * (1.0 - s) * (1.0 - s);
+        final double n2 = 0.5 * s * s;
+
+        blend(q, n0, 1.0 - n0 - n2, n2,
+                a0, a1, b0, b1,
+                e0, e1, f0, f1,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+
+        blend(q, k1 * (s - 1.0), k1 * (1.0 - 2.0 * s), k1 * s,
+                a0, a1, b0, b1,
+                e0, e1, f0, f1,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset + dimension);
+
+        blend(q, k2, -2.0 * k2, k2,
+                a0, a1, b0, b1,
+                e0, e1, f0, f1,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset + 2 * dimension);
+    }
+
+    /**
+     * Blends the six intermediate control points with the three quadratic
+     * basis values of piece q.
+     */
+    private static void blend(
+            final int q, final double n0, final double n1, final double n2,
+            final double a0, final double a1, final double b0, final double b1,
+            final double e0, final double e1, final double f0, final double f1,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] out, final int outOffset) {
+
+        final double w0 = q == 0 ? n0 : 0.0;
+        final double w1 = q == 0 ? n1 : (q == 1 ? n0 : 0.0);
+        final double w2 = q == 0 ? n2 : (q == 1 ? n1 : (q == 2 ? n0 : 0.0));
+        final double w3 = q == 1 ? n2 : (q == 2 ? n1 : (q == 3 ? n0 : 0.0));
+        final double w4 = q == 2 ? n2 : (q == 3 ? n1 : 0.0);
+        final double w5 = q == 3 ? n2 : 0.0;
+
+        final double k10 = w2 * b0 - w0 * a0;
+        final double k21 = w2 * b1 - w0 * a1 + w5 * f0 - w3 * e0;
+        final double k32 = w5 * f1 - w3 * e1;
+
+        final double c0 = -k10;
+        final double c1 = w0 + w1 + w2 + k10 - k21;
+        final double c2 = w3 + w4 + w5 + k21 - k32;
+        final double c3 = k32;
+
+        final int p0 = offset + i0 * stride;
+        final int p1 = offset + i1 * stride;
+        final int p2 = offset + i2 * stride;
+        final int p3 = offset + i3 * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = c0 * points[p0 + j] + c1 * points[p1 + j] + c2 * points[p2 + j] + c3 * points[p3 + j];
+        }
+    }
+
+    /**
+     * Writes out the six intermediate control points described in
+     * {@link #blend}.
+     */
+    private static void controlPoints(
+            final double a0, final double a1, final double b0, final double b1,
+            final double e0, final double e1, final double f0, final double f1,
+            final double[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final double[] control, final int controlOffset) {
+
+        final int p0 = offset + i0 * stride;
+        final int p1 = offset + i1 * stride;
+        final int p2 = offset + i2 * stride;
+        final int p3 = offset + i3 * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            final double d10 = points[p1 + j] - points[p0 + j];
+            final double d21 = points[p2 + j] - points[p1 + j];
+            final double d32 = points[p3 + j] - points[p2 + j];
+
+            control[controlOffset + j] = points[p1 + j] - (a0 * d10 + a1 * d21);
+            control[controlOffset + dimension + j] = points[p1 + j];
+            control[controlOffset + 2 * dimension + j] = points[p1 + j] + (b0 * d10 + b1 * d21);
+            control[controlOffset + 3 * dimension + j] = points[p2 + j] - (e0 * d21 + e1 * d32);
+            control[controlOffset + 4 * dimension + j] = points[p2 + j];
+            control[controlOffset + 5 * dimension + j] = points[p2 + j] + (f0 * d21 + f1 * d32);
+        }
+    }
+
+    /**
+     * Float variant of
+     * {@link #bSplineSpan(int, double, double[], int, int, int, double[], double[], int)}.
+     */
+    static void bSplineSpan(
+            final int degrees, final float s,
+            final float[] points, final int first, final int stride, final int dimension,
+            final float[] scratch,
+            final float[] out, final int outOffset) {
+
+        BSplines.uniformBasis(degrees, s, scratch, 0);
+
+        for (int j = 0; j < dimension; j++) {
+            float v = 0f;
+
+            for (int r = 0; r < degrees; r++) {
+                v += scratch[r] * points[first + r * stride + j];
+            }
+
+            out[outOffset + j] = v;
+        }
+    }
+
+    /**
+     * Float variant of
+     * {@link #tcbSegment(double, double, double, double, double[], int, int, int, int, int, int, int, double[], int)}.
+     */
+    static void tcbSegment(
+            final float tension, final float continuity, final float bias, final float iT,
+            final float[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final float[] out, final int outOffset) {
+
+        final float a = (1f - tension) * (1f + bias) * (1f + continuity) / 6f;
+        final float b = (1f - tension) * (1f - bias) * (1f - continuity) / 6f;
+        final float c = (1f - tension) * (1f + bias) * (1f - continuity) / 6f;
+        final float d = (1f - tension) * (1f - bias) * (1f + continuity) / 6f;
+
+        blend(iT,
+                a, b, a, b,
+                c, d, c, d,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Float variant of
+     * {@link #besselOverhauserSegment(double, double[], int, int, int, int, int, int, int, double[], int)}.
+     */
+    static void besselOverhauserSegment(
+            final float iT,
+            final float[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final float[] out, final int outOffset) {
+
+        final float d10 = distance(points, offset, stride, dimension, i0, i1);
+        final float d21 = distance(points, offset, stride, dimension, i1, i2);
+        final float d32 = distance(points, offset, stride, dimension, i2, i3);
+
+        // v3 = p1 - v * dm / 3, v5 = p1 + v * dp / 3 where v blends the unit chords
+        final float in1 = besselIn(d10, d21) / 3f;
+        final float out1 = besselOut(d10, d21) / 3f;
+        final float in2 = besselIn(d21, d32) / 3f;
+        final float out2 = besselOut(d21, d32) / 3f;
+
+        blend(iT,
+                in1 * d10, out1 * d10, in1 * d21, out1 * d21,
+                in2 * d21, out2 * d21, in2 * d32, out2 * d32,
+                points, offset, stride, dimension, i0, i1, i2, i3,
+                out, outOffset);
+    }
+
+    /**
+     * Float variant of {@link #besselIn(double, double)}.
+     */
+    private static float besselIn(final float dm, final float dp) {
+        if (dm == 0f) {
+            return 0f;
+        } else if (dp == 0f) {
+            return 1f / dm;
+        } else {
+            return dp / (dm * (dm + dp));
+        }
+    }
+
+    private static float besselOut(final float dm, final float dp) {
+        if (dp == 0f) {
+            return 0f;
+        } else if (dm == 0f) {
+            return 1f / dp;
+        } else {
+            return dm / (dp * (dm + dp));
+        }
+    }
+
+    private static float distance(
+            final float[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1) {
+
+        final int p0 = offset + i0 * stride;
+        final int p1 = offset + i1 * stride;
+        float sum = 0f;
+
+        for (int j = 0; j < dimension; j++) {
+            final float d = points[p1 + j] - points[p0 + j];
+
+            sum += d * d;
+        }
+
+        return (float) sqrt(sum);
+    }
+
+    /**
+     * Float variant of {@code blend}.
+     */
+    private static void blend(
+            final float iT,
+            final float a0, final float a1, final float b0, final float b1,
+            final float e0, final float e1, final float f0, final float f1,
+            final float[] points, final int offset, final int stride, final int dimension,
+            final int i0, final int i1, final int i2, final int i3,
+            final float[] out, final int outOffset) {
+
+        // the six points are blended by a uniform quadratic BSpline over u = 2 + 4 * iT;
+        // only points q, q + 1 and q + 2 are non-zero (see BSplines.uniformBasis)
+        final float x = iT * 4f;
+        final int q = min(max((int) x, 0), 3);
+        final float s = x - q;
+        final float n0 = 0.5f * (1f - s) * (1f - s);
+        final float n2 = 0.5f * s * s;
+        final float n1 = 1f - n0 - n2;
+
+        final float w0 = q == 0 ? n0 : 0f;
+        final float w1 = q == 0 ? n1 : (q == 1 ? n0 : 0f);
+        final float w2 = q == 0 ? n2 : (q == 1 ? n1 : (q == 2 ? n0 : 0f));
+        final float w3 = q == 1 ? n2 : (q == 2 ? n1 : (q == 3 ? n0 : 0f));
+        final float w4 = q == 2 ? n2 : (q == 3 ? n1 : 0f);
+        final float w5 = q == 3 ? n2 : 0f;
+
+        final float k10 = w2 * b0 - w0 * a0;
+        final float k21 = w2 * b1 - w0 * a1 + w5 * f0 - w3 * e0;
+        final float k32 = w5 * f1 - w3 * e1;
+
+        final float c0 = -k10;
+        final float c1 = w0 + w1 + w2 + k10 - k21;
+        final float c2 = w3 + w4 + w5 + k21 - k32;
+        final float c3 = k32;
+
+        final int p0 = offset + i0 * stride;
+        final int p1 = offset + i1 * stride;
+        final int p2 = offset + i2 * stride;
+        final int p3 = offset + i3 * stride;
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = c0 * points[p0 + j] + c1 * points[p1 + j] + c2 * points[p2 + j] + c3 * points[p3 + j];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * An online filter that smooths a noisy signal one sample at a time. A filter
+ * has a fixed number of independent components and keeps a constant amount of
+ * state per component in primitive arrays, so filtering a sample never
+ * allocates. The first sample of a component passes through unchanged and
+ * initializes its state.
+ *
+ * <p>
+ * Filters are not thread-safe.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public interface SignalFilter {
+
+    /**
+     * Retrieves the number of components filtered.
+     *
+     * @return the dimension.
+     * @since 26.10.18
+     */
+    int dimension();
+
+    /**
+     * Forgets the state of every component. The next sample of each component
+     * passes through unchanged.
+     *
+     * @since 26.10.18
+     */
+    void reset();
+
+    /**
+     * Forgets the state of a single component.
+     *
+     * @param component the component index.
+     * @since 26.10.18
+     */
+    void reset(int component);
+
+    /**
+     * Filters a sample of a single component.
+     *
+     * @param dt the time since the previous sample of the component in
+     * seconds.
+     * @param component the component index.
+     * @param value the raw sample.
+     * @return the filtered value.
+     * @since 26.10.18
+     */
+    double filter(double dt, int component, double value);
+
+    /**
+     * Filters a sample of a one dimensional signal.
+     *
+     * @param dt the time since the previous sample in seconds.
+     * @param value the raw sample.
+     * @return the filtered value.
+     * @since 26.10.18
+     */
+    default double filter(final double dt, final double value) {
+        return this.filter(dt, 0, value);
+    }
+
+    /**
+     * Filters a sample of every component.
+     *
+     * @param dt the time since the previous sample in seconds.
+     * @param in the array holding dimension raw values.
+     * @param inOffset the offset of the first raw value.
+     * @param out the array to write the filtered values into. May be in.
+     * @param outOffset the offset to write the filtered values at.
+     * @since 26.10.18
+     */
+    default void filter(final double dt, final double[] in, final int inOffset, final double[] out, final int outOffset) {
+        final int dimension = this.dimension();
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = this.filter(dt, j, in[inOffset + j]);
+        }
+    }
+}
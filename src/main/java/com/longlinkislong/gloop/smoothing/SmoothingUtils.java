@@ -40,34 +40,54 @@ public class SmoothingUtils {
         return (VecT) ab.plus(cd);
     }
 
-    public static float N(int i, int k, float u) {
-        float ui = (float) i;
+    // N is called once per control point in tight loops; the basis row of the
+    // span is computed into a per-thread buffer instead of a new array per call
+    private static final ThreadLocal<double[]> BASIS = ThreadLocal.withInitial(() -> new double[8]);
 
-        switch (k) {
-            case 1:
-                if (ui < u && u < ui + 1f) {
-                    return 1f;
-                }
-            case 0:
-                return 0f;
-            default:
-                return ((u - ui) / (k - 1)) * N(i, k - 1, u) + ((ui + k - u) / (k - 1)) * N(i + 1, k - 1, u);
-        }
+    /**
+     * Evaluates the uniform BSpline basis function of order k for control point
+     * i with integer knots. The basis function is computed iteratively and is
+     * only non-zero on the range [i, i + k). Prefer
+     * {@link BSplines#uniformBasis(int, double, double[], int)} when all of the
+     * non-zero basis functions at u are needed.
+     *
+     * @param i the control point index.
+     * @param k the order of the BSpline.
+     * @param u the parameter value.
+     * @return the basis value.
+     */
+    public static float N(int i, int k, float u) {
+        return (float) N(i, k, (double) u);
     }
 
+    /**
+     * Evaluates the uniform BSpline basis function of order k for control point
+     * i with integer knots. The basis function is computed iteratively and is
+     * only non-zero on the range [i, i + k). Prefer
+     * {@link BSplines#uniformBasis(int, double, double[], int)} when all of the
+     * non-zero basis functions at u are needed.
+     *
+     * @param i the control point index.
+     * @param k the order of the BSpline.
+     * @param u the parameter value.
+     * @return the basis value.
+     */
     public static double N(int i, int k, double u) {
-        double ui = (double) i;
+        if (k < 1 || u < i || u >= i + k) {
+            return 0.0;
+        }
 
-        switch (k) {
-            case 1:
-                if (ui < u && u < ui + 1.0) {
-                    return 1.0;
-                }
-            case 0:
-                return 0.0;
-            default:
-                return ((u - ui) / (k - 1)) * N(i, k - 1, u) + ((ui + k - u) / (k - 1)) * N(i + 1, k - 1, u);
+        double[] n = BASIS.get();
+
+        if (n.length < k) {
+            n = new double[k];
+            BASIS.set(n);
         }
+
+        BSplines.uniformBasis(k, u - Math.floor(u), n, 0);
+
+        // the basis of point i is entry i - (span - k + 1) of the span's basis
+        return n[i - (int) Math.floor(u) + k - 1];
     }
 
     private static final double FACTORIAL[] = {
@@ -0,0 +1,31 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVecD;
+import java.util.List;
+
+/**
+ * A functional interface that precomputes a spline over a fixed list of
+ * points.
+ *
+ * @author zmichaels
+ * @param <T> the type of vector.
+ * @since 26.10.18
+ */
+@FunctionalInterface
+public interface SplineCompiler<T extends GLVecD> {
+
+    /**
+     * Compiles the spline over the points. Changes made to the points after
+     * compiling are not reflected by the compiled spline.
+     *
+     * @param points the points to interpolate across.
+     * @return the compiled spline.
+     * @since 26.10.18
+     */
+    CompiledSpline compile(List<T> points);
+}
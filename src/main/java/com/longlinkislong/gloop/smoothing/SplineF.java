@@ -0,0 +1,30 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVecF;
+import java.util.List;
+
+/**
+ * A single precision spline function.
+ *
+ * @author zmichaels
+ * @param <T> the type of vector.
+ * @since 26.10.18
+ */
+@FunctionalInterface
+public interface SplineF<T extends GLVecF> {
+
+    /**
+     * Interpolates a point across the points.
+     *
+     * @param t the time step on range [0, 1]
+     * @param points the points to interpolate across.
+     * @return the interpolated point.
+     * @since 26.10.18
+     */
+    T eval(float t, List<T> points);
+}
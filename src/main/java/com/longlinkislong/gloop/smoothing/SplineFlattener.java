@@ -0,0 +1,243 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Tessellates a {@link CompiledSpline} into a line strip. Every polynomial
+ * piece is subdivided until the midpoint and quarter points of each interval
+ * lie within the tolerance of its chord, so straight sections use few vertices
+ * and tight curves use many. Vertices are written as floats straight into a caller provided
+ * buffer; nothing is written past the buffer's limit.
+ *
+ * <p>
+ * A flattener keeps scratch storage between calls and must not be shared
+ * between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class SplineFlattener {
+
+    private static final int MAX_DEPTH = 16;
+
+    private final double tolerance;
+    private double[] scratch = new double[0];
+
+    private FloatBuffer floatOut;
+    private ByteBuffer byteOut;
+    private int outOffset;
+    private int outStride;
+    private int dimension;
+    private int count;
+
+    /**
+     * Constructs a new flattener.
+     *
+     * @param tolerance the largest allowed distance between the curve and the
+     * line strip.
+     * @since 26.10.18
+     */
+    public SplineFlattener(final double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be greater than 0!");
+        }
+
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Retrieves the tolerance of the flattener.
+     *
+     * @return the tolerance.
+     * @since 26.10.18
+     */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Tessellates a spline into a float buffer. Vertex i is written at index
+     * offset + i * stride; the position of the buffer is not changed. If the
+     * buffer is too small, the vertices that fit are written and the rest are
+     * only counted.
+     *
+     * @param spline the spline to tessellate.
+     * @param out the buffer to write the vertices into.
+     * @param offset the index of the first vertex in floats.
+     * @param stride the distance between two consecutive vertices in floats.
+     * @return the number of vertices in the line strip. If this is greater
+     * than the number of vertices that fit, the buffer overflowed.
+     * @since 26.10.18
+     */
+    public int flatten(final CompiledSpline spline, final FloatBuffer out, final int offset, final int stride) {
+        if (stride < spline.dimension()) {
+            throw new IllegalArgumentException("Stride must be at least the spline dimension!");
+        }
+
+        this.floatOut = out;
+
+        try {
+            return this.flatten(spline, offset, stride);
+        } finally {
+            this.floatOut = null;
+        }
+    }
+
+    /**
+     * Tessellates a spline into a byte buffer. The components are written as
+     * floats in the byte order of the buffer. Vertex i is written at byte
+     * offset + i * stride; the position of the buffer is not changed. If the
+     * buffer is too small, the vertices that fit are written and the rest are
+     * only counted.
+     *
+     * @param spline the spline to tessellate.
+     * @param out the buffer to write the vertices into.
+     * @param offset the byte offset of the first vertex.
+     * @param stride the distance between two consecutive vertices in bytes.
+     * @return the number of vertices in the line strip. If this is greater
+     * than the number of vertices that fit, the buffer overflowed.
+     * @since 26.10.18
+     */
+    public int flatten(final CompiledSpline spline, final ByteBuffer out, final int offset, final int stride) {
+        if (stride < spline.dimension() * Float.BYTES) {
+            throw new IllegalArgumentException("Stride must be at least the spline dimension in bytes!");
+        }
+
+        this.byteOut = out;
+
+        try {
+            return this.flatten(spline, offset, stride);
+        } finally {
+            this.byteOut = null;
+        }
+    }
+
+    private int flatten(final CompiledSpline spline, final int offset, final int stride) {
+        final int dim = spline.dimension();
+        final int pieceCount = spline.pieceCount();
+        final int previous = (MAX_DEPTH + 4) * dim;
+
+        // slots: piece start, piece end, one midpoint per depth, two quarter points, previous piece end
+        if (this.scratch.length < (MAX_DEPTH + 5) * dim) {
+            this.scratch = new double[(MAX_DEPTH + 5) * dim];
+        }
+
+        this.outOffset = offset;
+        this.outStride = stride;
+        this.dimension = dim;
+        this.count = 0;
+
+        for (int piece = 0; piece < pieceCount; piece++) {
+            spline.evalPiece(piece, 0.0, this.scratch, 0);
+
+            // a piece may start away from where the previous piece ended
+            if (piece == 0 || distance(this.scratch, 0, this.scratch, previous, dim) > this.tolerance) {
+                this.emit(0);
+            }
+
+            spline.evalPiece(piece, 1.0, this.scratch, dim);
+            this.subdivide(spline, piece, 0.0, 1.0, 0, dim, 0);
+            System.arraycopy(this.scratch, dim, this.scratch, previous, dim);
+        }
+
+        return this.count;
+    }
+
+    private void subdivide(
+            final CompiledSpline spline, final int piece,
+            final double s0, final double s1,
+            final int a, final int b, final int depth) {
+
+        if (depth < MAX_DEPTH) {
+            final int dim = this.dimension;
+            final int m = (depth + 2) * dim;
+            final int q = (MAX_DEPTH + 2) * dim;
+            final double sm = 0.5 * (s0 + s1);
+
+            spline.evalPiece(piece, sm, this.scratch, m);
+            spline.evalPiece(piece, 0.5 * (s0 + sm), this.scratch, q);
+            spline.evalPiece(piece, 0.5 * (sm + s1), this.scratch, q + dim);
+
+            if (this.deviation(a, b, m) > this.tolerance
+                    || this.deviation(a, b, q) > this.tolerance
+                    || this.deviation(a, b, q + dim) > this.tolerance) {
+
+                this.subdivide(spline, piece, s0, sm, a, m, depth + 1);
+                this.subdivide(spline, piece, sm, s1, m, b, depth + 1);
+                return;
+            }
+        }
+
+        this.emit(b);
+    }
+
+    /**
+     * Computes the distance of point x from the chord a-b.
+     */
+    private double deviation(final int a, final int b, final int x) {
+        final double[] p = this.scratch;
+        final int dim = this.dimension;
+        double chordSq = 0.0;
+        double dot = 0.0;
+
+        for (int j = 0; j < dim; j++) {
+            final double chord = p[b + j] - p[a + j];
+
+            chordSq += chord * chord;
+            dot += chord * (p[x + j] - p[a + j]);
+        }
+
+        final double u = chordSq > 0.0 ? dot / chordSq : 0.0;
+        double sq = 0.0;
+
+        for (int j = 0; j < dim; j++) {
+            final double d = p[x + j] - p[a + j] - u * (p[b + j] - p[a + j]);
+
+            sq += d * d;
+        }
+
+        return Math.sqrt(sq);
+    }
+
+    private static double distance(final double[] a, final int aOffset, final double[] b, final int bOffset, final int dim) {
+        double sq = 0.0;
+
+        for (int j = 0; j < dim; j++) {
+            final double d = a[aOffset + j] - b[bOffset + j];
+
+            sq += d * d;
+        }
+
+        return Math.sqrt(sq);
+    }
+
+    private void emit(final int point) {
+        final int dim = this.dimension;
+
+        if (this.floatOut != null) {
+            final int at = this.outOffset + this.count * this.outStride;
+
+            if (at >= 0 && at + dim <= this.floatOut.limit()) {
+                for (int j = 0; j < dim; j++) {
+                    this.floatOut.put(at + j, (float) this.scratch[point + j]);
+                }
+            }
+        } else {
+            final int at = this.outOffset + this.count * this.outStride;
+
+            if (at >= 0 && at + dim * Float.BYTES <= this.byteOut.limit()) {
+                for (int j = 0; j < dim; j++) {
+                    this.byteOut.putFloat(at + j * Float.BYTES, (float) this.scratch[point + j]);
+                }
+            }
+        }
+
+        this.count++;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * Curvature and orientation frames computed from analytic spline derivatives.
+ * The functions read the layout written by
+ * {@link CompiledSpline#evalDerivatives(double, int, double[], int)} and the
+ * derivative functions of {@link PrimitiveSplines}: the point, followed by the
+ * first derivative and the second derivative. A frame is written as 9
+ * consecutive values: the unit tangent, the unit normal and the unit binormal.
+ * None of these functions allocate unless noted.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class SplineFrames {
+
+    private static final double EPSILON = 1E-12;
+
+    private SplineFrames() {
+    }
+
+    /**
+     * Computes the curvature of a curve of any dimension:
+     * sqrt(|P'|^2 |P''|^2 - (P' . P'')^2) / |P'|^3
+     *
+     * @param derivatives the point, first derivative and second derivative.
+     * @param offset the offset of the point.
+     * @param dimension the number of components per point.
+     * @return the curvature. 0 if the first derivative vanishes.
+     * @since 26.10.18
+     */
+    public static double curvature(final double[] derivatives, final int offset, final int dimension) {
+        double d1Sq = 0.0;
+        double d2Sq = 0.0;
+        double dot = 0.0;
+
+        for (int j = 0; j < dimension; j++) {
+            final double d1 = derivatives[offset + dimension + j];
+            final double d2 = derivatives[offset + 2 * dimension + j];
+
+            d1Sq += d1 * d1;
+            d2Sq += d2 * d2;
+            dot += d1 * d2;
+        }
+
+        if (!(d1Sq > 0.0)) {
+            return 0.0;
+        }
+
+        return Math.sqrt(Math.max(d1Sq * d2Sq - dot * dot, 0.0)) / (d1Sq * Math.sqrt(d1Sq));
+    }
+
+    /**
+     * Computes the Frenet frame of a 3D curve. The tangent follows the first
+     * derivative and the binormal follows P' x P''. Where the curve is
+     * straight the Frenet frame is undefined; an arbitrary normal
+     * perpendicular to the tangent is chosen instead.
+     *
+     * @param derivatives the point, first derivative and second derivative.
+     * @param offset the offset of the point.
+     * @param frame the array to write the tangent, normal and binormal into.
+     * @param frameOffset the offset to write the frame at.
+     * @return true if the frame is a Frenet frame; false if the normal was
+     * chosen arbitrarily.
+     * @since 26.10.18
+     */
+    public static boolean frenetFrame(final double[] derivatives, final int offset, final double[] frame, final int frameOffset) {
+        final double dx = derivatives[offset + 3];
+        final double dy = derivatives[offset + 4];
+        final double dz = derivatives[offset + 5];
+        final double ddx = derivatives[offset + 6];
+        final double ddy = derivatives[offset + 7];
+        final double ddz = derivatives[offset + 8];
+
+        tangent(dx, dy, dz, frame, frameOffset);
+
+        final double bx = dy * ddz - dz * ddy;
+        final double by = dz * ddx - dx * ddz;
+        final double bz = dx * ddy - dy * ddx;
+        final double bLength = Math.sqrt(bx * bx + by * by + bz * bz);
+        final double dLength = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        final double ddLength = Math.sqrt(ddx * ddx + ddy * ddy + ddz * ddz);
+
+        if (!(bLength > EPSILON * dLength * ddLength)) {
+            perpendicular(frame, frameOffset);
+            return false;
+        }
+
+        frame[frameOffset + 6] = bx / bLength;
+        frame[frameOffset + 7] = by / bLength;
+        frame[frameOffset + 8] = bz / bLength;
+        cross(frame, frameOffset + 6, frame, frameOffset, frame, frameOffset + 3);
+
+        return true;
+    }
+
+    /**
+     * Carries a frame from one sample of a 3D curve to the next without
+     * twisting it about the tangent, using the double reflection method. The
+     * first reflection maps the previous sample onto the current one; the
+     * second aligns the reflected tangent with the current tangent.
+     *
+     * @param previous the point and first derivative of the previous sample.
+     * @param previousOffset the offset of the previous point.
+     * @param previousFrame the frame of the previous sample.
+     * @param previousFrameOffset the offset of the previous frame.
+     * @param current the point and first derivative of the current sample.
+     * @param currentOffset the offset of the current point.
+     * @param frame the array to write the current frame into. This may be
+     * the previous frame.
+     * @param frameOffset the offset to write the current frame at.
+     * @since 26.10.18
+     */
+    public static void transport(
+            final double[] previous, final int previousOffset,
+            final double[] previousFrame, final int previousFrameOffset,
+            final double[] current, final int currentOffset,
+            final double[] frame, final int frameOffset) {
+
+        final double v1x = current[currentOffset] - previous[previousOffset];
+        final double v1y = current[currentOffset + 1] - previous[previousOffset + 1];
+        final double v1z = current[currentOffset + 2] - previous[previousOffset + 2];
+        final double c1 = v1x * v1x + v1y * v1y + v1z * v1z;
+
+        double rx = previousFrame[previousFrameOffset + 3];
+        double ry = previousFrame[previousFrameOffset + 4];
+        double rz = previousFrame[previousFrameOffset + 5];
+        double tx = previousFrame[previousFrameOffset];
+        double ty = previousFrame[previousFrameOffset + 1];
+        double tz = previousFrame[previousFrameOffset + 2];
+
+        if (c1 > 0.0) {
+            final double rScale = 2.0 * (v1x * rx + v1y * ry + v1z * rz) / c1;
+            final double tScale = 2.0 * (v1x * tx + v1y * ty + v1z * tz) / c1;
+
+            rx -= rScale * v1x;
+            ry -= rScale * v1y;
+            rz -= rScale * v1z;
+            tx -= tScale * v1x;
+            ty -= tScale * v1y;
+            tz -= tScale * v1z;
+        }
+
+        tangent(current[currentOffset + 3], current[currentOffset + 4], current[currentOffset + 5], frame, frameOffset);
+
+        final double v2x = frame[frameOffset] - tx;
+        final double v2y = frame[frameOffset + 1] - ty;
+        final double v2z = frame[frameOffset + 2] - tz;
+        final double c2 = v2x * v2x + v2y * v2y + v2z * v2z;
+
+        if (c2 > 0.0) {
+            final double rScale = 2.0 * (v2x * rx + v2y * ry + v2z * rz) / c2;
+
+            rx -= rScale * v2x;
+            ry -= rScale * v2y;
+            rz -= rScale * v2z;
+        }
+
+        // remove the drift that accumulates over many steps
+        final double along = rx * frame[frameOffset] + ry * frame[frameOffset + 1] + rz * frame[frameOffset + 2];
+
+        rx -= along * frame[frameOffset];
+        ry -= along * frame[frameOffset + 1];
+        rz -= along * frame[frameOffset + 2];
+
+        final double rLength = Math.sqrt(rx * rx + ry * ry + rz * rz);
+
+        if (!(rLength > EPSILON)) {
+            perpendicular(frame, frameOffset);
+            return;
+        }
+
+        frame[frameOffset + 3] = rx / rLength;
+        frame[frameOffset + 4] = ry / rLength;
+        frame[frameOffset + 5] = rz / rLength;
+        cross(frame, frameOffset, frame, frameOffset + 3, frame, frameOffset + 6);
+    }
+
+    /**
+     * Computes rotation minimizing frames at evenly spaced time steps along a
+     * 3D spline. The first frame is the Frenet frame at t = 0 and every
+     * following frame is transported from the one before it. Unlike Frenet
+     * frames these do not flip at inflection points or spin on straight
+     * sections. This allocates two small scratch arrays per call.
+     *
+     * @param spline the spline to follow. Must be 3 dimensional.
+     * @param count the number of frames; at least 2.
+     * @param frames the array to write the frames into.
+     * @param offset the offset of the first frame.
+     * @param stride the distance between two consecutive frames.
+     * @since 26.10.18
+     */
+    public static void transportFrames(
+            final CompiledSpline spline, final int count,
+            final double[] frames, final int offset, final int stride) {
+
+        if (spline.dimension() != 3) {
+            throw new IllegalArgumentException("Frames require a 3 dimensional spline!");
+        } else if (count < 2) {
+            throw new IllegalArgumentException("At least 2 frames are required!");
+        }
+
+        double[] previous = new double[9];
+        double[] current = new double[9];
+
+        spline.evalDerivatives(0.0, 2, previous, 0);
+        frenetFrame(previous, 0, frames, offset);
+
+        for (int i = 1; i < count; i++) {
+            spline.evalDerivatives((double) i / (count - 1), 1, current, 0);
+            transport(previous, 0, frames, offset + (i - 1) * stride, current, 0, frames, offset + i * stride);
+
+            final double[] swap = previous;
+
+            previous = current;
+            current = swap;
+        }
+    }
+
+    private static void tangent(final double dx, final double dy, final double dz, final double[] frame, final int frameOffset) {
+        final double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (length > 0.0) {
+            frame[frameOffset] = dx / length;
+            frame[frameOffset + 1] = dy / length;
+            frame[frameOffset + 2] = dz / length;
+        } else {
+            frame[frameOffset] = 1.0;
+            frame[frameOffset + 1] = 0.0;
+            frame[frameOffset + 2] = 0.0;
+        }
+    }
+
+    /**
+     * Completes a frame from its tangent alone by crossing the tangent with
+     * the axis it is least aligned with.
+     */
+    private static void perpendicular(final double[] frame, final int frameOffset) {
+        final double tx = frame[frameOffset];
+        final double ty = frame[frameOffset + 1];
+        final double tz = frame[frameOffset + 2];
+        final double ax = Math.abs(tx);
+        final double ay = Math.abs(ty);
+        final double az = Math.abs(tz);
+        double nx;
+        double ny;
+        double nz;
+
+        // n = t x axis
+        if (ax <= ay && ax <= az) {
+            nx = 0.0;
+            ny = tz;
+            nz = -ty;
+        } else if (ay <= az) {
+            nx = -tz;
+            ny = 0.0;
+            nz = tx;
+        } else {
+            nx = ty;
+            ny = -tx;
+            nz = 0.0;
+        }
+
+        final double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+
+        frame[frameOffset + 3] = nx / length;
+        frame[frameOffset + 4] = ny / length;
+        frame[frameOffset + 5] = nz / length;
+        cross(frame, frameOffset, frame, frameOffset + 3, frame, frameOffset + 6);
+    }
+
+    private static void cross(
+            final double[] a, final int aOffset,
+            final double[] b, final int bOffset,
+            final double[] out, final int outOffset) {
+
+        final double x = a[aOffset + 1] * b[bOffset + 2] - a[aOffset + 2] * b[bOffset + 1];
+        final double y = a[aOffset + 2] * b[bOffset] - a[aOffset] * b[bOffset + 2];
+        final double z = a[aOffset] * b[bOffset + 1] - a[aOffset + 1] * b[bOffset];
+
+        out[outOffset] = x;
+        out[outOffset + 1] = y;
+        out[outOffset + 2] = z;
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * Finds the point on a {@link CompiledSpline} closest to a query point. Every
+ * polynomial piece is bounded by the box around its Bernstein control points;
+ * by the convex hull property the piece lies inside that box. The boxes are
+ * arranged in a bounding volume hierarchy so a query only refines the pieces
+ * whose box is closer than the best point found so far. Refinement runs
+ * Newton's method on the derivative of the squared distance.
+ *
+ * <p>
+ * SplineProjectors are immutable and may be queried by many threads at once.
+ * Every query needs a little scratch state; callers that project many points
+ * keep a {@link Query} per thread and pass it to
+ * {@link #project(Query, double[], int, double[], int)}.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class SplineProjector {
+
+    private static final int MAX_LEAF_PIECES = 2;
+    private static final int SAMPLES_PER_DEGREE = 8;
+    private static final int MAX_NEWTON_STEPS = 12;
+    private static final double NEWTON_EPSILON = 1E-12;
+
+    private final CompiledSpline spline;
+    private final int dimension;
+    private final int order;
+    private final int[] pieces;
+    private final double[] nodeMin;
+    private final double[] nodeMax;
+    private final int[] nodeStart;
+    private final int[] nodeCount;
+    private final int[] nodeRight;
+
+    /**
+     * Builds the bounding volume hierarchy over a spline.
+     *
+     * @param spline the spline to project onto.
+     * @since 26.10.18
+     */
+    public SplineProjector(final CompiledSpline spline) {
+        final int pieceCount = spline.pieceCount();
+        final int dim = spline.dimension();
+        final double[] pieceMin = new double[pieceCount * dim];
+        final double[] pieceMax = new double[pieceCount * dim];
+
+        this.spline = spline;
+        this.dimension = dim;
+        this.order = spline.order();
+        this.pieces = new int[pieceCount];
+
+        final double[][] toBernstein = bernsteinConversion(this.order - 1);
+        final double[] coefficients = new double[dim * this.order];
+
+        for (int piece = 0; piece < pieceCount; piece++) {
+            spline.pieceCoefficients(piece, coefficients, 0);
+            this.pieces[piece] = piece;
+
+            for (int j = 0; j < dim; j++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+
+                for (int i = 0; i < this.order; i++) {
+                    double b = 0.0;
+
+                    for (int k = 0; k <= i; k++) {
+                        b += toBernstein[i][k] * coefficients[j * this.order + this.order - 1 - k];
+                    }
+
+                    min = Math.min(min, b);
+                    max = Math.max(max, b);
+                }
+
+                pieceMin[piece * dim + j] = min;
+                pieceMax[piece * dim + j] = max;
+            }
+        }
+
+        final int maxNodes = 2 * pieceCount;
+
+        this.nodeMin = new double[maxNodes * dim];
+        this.nodeMax = new double[maxNodes * dim];
+        this.nodeStart = new int[maxNodes];
+        this.nodeCount = new int[maxNodes];
+        this.nodeRight = new int[maxNodes];
+        this.build(pieceMin, pieceMax, 0, pieceCount, 0);
+    }
+
+    /**
+     * Computes the matrix that converts power basis coefficients of a degree n
+     * polynomial on [0, 1] into Bernstein coefficients: b_i = sum over k of
+     * C(i, k) / C(n, k) * a_k.
+     */
+    private static double[][] bernsteinConversion(final int n) {
+        final double[][] m = new double[n + 1][n + 1];
+
+        for (int i = 0; i <= n; i++) {
+            for (int k = 0; k <= i; k++) {
+                m[i][k] = choose(i, k) / choose(n, k);
+            }
+        }
+
+        return m;
+    }
+
+    private static double choose(final int n, final int k) {
+        double c = 1.0;
+
+        for (int i = 1; i <= k; i++) {
+            c = c * (n - k + i) / i;
+        }
+
+        return c;
+    }
+
+    /**
+     * Builds the subtree over pieces [from, to) in depth first order, rooted at
+     * the given node. The left child of a node directly follows it. Returns
+     * the first node after the subtree.
+     */
+    private int build(final double[] pieceMin, final double[] pieceMax, final int from, final int to, final int node) {
+        final int dim = this.dimension;
+
+        for (int j = 0; j < dim; j++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, pieceMin[this.pieces[i] * dim + j]);
+                max = Math.max(max, pieceMax[this.pieces[i] * dim + j]);
+            }
+
+            this.nodeMin[node * dim + j] = min;
+            this.nodeMax[node * dim + j] = max;
+        }
+
+        if (to - from <= MAX_LEAF_PIECES) {
+            this.nodeStart[node] = from;
+            this.nodeCount[node] = to - from;
+            return node + 1;
+        }
+
+        // split at the median of the box centers along the widest axis
+        int axis = 0;
+
+        for (int j = 1; j < dim; j++) {
+            if (this.nodeMax[node * dim + j] - this.nodeMin[node * dim + j]
+                    > this.nodeMax[node * dim + axis] - this.nodeMin[node * dim + axis]) {
+
+                axis = j;
+            }
+        }
+
+        final int mid = (from + to) >>> 1;
+
+        select(this.pieces, from, to, mid, pieceMin, pieceMax, dim, axis);
+
+        final int right = this.build(pieceMin, pieceMax, from, mid, node + 1);
+
+        this.nodeCount[node] = 0;
+        this.nodeRight[node] = right;
+
+        return this.build(pieceMin, pieceMax, mid, to, right);
+    }
+
+    /**
+     * Partially sorts pieces [from, to) so the piece at index nth has the
+     * median box center along the axis.
+     */
+    private static void select(
+            final int[] pieces, int from, int to, final int nth,
+            final double[] pieceMin, final double[] pieceMax, final int dim, final int axis) {
+
+        while (to - from > 1) {
+            final double pivot = center(pieces[(from + to) >>> 1], pieceMin, pieceMax, dim, axis);
+            int i = from;
+            int j = to - 1;
+
+            while (i <= j) {
+                while (center(pieces[i], pieceMin, pieceMax, dim, axis) < pivot) {
+                    i++;
+                }
+
+                while (center(pieces[j], pieceMin, pieceMax, dim, axis) > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    final int tmp = pieces[i];
+
+                    pieces[i] = pieces[j];
+                    pieces[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+
+            if (nth <= j) {
+                to = j + 1;
+            } else if (nth >= i) {
+                from = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double center(final int piece, final double[] pieceMin, final double[] pieceMax, final int dim, final int axis) {
+        return pieceMin[piece * dim + axis] + pieceMax[piece * dim + axis];
+    }
+
+    /**
+     * Retrieves the spline the projector was built over.
+     *
+     * @return the spline.
+     * @since 26.10.18
+     */
+    public CompiledSpline spline() {
+        return this.spline;
+    }
+
+    /**
+     * Creates the scratch state for a query. A Query may be reused for any
+     * number of queries against this projector, but only by one thread at a
+     * time.
+     *
+     * @return the query state.
+     * @since 26.10.18
+     */
+    public Query newQuery() {
+        return new Query(this.dimension, this.order);
+    }
+
+    /**
+     * Finds the point on the spline closest to a query point. This allocates
+     * the query state on every call; use
+     * {@link #project(Query, double[], int, double[], int)} to reuse it.
+     *
+     * @param query the query point data.
+     * @param queryOffset the offset of the query point.
+     * @param closest the array to write the closest point into. May be null.
+     * @param closestOffset the offset to write the closest point at.
+     * @return the time step of the closest point on range [0, 1]
+     * @since 26.10.18
+     */
+    public double project(final double[] query, final int queryOffset, final double[] closest, final int closestOffset) {
+        return this.project(this.newQuery(), query, queryOffset, closest, closestOffset);
+    }
+
+    /**
+     * Finds the point on the spline closest to a query point without
+     * allocating.
+     *
+     * @param state the query state from {@link #newQuery()}.
+     * @param query the query point data.
+     * @param queryOffset the offset of the query point.
+     * @param closest the array to write the closest point into. May be null.
+     * @param closestOffset the offset to write the closest point at.
+     * @return the time step of the closest point on range [0, 1]
+     * @throws IllegalArgumentException if the query state was created for a
+     * spline of a different dimension or order.
+     * @since 26.10.18
+     */
+    public double project(
+            final Query state,
+            final double[] query, final int queryOffset,
+            final double[] closest, final int closestOffset) {
+
+        if (state.dimension != this.dimension || state.order != this.order) {
+            throw new IllegalArgumentException("Query state does not match the projector!");
+        }
+
+        state.reset();
+        this.search(0, query, queryOffset, state);
+
+        if (closest != null) {
+            this.spline.evalPiece(state.piece, state.s, closest, closestOffset);
+        }
+
+        return (state.piece + state.s) / this.spline.pieceCount();
+    }
+
+    /**
+     * Finds the closest point on the spline for every query point.
+     *
+     * @param queries the query point data.
+     * @param queryOffset the offset of the first query point.
+     * @param queryStride the distance between two consecutive query points.
+     * @param count the number of query points.
+     * @param ts the array to write the time steps into.
+     * @param tOffset the offset of the first time step.
+     * @param closest the array to write the closest points into. May be null.
+     * @param closestOffset the offset of the first closest point.
+     * @param closestStride the distance between two consecutive closest
+     * points.
+     * @since 26.10.18
+     */
+    public void project(
+            final double[] queries, final int queryOffset, final int queryStride, final int count,
+            final double[] ts, final int tOffset,
+            final double[] closest, final int closestOffset, final int closestStride) {
+
+        final Query search = this.newQuery();
+        final int pieceCount = this.spline.pieceCount();
+
+        for (int i = 0; i < count; i++) {
+            search.reset();
+            this.search(0, queries, queryOffset + i * queryStride, search);
+            ts[tOffset + i] = (search.piece + search.s) / pieceCount;
+
+            if (closest != null) {
+                this.spline.evalPiece(search.piece, search.s, closest, closestOffset + i * closestStride);
+            }
+        }
+    }
+
+    private void search(final int node, final double[] query, final int queryOffset, final Query search) {
+        if (this.nodeCount[node] > 0) {
+            final int end = this.nodeStart[node] + this.nodeCount[node];
+
+            for (int i = this.nodeStart[node]; i < end; i++) {
+                this.refine(this.pieces[i], query, queryOffset, search);
+            }
+
+            return;
+        }
+
+        final int left = node + 1;
+        final int right = this.nodeRight[node];
+        final double leftDistance = this.boxDistanceSq(left, query, queryOffset);
+        final double rightDistance = this.boxDistanceSq(right, query, queryOffset);
+
+        // visit the nearer child first so the farther one is more likely to be pruned
+        if (leftDistance <= rightDistance) {
+            if (leftDistance < search.distanceSq) {
+                this.search(left, query, queryOffset, search);
+            }
+
+            if (rightDistance < search.distanceSq) {
+                this.search(right, query, queryOffset, search);
+            }
+        } else {
+            if (rightDistance < search.distanceSq) {
+                this.search(right, query, queryOffset, search);
+            }
+
+            if (leftDistance < search.distanceSq) {
+                this.search(left, query, queryOffset, search);
+            }
+        }
+    }
+
+    private double boxDistanceSq(final int node, final double[] query, final int queryOffset) {
+        final int dim = this.dimension;
+        double sq = 0.0;
+
+        for (int j = 0; j < dim; j++) {
+            final double q = query[queryOffset + j];
+            final double d = Math.max(Math.max(this.nodeMin[node * dim + j] - q, q - this.nodeMax[node * dim + j]), 0.0);
+
+            sq += d * d;
+        }
+
+        return sq;
+    }
+
+    /**
+     * Finds the closest point on one piece. The piece is sampled evenly and
+     * every sample that is closer than both of its neighbors seeds Newton's
+     * method on f(s) = P'(s) . (P(s) - q).
+     */
+    private void refine(final int piece, final double[] query, final int queryOffset, final Query search) {
+        final int intervals = SAMPLES_PER_DEGREE * (this.order - 1);
+        final double[] sampled = search.sampled;
+
+        for (int i = 0; i <= intervals; i++) {
+            this.spline.evalPiece(piece, (double) i / intervals, search.values, 0);
+            sampled[i] = this.distanceSq(search.values, query, queryOffset);
+        }
+
+        for (int i = 0; i <= intervals; i++) {
+            if ((i > 0 && sampled[i - 1] < sampled[i]) || (i < intervals && sampled[i + 1] < sampled[i])) {
+                continue;
+            }
+
+            double bestS = (double) i / intervals;
+            double bestSq = sampled[i];
+            final double s = this.newton(piece, bestS, query, queryOffset, search.values);
+
+            this.spline.evalPiece(piece, s, search.values, 0);
+
+            final double sq = this.distanceSq(search.values, query, queryOffset);
+
+            if (sq < bestSq) {
+                bestSq = sq;
+                bestS = s;
+            }
+
+            if (bestSq < search.distanceSq) {
+                search.distanceSq = bestSq;
+                search.piece = piece;
+                search.s = bestS;
+            }
+        }
+    }
+
+    private double newton(final int piece, double s, final double[] query, final int queryOffset, final double[] values) {
+        final int dim = this.dimension;
+
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            this.spline.evalPiece(piece, s, 2, values, 0);
+
+            double f = 0.0;
+            double df = 0.0;
+
+            for (int j = 0; j < dim; j++) {
+                final double diff = values[j] - query[queryOffset + j];
+                final double d1 = values[dim + j];
+                final double d2 = values[2 * dim + j];
+
+                f += d1 * diff;
+                df += d2 * diff + d1 * d1;
+            }
+
+            if (!(df > 0.0)) {
+                break;
+            }
+
+            final double next = Math.min(Math.max(s - f / df, 0.0), 1.0);
+            final double step = Math.abs(next - s);
+
+            s = next;
+
+            if (step < NEWTON_EPSILON) {
+                break;
+            }
+        }
+
+        return s;
+    }
+
+    private double distanceSq(final double[] point, final double[] query, final int queryOffset) {
+        double sq = 0.0;
+
+        for (int j = 0; j < this.dimension; j++) {
+            final double d = point[j] - query[queryOffset + j];
+
+            sq += d * d;
+        }
+
+        return sq;
+    }
+
+    /**
+     * The scratch state of a query. Each thread keeps its own, which keeps the
+     * projector itself free of mutable fields.
+     *
+     * @since 26.10.18
+     */
+    public static final class Query {
+
+        private final int dimension;
+        private final int order;
+        private final double[] values;
+        private final double[] sampled;
+        private double distanceSq;
+        private int piece;
+        private double s;
+
+        private Query(final int dimension, final int order) {
+            this.dimension = dimension;
+            this.order = order;
+            this.values = new double[3 * dimension];
+            this.sampled = new double[SAMPLES_PER_DEGREE * (order - 1) + 1];
+            this.reset();
+        }
+
+        private void reset() {
+            this.distanceSq = Double.POSITIVE_INFINITY;
+            this.piece = 0;
+            this.s = 0.0;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bakes large numbers of samples of a {@link CompiledSpline} into a single
+ * output array. A sampler constructed with a {@link ForkJoinPool} splits the
+ * samples into chunks that are evaluated in parallel into disjoint regions of
+ * the output. Every sample is computed from its own index with the same
+ * arithmetic in both modes, so the parallel output is bit-identical to the
+ * sequential output regardless of the chunk size or the number of threads.
+ *
+ * <p>
+ * Samplers hold no mutable state and may be shared between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class SplineSampler {
+
+    /**
+     * The number of samples per chunk used when none is specified.
+     *
+     * @since 26.10.18
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Constructs a sequential sampler.
+     *
+     * @since 26.10.18
+     */
+    public SplineSampler() {
+        this(null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a sampler that evaluates chunks of samples on a fork/join
+     * pool.
+     *
+     * @param pool the pool to sample on. Null selects the sequential sampler.
+     * @param chunkSize the largest number of samples evaluated by a single
+     * task.
+     * @since 26.10.18
+     */
+    public SplineSampler(final ForkJoinPool pool, final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1!");
+        }
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Retrieves the number of samples per chunk.
+     *
+     * @return the chunk size.
+     * @since 26.10.18
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Evaluates the spline at count evenly spaced time steps, including both
+     * end points. Sample i is taken at t = i / (count - 1).
+     *
+     * @param spline the spline to sample.
+     * @param count the number of samples; at least 2.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public void sample(
+            final CompiledSpline spline, final int count,
+            final double[] out, final int outOffset, final int outStride) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("At least 2 samples are required!");
+        }
+
+        this.run(new SampleAction(spline, null, 0, count, out, outOffset, outStride, this.chunkSize, 0, count));
+    }
+
+    /**
+     * Evaluates the spline at every time step.
+     *
+     * @param spline the spline to sample.
+     * @param ts the time steps.
+     * @param tOffset the offset of the first time step.
+     * @param count the number of time steps.
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @since 26.10.18
+     */
+    public void sample(
+            final CompiledSpline spline,
+            final double[] ts, final int tOffset, final int count,
+            final double[] out, final int outOffset, final int outStride) {
+
+        this.run(new SampleAction(spline, ts, tOffset, count, out, outOffset, outStride, this.chunkSize, 0, count));
+    }
+
+    private void run(final SampleAction action) {
+        if (this.pool == null || action.to - action.from <= this.chunkSize) {
+            // compute() would fork onto the common pool above the chunk size
+            action.sample();
+        } else {
+            this.pool.invoke(action);
+        }
+    }
+
+    private static final class SampleAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CompiledSpline spline;
+        private final double[] ts;
+        private final int tOffset;
+        private final int count;
+        private final double[] out;
+        private final int outOffset;
+        private final int outStride;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        private SampleAction(
+                final CompiledSpline spline,
+                final double[] ts, final int tOffset, final int count,
+                final double[] out, final int outOffset, final int outStride,
+                final int chunkSize, final int from, final int to) {
+
+            this.spline = spline;
+            this.ts = ts;
+            this.tOffset = tOffset;
+            this.count = count;
+            this.out = out;
+            this.outOffset = outOffset;
+            this.outStride = outStride;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.chunkSize) {
+                this.sample();
+            } else {
+                final int mid = (this.from + this.to) >>> 1;
+
+                invokeAll(this.split(this.from, mid), this.split(mid, this.to));
+            }
+        }
+
+        private SampleAction split(final int from, final int to) {
+            return new SampleAction(
+                    this.spline, this.ts, this.tOffset, this.count,
+                    this.out, this.outOffset, this.outStride,
+                    this.chunkSize, from, to);
+        }
+
+        private void sample() {
+            // each sample depends only on its index, which keeps the output independent of the chunking
+            if (this.ts == null) {
+                final double last = this.count - 1;
+
+                for (int i = this.from; i < this.to; i++) {
+                    this.spline.eval(i / last, this.out, this.outOffset + i * this.outStride);
+                }
+            } else {
+                for (int i = this.from; i < this.to; i++) {
+                    this.spline.eval(this.ts[this.tOffset + i], this.out, this.outOffset + i * this.outStride);
+                }
+            }
+        }
+    }
+}
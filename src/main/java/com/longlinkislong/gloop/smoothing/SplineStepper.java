@@ -0,0 +1,205 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * Walks a {@link CompiledSpline} with a fixed number of evenly spaced samples
+ * per segment using forward differences. Within a polynomial piece of degree
+ * n every step costs n additions per component instead of a full evaluation.
+ * The difference table is rebuilt from an exact evaluation at the start of
+ * every piece and after every 32 steps so rounding errors cannot accumulate.
+ *
+ * <p>
+ * A stepper must not be shared between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class SplineStepper {
+
+    private static final int REANCHOR_INTERVAL = 32;
+
+    private final CompiledSpline spline;
+    private final int samplesPerSegment;
+    private final int sampleCount;
+    private final int dimension;
+    private final int degree;
+    private final double step;
+    private final double[] differences;
+
+    private int index;
+    private int piece;
+    private int stepsSinceAnchor;
+
+    /**
+     * Constructs a stepper over a spline. The stepper produces
+     * samplesPerSegment * segmentCount + 1 samples, including both end points
+     * of the spline.
+     *
+     * @param spline the spline to walk.
+     * @param samplesPerSegment the number of steps per segment.
+     * @since 26.10.18
+     */
+    public SplineStepper(final CompiledSpline spline, final int samplesPerSegment) {
+        if (samplesPerSegment < 1) {
+            throw new IllegalArgumentException("At least 1 sample per segment is required!");
+        }
+
+        this.spline = spline;
+        this.samplesPerSegment = samplesPerSegment;
+        this.sampleCount = samplesPerSegment * spline.segmentCount() + 1;
+        this.dimension = spline.dimension();
+        this.degree = spline.order() - 1;
+        this.step = (double) spline.piecesPerSegment() / samplesPerSegment;
+        this.differences = new double[(this.degree + 1) * this.dimension];
+        this.reset();
+    }
+
+    /**
+     * Moves the stepper back to the start of the spline.
+     *
+     * @since 26.10.18
+     */
+    public void reset() {
+        this.index = 0;
+        this.anchor();
+    }
+
+    /**
+     * Retrieves the total number of samples.
+     *
+     * @return the number of samples.
+     * @since 26.10.18
+     */
+    public int sampleCount() {
+        return this.sampleCount;
+    }
+
+    /**
+     * Retrieves the number of samples that have not been written yet.
+     *
+     * @return the remaining samples.
+     * @since 26.10.18
+     */
+    public int remaining() {
+        return this.sampleCount - this.index;
+    }
+
+    /**
+     * Checks if there are samples left.
+     *
+     * @return true if {@link #next(double[], int)} may be called.
+     * @since 26.10.18
+     */
+    public boolean hasNext() {
+        return this.index < this.sampleCount;
+    }
+
+    /**
+     * Retrieves the time step of the next sample.
+     *
+     * @return the time step on range [0, 1]
+     * @since 26.10.18
+     */
+    public double time() {
+        return (double) this.index / (this.sampleCount - 1);
+    }
+
+    /**
+     * Writes the next sample and advances the stepper.
+     *
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @throws IllegalStateException if there are no samples left.
+     * @since 26.10.18
+     */
+    public void next(final double[] out, final int outOffset) {
+        if (this.index >= this.sampleCount) {
+            throw new IllegalStateException("No samples left!");
+        }
+
+        System.arraycopy(this.differences, 0, out, outOffset, this.dimension);
+        this.advance();
+    }
+
+    /**
+     * Writes up to maxSamples samples and advances the stepper past them.
+     *
+     * @param out the array to write the points into.
+     * @param outOffset the offset of the first output point.
+     * @param outStride the distance between two consecutive output points.
+     * @param maxSamples the largest number of samples to write.
+     * @return the number of samples written.
+     * @since 26.10.18
+     */
+    public int next(final double[] out, final int outOffset, final int outStride, final int maxSamples) {
+        final int n = Math.min(maxSamples, this.remaining());
+
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(this.differences, 0, out, outOffset + i * outStride, this.dimension);
+            this.advance();
+        }
+
+        return n;
+    }
+
+    private void advance() {
+        this.index++;
+
+        if (this.index >= this.sampleCount) {
+            return;
+        }
+
+        final int nextPiece = this.pieceOf(this.index);
+
+        if (nextPiece != this.piece || ++this.stepsSinceAnchor >= REANCHOR_INTERVAL) {
+            this.anchor();
+        } else {
+            // row k holds the k-th forward difference; each row absorbs the one below it
+            final int dim = this.dimension;
+
+            for (int k = 0; k < this.degree; k++) {
+                final int row = k * dim;
+
+                for (int j = 0; j < dim; j++) {
+                    this.differences[row + j] += this.differences[row + dim + j];
+                }
+            }
+        }
+    }
+
+    private int pieceOf(final int sample) {
+        final long scaled = (long) sample * this.spline.piecesPerSegment();
+
+        return (int) Math.min(scaled / this.samplesPerSegment, this.spline.pieceCount() - 1);
+    }
+
+    /**
+     * Rebuilds the difference table from exact evaluations at the current
+     * sample and the following degree samples of the same piece.
+     */
+    private void anchor() {
+        final int dim = this.dimension;
+        final long scaled = (long) this.index * this.spline.piecesPerSegment();
+
+        this.piece = this.pieceOf(this.index);
+        this.stepsSinceAnchor = 0;
+
+        final double s0 = (double) (scaled - (long) this.piece * this.samplesPerSegment) / this.samplesPerSegment;
+
+        for (int k = 0; k <= this.degree; k++) {
+            this.spline.evalPiece(this.piece, s0 + k * this.step, this.differences, k * dim);
+        }
+
+        for (int level = 1; level <= this.degree; level++) {
+            for (int k = this.degree; k >= level; k--) {
+                for (int j = 0; j < dim; j++) {
+                    this.differences[k * dim + j] -= this.differences[(k - 1) * dim + j];
+                }
+            }
+        }
+    }
+}
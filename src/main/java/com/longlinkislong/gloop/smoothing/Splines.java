@@ -6,11 +6,8 @@
 package com.longlinkislong.gloop.smoothing;
 
 import com.longlinkislong.gloop.GLVecD;
+import com.longlinkislong.gloop.GLVecF;
 import com.longlinkislong.gloop.Vectors;
-import static com.longlinkislong.gloop.smoothing.SmoothingUtils.N;
-import static java.lang.Math.max;
-import static java.lang.Math.min;
-import static java.lang.Math.pow;
 import java.util.List;
 
 /**
@@ -35,29 +32,41 @@ public class Splines {
      * @since 15.07.24
      */
     public static <VecT extends GLVecD> VecT bezier(final double t, final List<VecT> points) {
-        final int size = points.size();
-        final double[] m = new double[size];
-        double mSum = 0.0;
+        final int dimension = points.get(0).size();
+        final double[] out = new double[dimension];
 
-        for (int i = 0; i < size; i++) {
-            m[i] = SmoothingUtils.binomialCoeff(size, i) * pow((1.0 - t), size - i) * pow(t, i);
-            mSum += m[i];
-        }
+        PrimitiveSplines.bezier(t, toArray(points), 0, dimension, points.size(), dimension, out, 0);
 
-        final int vSize = points.get(0).size();
-        GLVecD<?> out = (GLVecD<?>) points.get(0).copyTo(Vectors.DEFAULT_FACTORY).zero();
+        return toVector(points.get(0), out);
+    }
 
-        for (int i = 0; i < size; i++) {
-            final VecT v = points.get(i);
+    /**
+     * Interpolates a point across a chain of cubic Bezier curves. Every curve
+     * shares its last point with the first point of the next, so 3 * n + 1
+     * points describe n curves.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the time step on range [0, 1]
+     * @param points the points to interpolate across.
+     * @return the interpolated point.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> VecT piecewiseBezier(final double t, final List<VecT> points) {
+        final int dimension = points.get(0).size();
+        final double[] out = new double[dimension];
 
-            for (int j = 0; j < vSize; j++) {
-                out = out.plus(v.scale(m[i]));
-            }
+        final int curves = (points.size() - 1) / 3;
+        final double x = t * curves;
+        final int curve = Math.min(Math.max((int) x, 0), curves - 1);
+        final double[] window = new double[4 * dimension];
+
+        for (int r = 0; r < 4; r++) {
+            copy(points, 3 * curve + r, window, r * dimension);
         }
 
-        out.scale(1.0 / mSum);
+        PrimitiveSplines.piecewiseBezier(x - curve, window, 0, dimension, 4, dimension, out, 0);
 
-        return (VecT) out;
+        return toVector(points.get(0), out);
     }
 
     /**
@@ -75,60 +84,22 @@ public class Splines {
      * @since 15.07.24
      */
     public static <VecT extends GLVecD> VecT besselOverhauser(final double t, final List<VecT> points) {
-        final int size = points.size();
-        final int[] index = new int[4];
-        double iT = t * (size - 1.0);
-
-        index[1] = (int) iT;
-        index[0] = min(max(index[1] - 1, 0), size - 1);
-        index[2] = min(index[1] + 1, size - 1);
-        index[3] = min(index[1] + 2, size - 1);
-
-        iT -= index[1];
-
-        VecT v0 = points.get(index[0]);
-        VecT v1 = points.get(index[1]);
-        VecT v2 = points.get(index[2]);
-
-        GLVecD<?> p1mp0 = v1.minus(v0);
-        GLVecD<?> p2mp1 = v2.minus(v1);
-        double dm = p1mp0.length();
-        double dp = p2mp1.length();
-        GLVecD<?> vp = p2mp1.scale(1.0 / dp);
-        GLVecD<?> vm = p1mp0.scale(1.0 / dm);
-        GLVecD<?> v = (vm.scale(dp).plus(vp.scale(dm))).scale(1.0 / (dp + dm));
-
-        GLVecD<?> v3 = v1.minus(v.scale(dm / 3.0));
-        GLVecD<?> v4 = v1;
-        GLVecD<?> v5 = v1.plus(v.scale(dp / 3.0));
-
-        v0 = points.get(index[1]);
-        v1 = points.get(index[2]);
-        v2 = points.get(index[3]);
-
-        p2mp1 = v1.minus(v0);
-        GLVecD<?> p3mp2 = v2.minus(v1);
-        dm = p2mp1.length();
-        dp = p3mp2.length();
-        vp = p3mp2.scale(1.0 / dp);
-        vm = p2mp1.scale((1.0 / dm));
-        v = vm.scale(dp).plus(vp.scale(dm)).scale(1.0 / (dp + dm));
-
-        GLVecD<?> v6 = v1.minus(v.scale(dm / 3.0));
-        GLVecD<?> v7 = v1;
-        GLVecD<?> v8 = v1.plus(v.scale(dp / 3.0));
-
-        final double u = 2.0 + (iT * 4.0);
-        GLVecD<?> out = (GLVecD<?>) v0.copyTo(Vectors.DEFAULT_FACTORY).zero();
-
-        out = out.plus(v3.scale(N(0, 3, u)));
-        out = out.plus(v4.scale(N(1, 3, u)));
-        out = out.plus(v5.scale(N(2, 3, u)));
-        out = out.plus(v6.scale(N(3, 3, u)));
-        out = out.plus(v7.scale(N(4, 3, u)));
-        out = out.plus(v8.scale(N(5, 3, u)));
+        final int dimension = points.get(0).size();
+        final double[] out = new double[dimension];
 
-        return (VecT) out;
+        final int count = points.size();
+        final double iT = t * (count - 1.0);
+        final int i1 = (int) iT;
+        final double[] window = new double[4 * dimension];
+
+        copy(points, Math.min(Math.max(i1 - 1, 0), count - 1), window, 0);
+        copy(points, i1, window, dimension);
+        copy(points, Math.min(i1 + 1, count - 1), window, 2 * dimension);
+        copy(points, Math.min(i1 + 2, count - 1), window, 3 * dimension);
+
+        PrimitiveSplines.besselOverhauserSegment(iT - i1, window, 0, dimension, dimension, 0, 1, 2, 3, out, 0);
+
+        return toVector(points.get(0), out);
     }
 
     /**
@@ -145,15 +116,23 @@ public class Splines {
         }
 
         return (double t, List<VecT> points) -> {
-            final int size = points.size();
-            final double u = (degrees - 1.0) + (t * (size - (degrees - 1.0)));
-            GLVecD<?> out = (GLVecD<?>) points.get(0).copyTo(Vectors.DEFAULT_FACTORY).zero();
-
-            for (int i = 0; i < size; i++) {
-                out = out.plus(points.get(i).scale(N(i, degrees, u)));
+            final int dimension = points.get(0).size();
+            final double[] out = new double[dimension];
+
+            final int count = points.size();
+            final double u = (degrees - 1.0) + (t * (count - (degrees - 1.0)));
+            // only the degrees points of the span containing u are read
+            final int span = Math.min(Math.max((int) u, degrees - 1), count - 1);
+            final double[] window = new double[degrees * dimension];
+            final double[] basis = new double[degrees];
+
+            for (int r = 0; r < degrees; r++) {
+                copy(points, span - degrees + 1 + r, window, r * dimension);
             }
 
-            return (VecT) out;
+            PrimitiveSplines.bSplineSpan(degrees, u - span, window, 0, dimension, dimension, basis, out, 0);
+
+            return toVector(points.get(0), out);
         };
     }
 
@@ -174,45 +153,346 @@ public class Splines {
      */
     public static <VecT extends GLVecD> Spline<VecT> genTCBSpline(final double t, final double c, final double b) {
         return (double timestep, List<VecT> points) -> {
-            final int size = points.size();
-            final int[] index = new int[4];
-            double iT = timestep * (size - 1.0);
-
-            index[1] = min((int) iT, size - 1);
-            index[0] = min(max(0, index[1] - 1), size - 1);
-            index[2] = min(index[1] + 1, size - 1);
-            index[3] = min(index[1] + 2, size - 1);
-
-            iT -= index[1];
-            GLVecD<?> v0 = points.get(index[0]);
-            GLVecD<?> v1 = points.get(index[1]);
-            GLVecD<?> v2 = points.get(index[2]);
-
-            GLVecD<?> I = (v1.minus(v0)).scale((1.0 - t) * (1.0 + b) * (1.0 + c) / 6.0).plus((v2.minus(v1)).scale((1.0 - t) * (1.0 - b) * (1.0 - c) / 6.0));
-            GLVecD<?> v3 = v1.minus(I);
-            GLVecD<?> v4 = v1;
-            GLVecD<?> v5 = v1.plus(I);
-
-            v0 = points.get(index[1]);
-            v1 = points.get(index[2]);
-            v2 = points.get(index[3]);
-
-            I = (v1.minus(v0)).scale((1.0 - t) * (1.0 + b) * (1.0 - c) / 6.0).plus((v2.minus(v1)).scale((1.0 - t) * (1.0 - b) * (1.0 + c) / 6.0));
-            GLVecD<?> v6 = v1.minus(I);
-            GLVecD<?> v7 = v1;
-            GLVecD<?> v8 = v1.plus(I);
-
-            final double u = 2.0 + (iT * 4.0);
-            GLVecD<?> out = (GLVecD<?>) points.get(0).copyTo(Vectors.DEFAULT_FACTORY).zero();
-
-            out = out.plus(v3.scale(N(0, 3, u)));
-            out = out.plus(v4.scale(N(1, 3, u)));
-            out = out.plus(v5.scale(N(2, 3, u)));
-            out = out.plus(v6.scale(N(3, 3, u)));
-            out = out.plus(v7.scale(N(4, 3, u)));
-            out = out.plus(v8.scale(N(5, 3, u)));
-
-            return (VecT) out;
+            final int dimension = points.get(0).size();
+            final double[] out = new double[dimension];
+
+            final int count = points.size();
+            final double iT = timestep * (count - 1.0);
+            final int i1 = Math.min((int) iT, count - 1);
+            final double[] window = new double[4 * dimension];
+
+            copy(points, Math.min(Math.max(0, i1 - 1), count - 1), window, 0);
+            copy(points, i1, window, dimension);
+            copy(points, Math.min(i1 + 1, count - 1), window, 2 * dimension);
+            copy(points, Math.min(i1 + 2, count - 1), window, 3 * dimension);
+
+            PrimitiveSplines.tcbSegment(t, c, b, iT - i1, window, 0, dimension, dimension, 0, 1, 2, 3, out, 0);
+
+            return toVector(points.get(0), out);
         };
     }
+
+    /**
+     * Interpolates a point across the collection of points using a Bezier
+     * curve.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the time step on range [0, 1)
+     * @param points the points to interpolate across.
+     * @return the interpolated point.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT bezier(final float t, final List<VecT> points) {
+        final int dimension = points.get(0).size();
+        final float[] out = new float[dimension];
+
+        PrimitiveSplines.bezier(t, toFloatArray(points), 0, dimension, points.size(), dimension, out, 0);
+
+        return toVector(points.get(0), out);
+    }
+
+    /**
+     * Interpolates a point across a chain of cubic Bezier curves.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the time step on range [0, 1]
+     * @param points the points to interpolate across.
+     * @return the interpolated point.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT piecewiseBezier(final float t, final List<VecT> points) {
+        final int dimension = points.get(0).size();
+        final float[] out = new float[dimension];
+
+        final int curves = (points.size() - 1) / 3;
+        final float x = t * curves;
+        final int curve = Math.min(Math.max((int) x, 0), curves - 1);
+        final float[] window = new float[4 * dimension];
+
+        for (int r = 0; r < 4; r++) {
+            copy(points, 3 * curve + r, window, r * dimension);
+        }
+
+        PrimitiveSplines.piecewiseBezier(x - curve, window, 0, dimension, 4, dimension, out, 0);
+
+        return toVector(points.get(0), out);
+    }
+
+    /**
+     * Evaluates a Bessel-Overhauser spline.
+     *
+     * @param <VecT> the type of vector.
+     * @param t The time step value on range [0, 1)
+     * @param points the list of points.
+     * @return the interpolated point.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> VecT besselOverhauser(final float t, final List<VecT> points) {
+        final int dimension = points.get(0).size();
+        final float[] out = new float[dimension];
+
+        final int count = points.size();
+        final float iT = t * (count - 1f);
+        final int i1 = (int) iT;
+        final float[] window = new float[4 * dimension];
+
+        copy(points, Math.min(Math.max(i1 - 1, 0), count - 1), window, 0);
+        copy(points, i1, window, dimension);
+        copy(points, Math.min(i1 + 1, count - 1), window, 2 * dimension);
+        copy(points, Math.min(i1 + 2, count - 1), window, 3 * dimension);
+
+        PrimitiveSplines.besselOverhauserSegment(iT - i1, window, 0, dimension, dimension, 0, 1, 2, 3, out, 0);
+
+        return toVector(points.get(0), out);
+    }
+
+    /**
+     * Generates a single precision BSpline.
+     *
+     * @param <VecT> the type of vector.
+     * @param degrees the degree of the polynomial.
+     * @return the spline function.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> SplineF<VecT> getBSplineF(int degrees) {
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        }
+
+        return (float t, List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+            final float[] out = new float[dimension];
+
+            final int count = points.size();
+            final float u = (degrees - 1f) + (t * (count - (degrees - 1f)));
+            final int span = Math.min(Math.max((int) u, degrees - 1), count - 1);
+            final float[] window = new float[degrees * dimension];
+            final float[] basis = new float[degrees];
+
+            for (int r = 0; r < degrees; r++) {
+                copy(points, span - degrees + 1 + r, window, r * dimension);
+            }
+
+            PrimitiveSplines.bSplineSpan(degrees, u - span, window, 0, dimension, dimension, basis, out, 0);
+
+            return toVector(points.get(0), out);
+        };
+    }
+
+    /**
+     * Generates a single precision TCB spline (Kochanek-Bartels).
+     *
+     * @param <VecT> the type of vector.
+     * @param t the tension value; changes the length of the tangent vector.
+     * @param c the continuity value; changes the sharpness in change between
+     * tangents.
+     * @param b the bias value; changes the direction of the tangent vector.
+     * @return the TCB spline.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecF> SplineF<VecT> genTCBSplineF(final float t, final float c, final float b) {
+        return (float timestep, List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+            final float[] out = new float[dimension];
+
+            final int count = points.size();
+            final float iT = timestep * (count - 1f);
+            final int i1 = Math.min((int) iT, count - 1);
+            final float[] window = new float[4 * dimension];
+
+            copy(points, Math.min(Math.max(0, i1 - 1), count - 1), window, 0);
+            copy(points, i1, window, dimension);
+            copy(points, Math.min(i1 + 1, count - 1), window, 2 * dimension);
+            copy(points, Math.min(i1 + 2, count - 1), window, 3 * dimension);
+
+            PrimitiveSplines.tcbSegment(t, c, b, iT - i1, window, 0, dimension, dimension, 0, 1, 2, 3, out, 0);
+
+            return toVector(points.get(0), out);
+        };
+    }
+
+    /**
+     * Generates a compiler for Bessel-Overhauser splines. The compiled spline
+     * caches the intermediate control points of every segment.
+     *
+     * @param <VecT> the type of vector.
+     * @return the spline compiler.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> SplineCompiler<VecT> getBesselOverhauserCompiler() {
+        return (List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+
+            return CompiledSpline.besselOverhauser(toArray(points), 0, dimension, points.size(), dimension);
+        };
+    }
+
+    /**
+     * Generates a compiler for chains of cubic Bezier curves.
+     *
+     * @param <VecT> the type of vector.
+     * @return the spline compiler.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> SplineCompiler<VecT> getPiecewiseBezierCompiler() {
+        return (List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+
+            return CompiledSpline.piecewiseBezier(toArray(points), 0, dimension, points.size(), dimension);
+        };
+    }
+
+    /**
+     * Generates a compiler for BSplines.
+     *
+     * @param <VecT> the type of vector.
+     * @param degrees the degree of the polynomial.
+     * @return the spline compiler.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> SplineCompiler<VecT> getBSplineCompiler(int degrees) {
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        }
+
+        return (List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+
+            return CompiledSpline.bSpline(degrees, toArray(points), 0, dimension, points.size(), dimension);
+        };
+    }
+
+    /**
+     * Generates a compiler for TCB splines. The compiled spline caches the
+     * intermediate control points of every segment.
+     *
+     * @param <VecT> the type of vector.
+     * @param t the tension value.
+     * @param c the continuity value.
+     * @param b the bias value.
+     * @return the spline compiler.
+     * @since 26.10.18
+     */
+    public static <VecT extends GLVecD> SplineCompiler<VecT> genTCBCompiler(final double t, final double c, final double b) {
+        return (List<VecT> points) -> {
+            final int dimension = points.get(0).size();
+
+            return CompiledSpline.tcbSpline(t, c, b, toArray(points), 0, dimension, points.size(), dimension);
+        };
+    }
+
+    /**
+     * Copies the components of each point into a tightly packed array.
+     *
+     * @param points the points.
+     * @return the point data with stride equal to the vector size.
+     */
+    static double[] toArray(final List<? extends GLVecD> points) {
+        final int size = points.size();
+        final int dimension = points.get(0).size();
+        final double[] out = new double[size * dimension];
+
+        for (int i = 0; i < size; i++) {
+            final GLVecD<?> v = points.get(i);
+
+            for (int j = 0; j < dimension; j++) {
+                out[i * dimension + j] = v.get(j);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Copies the components of one point. The spline functions copy only the
+     * few points around the time step instead of the whole list.
+     *
+     * @param points the points.
+     * @param index the index of the point to copy.
+     * @param out the array to write the components into.
+     * @param outOffset the offset to write the components at.
+     */
+    static void copy(final List<? extends GLVecD> points, final int index, final double[] out, final int outOffset) {
+        final GLVecD<?> v = points.get(index);
+        final int dimension = v.size();
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = v.get(j);
+        }
+    }
+
+    /**
+     * Constructs a vector of the same type as the template from the components.
+     *
+     * @param <VecT> the type of vector.
+     * @param template the vector to copy the type from.
+     * @param components the vector components.
+     * @return the new vector.
+     */
+    static <VecT extends GLVecD> VecT toVector(final VecT template, final double[] components) {
+        final GLVecD<?> out = (GLVecD<?>) template.copyTo(Vectors.DEFAULT_FACTORY);
+
+        for (int j = 0; j < components.length; j++) {
+            out.set(j, components[j]);
+        }
+
+        return (VecT) out;
+    }
+
+    /**
+     * Copies the components of each point into a tightly packed array.
+     *
+     * @param points the points.
+     * @return the point data with stride equal to the vector size.
+     */
+    static float[] toFloatArray(final List<? extends GLVecF> points) {
+        final int size = points.size();
+        final int dimension = points.get(0).size();
+        final float[] out = new float[size * dimension];
+
+        for (int i = 0; i < size; i++) {
+            final GLVecF<?> v = points.get(i);
+
+            for (int j = 0; j < dimension; j++) {
+                out[i * dimension + j] = v.get(j);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Copies the components of one point.
+     *
+     * @param points the points.
+     * @param index the index of the point to copy.
+     * @param out the array to write the components into.
+     * @param outOffset the offset to write the components at.
+     */
+    static void copy(final List<? extends GLVecF> points, final int index, final float[] out, final int outOffset) {
+        final GLVecF<?> v = points.get(index);
+        final int dimension = v.size();
+
+        for (int j = 0; j < dimension; j++) {
+            out[outOffset + j] = v.get(j);
+        }
+    }
+
+    /**
+     * Constructs a vector of the same type as the template from the components.
+     *
+     * @param <VecT> the type of vector.
+     * @param template the vector to copy the type from.
+     * @param components the vector components.
+     * @return the new vector.
+     */
+    static <VecT extends GLVecF> VecT toVector(final VecT template, final float[] components) {
+        final GLVecF<?> out = (GLVecF<?>) template.copyTo(Vectors.DEFAULT_FACTORY);
+
+        for (int j = 0; j < components.length; j++) {
+            out.set(j, components[j]);
+        }
+
+        return (VecT) out;
+    }
 }
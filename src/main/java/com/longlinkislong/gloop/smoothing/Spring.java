@@ -0,0 +1,122 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * A single spring animation in absolute time. The spring remembers the time
+ * it was last released or retargeted along with its displacement and velocity
+ * at that moment, so its position and velocity at any later time are
+ * evaluated in closed form by its {@link SpringEasing}. Changing the target
+ * re-derives that starting state from the current motion, so the value
+ * continues smoothly towards the new target. A Spring must not be shared
+ * between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class Spring {
+
+    private final SpringEasing easing;
+    private double origin;
+    private double target;
+    private double displacement;
+    private double velocity;
+
+    /**
+     * Constructs a spring at rest on its target at time 0.
+     *
+     * @param easing the spring configuration.
+     * @param target the initial position and target.
+     * @since 26.10.18
+     */
+    public Spring(final SpringEasing easing, final double target) {
+        this.easing = easing;
+        this.target = target;
+    }
+
+    /**
+     * Retrieves the spring configuration.
+     *
+     * @return the spring easing.
+     * @since 26.10.18
+     */
+    public SpringEasing easing() {
+        return this.easing;
+    }
+
+    /**
+     * Retrieves the current target.
+     *
+     * @return the target.
+     * @since 26.10.18
+     */
+    public double target() {
+        return this.target;
+    }
+
+    /**
+     * Places the spring in a new state.
+     *
+     * @param time the current time.
+     * @param position the position at the current time.
+     * @param velocity the velocity at the current time.
+     * @param target the target.
+     * @since 26.10.18
+     */
+    public void set(final double time, final double position, final double velocity, final double target) {
+        this.origin = time;
+        this.target = target;
+        this.displacement = position - target;
+        this.velocity = velocity;
+    }
+
+    /**
+     * Changes the target without disturbing the current motion.
+     *
+     * @param time the current time.
+     * @param target the new target.
+     * @since 26.10.18
+     */
+    public void retarget(final double time, final double target) {
+        this.set(time, this.position(time), this.velocity(time), target);
+    }
+
+    /**
+     * Evaluates the position.
+     *
+     * @param time the time; not earlier than the last release or retarget.
+     * @return the position.
+     * @since 26.10.18
+     */
+    public double position(final double time) {
+        return this.target + this.easing.displacement(this.displacement, this.velocity, time - this.origin);
+    }
+
+    /**
+     * Evaluates the velocity.
+     *
+     * @param time the time; not earlier than the last release or retarget.
+     * @return the velocity.
+     * @since 26.10.18
+     */
+    public double velocity(final double time) {
+        return this.easing.velocity(this.displacement, this.velocity, time - this.origin);
+    }
+
+    /**
+     * Checks if the spring has settled on its target.
+     *
+     * @param time the time.
+     * @param tolerance the largest distance and speed considered at rest.
+     * @return true if both the distance to the target and the speed are
+     * within the tolerance.
+     * @since 26.10.18
+     */
+    public boolean isAtRest(final double time, final double tolerance) {
+        return Math.abs(this.position(time) - this.target) <= tolerance
+                && Math.abs(this.velocity(time)) <= tolerance;
+    }
+}
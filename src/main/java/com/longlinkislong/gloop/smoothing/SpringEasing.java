@@ -0,0 +1,354 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import com.longlinkislong.gloop.GLVecD;
+
+/**
+ * A damped spring evaluated in closed form. A unit mass pulled towards a
+ * target by a spring with undamped angular frequency w and damping ratio z
+ * follows x'' = -w^2 (x - target) - 2 z w x'. The displacement from the target
+ * is a decaying oscillation when z &lt; 1, exp(-w t) (A + B t) when z = 1 and
+ * the sum of two decaying exponentials when z &gt; 1; the coefficients follow
+ * from the displacement and velocity at the start. Any time step costs the
+ * same few exp and trig calls, independent of how stiff the spring is.
+ *
+ * <p>
+ * As a {@link ScalarEasing} the spring starts at rest at start and is pulled
+ * towards start + delta, with the angular frequency measured in radians per
+ * duration. The value is not snapped to the end at the end of the duration;
+ * pick a frequency and damping ratio that settle within it. {@link Spring}
+ * tracks a single spring in absolute time and can change its target while it
+ * moves; {@link #eval(double, double[], double[], double[], double[], double[], double[], int, int)}
+ * and
+ * {@link #retarget(double, double[], double[], double[], double[], double[], int, int)}
+ * do the same for arrays of springs that share one configuration.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class SpringEasing implements ScalarEasing {
+
+    private static final double CRITICAL_EPSILON = 1E-9;
+
+    private static final int UNDERDAMPED = 0;
+    private static final int CRITICALLY_DAMPED = 1;
+    private static final int OVERDAMPED = 2;
+
+    private final double frequency;
+    private final double dampingRatio;
+    private final int regime;
+    // underdamped: decay rate and damped frequency; overdamped: the two real roots
+    private final double decay;
+    private final double dampedFrequency;
+    private final double root1;
+    private final double root2;
+
+    private SpringEasing(final double frequency, final double dampingRatio) {
+        this.frequency = frequency;
+        this.dampingRatio = dampingRatio;
+        this.decay = dampingRatio * frequency;
+
+        if (Math.abs(dampingRatio - 1.0) < CRITICAL_EPSILON) {
+            this.regime = CRITICALLY_DAMPED;
+            this.dampedFrequency = 0.0;
+            this.root1 = -frequency;
+            this.root2 = -frequency;
+        } else if (dampingRatio < 1.0) {
+            this.regime = UNDERDAMPED;
+            this.dampedFrequency = frequency * Math.sqrt(1.0 - dampingRatio * dampingRatio);
+            this.root1 = 0.0;
+            this.root2 = 0.0;
+        } else {
+            final double s = Math.sqrt(dampingRatio * dampingRatio - 1.0);
+
+            this.regime = OVERDAMPED;
+            this.dampedFrequency = 0.0;
+            this.root1 = -frequency * (dampingRatio - s);
+            this.root2 = -frequency * (dampingRatio + s);
+        }
+    }
+
+    /**
+     * Constructs a spring from its angular frequency and damping ratio.
+     *
+     * @param angularFrequency the undamped angular frequency in radians per
+     * unit of time. Must be greater than 0.
+     * @param dampingRatio the damping ratio. 0 never settles, values below 1
+     * overshoot and oscillate, 1 settles as fast as possible without
+     * overshooting and values above 1 approach the target slowly.
+     * @return the spring.
+     * @since 26.10.18
+     */
+    public static SpringEasing of(final double angularFrequency, final double dampingRatio) {
+        if (!(angularFrequency > 0.0 && angularFrequency < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Angular frequency must be greater than 0!");
+        } else if (!(dampingRatio >= 0.0 && dampingRatio < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Damping ratio must not be negative!");
+        }
+
+        return new SpringEasing(angularFrequency, dampingRatio);
+    }
+
+    /**
+     * Constructs a spring from physical constants.
+     *
+     * @param stiffness the spring constant. Must be greater than 0.
+     * @param damping the damping coefficient. Must not be negative.
+     * @param mass the mass. Must be greater than 0.
+     * @return the spring.
+     * @since 26.10.18
+     */
+    public static SpringEasing fromStiffness(final double stiffness, final double damping, final double mass) {
+        if (!(stiffness > 0.0)) {
+            throw new IllegalArgumentException("Stiffness must be greater than 0!");
+        } else if (!(mass > 0.0)) {
+            throw new IllegalArgumentException("Mass must be greater than 0!");
+        }
+
+        return of(Math.sqrt(stiffness / mass), damping / (2.0 * Math.sqrt(stiffness * mass)));
+    }
+
+    /**
+     * Retrieves the undamped angular frequency.
+     *
+     * @return the angular frequency in radians per unit of time.
+     * @since 26.10.18
+     */
+    public double getAngularFrequency() {
+        return this.frequency;
+    }
+
+    /**
+     * Retrieves the damping ratio.
+     *
+     * @return the damping ratio.
+     * @since 26.10.18
+     */
+    public double getDampingRatio() {
+        return this.dampingRatio;
+    }
+
+    /**
+     * Computes the displacement from the target after some time.
+     *
+     * @param displacement the displacement from the target at time 0.
+     * @param velocity the velocity at time 0.
+     * @param time the elapsed time.
+     * @return the displacement from the target.
+     * @since 26.10.18
+     */
+    public double displacement(final double displacement, final double velocity, final double time) {
+        switch (this.regime) {
+            case UNDERDAMPED: {
+                final double envelope = Math.exp(-this.decay * time);
+                final double angle = this.dampedFrequency * time;
+
+                return envelope * (displacement * Math.cos(angle)
+                        + (velocity + this.decay * displacement) / this.dampedFrequency * Math.sin(angle));
+            }
+            case CRITICALLY_DAMPED:
+                return Math.exp(-this.frequency * time) * (displacement + (velocity + this.frequency * displacement) * time);
+            default: {
+                final double a = (velocity - this.root2 * displacement) / (this.root1 - this.root2);
+
+                return a * Math.exp(this.root1 * time) + (displacement - a) * Math.exp(this.root2 * time);
+            }
+        }
+    }
+
+    /**
+     * Computes the velocity after some time.
+     *
+     * @param displacement the displacement from the target at time 0.
+     * @param velocity the velocity at time 0.
+     * @param time the elapsed time.
+     * @return the velocity.
+     * @since 26.10.18
+     */
+    public double velocity(final double displacement, final double velocity, final double time) {
+        switch (this.regime) {
+            case UNDERDAMPED: {
+                final double envelope = Math.exp(-this.decay * time);
+                final double angle = this.dampedFrequency * time;
+
+                return envelope * (velocity * Math.cos(angle)
+                        - (this.decay * velocity + this.frequency * this.frequency * displacement) / this.dampedFrequency * Math.sin(angle));
+            }
+            case CRITICALLY_DAMPED:
+                return Math.exp(-this.frequency * time) * (velocity - this.frequency * (velocity + this.frequency * displacement) * time);
+            default: {
+                final double a = (velocity - this.root2 * displacement) / (this.root1 - this.root2);
+
+                return this.root1 * a * Math.exp(this.root1 * time) + this.root2 * (displacement - a) * Math.exp(this.root2 * time);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the normalized spring: the progress from 0 towards 1 of a
+     * spring released at rest.
+     *
+     * @param x the normalized time.
+     * @return the progress. Exceeds 1 while an underdamped spring overshoots.
+     * @since 26.10.18
+     */
+    public double progress(final double x) {
+        return x > 0.0 ? 1.0 - this.displacement(1.0, 0.0, x) : 0.0;
+    }
+
+    @Override
+    public double ease(final double time, final double start, final double delta, final double duration) {
+        return start + delta * this.progress(time / duration);
+    }
+
+    /**
+     * Lifts the spring to vectors. Every component shares the same progress.
+     *
+     * @param <VecT> the type of vector.
+     * @return the vector easing function.
+     * @since 26.10.18
+     */
+    public <VecT extends GLVecD> VectorEasing<VecT> vector() {
+        return (time, start, delta, duration) -> (VecT) delta.scale(this.progress(time / duration)).plus(start);
+    }
+
+    /**
+     * Lifts the spring to vectors written in place. The progress is computed
+     * once and applied to every component.
+     *
+     * @param <VecT> the type of vector.
+     * @return the vector easing function.
+     * @since 26.10.18
+     */
+    public <VecT extends GLVecD> InPlaceVectorEasing<VecT> inPlace() {
+        return (time, start, delta, duration, out) -> {
+            final double p = this.progress(time / duration);
+            final int size = out.size();
+
+            for (int j = 0; j < size; j++) {
+                out.set(j, start.get(j) + delta.get(j) * p);
+            }
+
+            return out;
+        };
+    }
+
+    /**
+     * Evaluates an array of springs that share this configuration. Spring i
+     * was released at origin[i] with the given displacement from target[i]
+     * and velocity.
+     *
+     * @param time the current time.
+     * @param origin the time each spring was last released or retargeted.
+     * @param target the target of each spring.
+     * @param displacement the displacement of each spring at its origin.
+     * @param velocity the velocity of each spring at its origin.
+     * @param outPosition the array to write the current positions into.
+     * @param outVelocity the array to write the current velocities into.
+     * @param offset the index of the first spring in every array.
+     * @param count the number of springs.
+     * @since 26.10.18
+     */
+    public void eval(
+            final double time,
+            final double[] origin, final double[] target, final double[] displacement, final double[] velocity,
+            final double[] outPosition, final double[] outVelocity,
+            final int offset, final int count) {
+
+        final double w = this.frequency;
+
+        // one straight loop per regime keeps the branch out of the loop body
+        switch (this.regime) {
+            case UNDERDAMPED: {
+                final double a = this.decay;
+                final double wd = this.dampedFrequency;
+                final double invWd = 1.0 / wd;
+
+                for (int i = offset; i < offset + count; i++) {
+                    final double dt = time - origin[i];
+                    final double e0 = displacement[i];
+                    final double v0 = velocity[i];
+                    final double envelope = Math.exp(-a * dt);
+                    final double cos = Math.cos(wd * dt);
+                    final double sin = Math.sin(wd * dt);
+
+                    outPosition[i] = target[i] + envelope * (e0 * cos + (v0 + a * e0) * invWd * sin);
+                    outVelocity[i] = envelope * (v0 * cos - (a * v0 + w * w * e0) * invWd * sin);
+                }
+            }
+            break;
+            case CRITICALLY_DAMPED:
+                for (int i = offset; i < offset + count; i++) {
+                    final double dt = time - origin[i];
+                    final double e0 = displacement[i];
+                    final double v0 = velocity[i];
+                    final double envelope = Math.exp(-w * dt);
+                    final double b = v0 + w * e0;
+
+                    outPosition[i] = target[i] + envelope * (e0 + b * dt);
+                    outVelocity[i] = envelope * (v0 - w * b * dt);
+                }
+                break;
+            default: {
+                final double r1 = this.root1;
+                final double r2 = this.root2;
+                final double invSpan = 1.0 / (r1 - r2);
+
+                for (int i = offset; i < offset + count; i++) {
+                    final double dt = time - origin[i];
+                    final double e0 = displacement[i];
+                    final double a = (velocity[i] - r2 * e0) * invSpan;
+                    final double x1 = a * Math.exp(r1 * dt);
+                    final double x2 = (e0 - a) * Math.exp(r2 * dt);
+
+                    outPosition[i] = target[i] + x1 + x2;
+                    outVelocity[i] = r1 * x1 + r2 * x2;
+                }
+            }
+            break;
+        }
+    }
+
+    /**
+     * Changes the targets of an array of springs without disturbing their
+     * motion. The current position and velocity of each spring become its
+     * new starting state and its origin moves to the current time.
+     *
+     * @param time the current time.
+     * @param origin the time each spring was last released or retargeted.
+     * @param target the target of each spring.
+     * @param displacement the displacement of each spring at its origin.
+     * @param velocity the velocity of each spring at its origin.
+     * @param newTarget the new target of each spring.
+     * @param offset the index of the first spring in every array.
+     * @param count the number of springs.
+     * @since 26.10.18
+     */
+    public void retarget(
+            final double time,
+            final double[] origin, final double[] target, final double[] displacement, final double[] velocity,
+            final double[] newTarget,
+            final int offset, final int count) {
+
+        for (int i = offset; i < offset + count; i++) {
+            final double dt = time - origin[i];
+            final double e0 = displacement[i];
+            final double v0 = velocity[i];
+            final double position = target[i] + this.displacement(e0, v0, dt);
+
+            velocity[i] = this.velocity(e0, v0, dt);
+            displacement[i] = position - newTarget[i];
+            target[i] = newTarget[i];
+            origin[i] = time;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpringEasing: [frequency=" + this.frequency + ", dampingRatio=" + this.dampingRatio + "]";
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * A spline over an unbounded stream of points held in a fixed-capacity ring
+ * buffer. Points are numbered in the order they arrive and evaluation takes a
+ * stream parameter u in the same numbering: for a TCB spline u = k lies on
+ * point k, and for a uniform BSpline u on [k, k + 1] is the knot span
+ * blended from points k to k + degrees - 1. Only the few points around u are
+ * read, through the same segment and basis functions as
+ * {@link PrimitiveSplines}.
+ *
+ * <p>
+ * Appending a point is O(1) and never allocates. Once the buffer is full,
+ * {@link #offer(double[], int)} refuses new points until the playhead moves
+ * on: {@link #advance(double)} evicts the points that no parameter at or past
+ * the playhead needs. Evaluation is clamped to the parameters the retained
+ * points cover; near the newest point the curve behaves like the clamped end
+ * of a finite spline and changes shape as more points arrive.
+ *
+ * <p>
+ * A StreamingSpline must not be shared between threads.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class StreamingSpline {
+
+    private final int dimension;
+    private final int capacity;
+    // 0 for TCB splines, otherwise the order of the BSpline
+    private final int degrees;
+    private final double tension;
+    private final double continuity;
+    private final double bias;
+    private final double[] points;
+    private final double[] basis;
+    private long first;
+    private long next;
+
+    private StreamingSpline(
+            final int dimension, final int capacity, final int degrees,
+            final double tension, final double continuity, final double bias) {
+
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1!");
+        } else if (capacity < Math.max(degrees + 1, 4)) {
+            // one point more than a BSpline window so a stalled playhead never blocks new points
+            throw new IllegalArgumentException("Capacity must hold at least " + Math.max(degrees + 1, 4) + " points!");
+        }
+
+        this.dimension = dimension;
+        this.capacity = capacity;
+        this.degrees = degrees;
+        this.tension = tension;
+        this.continuity = continuity;
+        this.bias = bias;
+        this.points = new double[capacity * dimension];
+        this.basis = new double[degrees];
+    }
+
+    /**
+     * Constructs a streaming uniform BSpline.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param dimension the number of components per point.
+     * @param capacity the number of points the buffer holds; at least
+     * degrees + 1.
+     * @return the streaming spline.
+     * @since 26.10.18
+     */
+    public static StreamingSpline bSpline(final int degrees, final int dimension, final int capacity) {
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        }
+
+        return new StreamingSpline(dimension, capacity, degrees, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Constructs a streaming TCB spline (Kochanek-Bartels).
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param dimension the number of components per point.
+     * @param capacity the number of points the buffer holds.
+     * @return the streaming spline.
+     * @since 26.10.18
+     */
+    public static StreamingSpline tcbSpline(
+            final double tension, final double continuity, final double bias,
+            final int dimension, final int capacity) {
+
+        return new StreamingSpline(dimension, capacity, 0, tension, continuity, bias);
+    }
+
+    /**
+     * Constructs a streaming Catmull-Rom spline. This is a TCB spline with all
+     * parameters set to 0.
+     *
+     * @param dimension the number of components per point.
+     * @param capacity the number of points the buffer holds.
+     * @return the streaming spline.
+     * @since 26.10.18
+     */
+    public static StreamingSpline catmullRom(final int dimension, final int capacity) {
+        return tcbSpline(0.0, 0.0, 0.0, dimension, capacity);
+    }
+
+    /**
+     * Retrieves the number of components per point.
+     *
+     * @return the dimension.
+     * @since 26.10.18
+     */
+    public int dimension() {
+        return this.dimension;
+    }
+
+    /**
+     * Retrieves the number of points the buffer holds.
+     *
+     * @return the capacity.
+     * @since 26.10.18
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Retrieves the number of retained points.
+     *
+     * @return the size.
+     * @since 26.10.18
+     */
+    public int size() {
+        return (int) (this.next - this.first);
+    }
+
+    /**
+     * Retrieves the stream index of the oldest retained point.
+     *
+     * @return the first index.
+     * @since 26.10.18
+     */
+    public long firstIndex() {
+        return this.first;
+    }
+
+    /**
+     * Retrieves the stream index the next appended point will receive. This
+     * is the total number of points appended so far.
+     *
+     * @return the next index.
+     * @since 26.10.18
+     */
+    public long nextIndex() {
+        return this.next;
+    }
+
+    /**
+     * Appends a point if the buffer has room.
+     *
+     * @param point the point data.
+     * @param offset the offset of the point.
+     * @return true if the point was appended; false if the buffer is full.
+     * @since 26.10.18
+     */
+    public boolean offer(final double[] point, final int offset) {
+        if (this.next - this.first == this.capacity) {
+            return false;
+        }
+
+        System.arraycopy(point, offset, this.points, this.slot(this.next), this.dimension);
+        this.next++;
+
+        return true;
+    }
+
+    /**
+     * Appends as many points as the buffer has room for.
+     *
+     * @param points the point data.
+     * @param offset the offset of the first point.
+     * @param stride the distance between two consecutive points.
+     * @param count the number of points to append.
+     * @return the number of points appended.
+     * @since 26.10.18
+     */
+    public int offer(final double[] points, final int offset, final int stride, final int count) {
+        final int accepted = (int) Math.min(count, this.capacity - (this.next - this.first));
+
+        for (int i = 0; i < accepted; i++) {
+            System.arraycopy(points, offset + i * stride, this.points, this.slot(this.next), this.dimension);
+            this.next++;
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Appends a point.
+     *
+     * @param point the point data.
+     * @param offset the offset of the point.
+     * @throws IllegalStateException if the buffer is full.
+     * @since 26.10.18
+     */
+    public void add(final double[] point, final int offset) {
+        if (!this.offer(point, offset)) {
+            throw new IllegalStateException("Streaming spline is full! Advance the playhead first.");
+        }
+    }
+
+    /**
+     * Reads a retained point.
+     *
+     * @param index the stream index of the point.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @since 26.10.18
+     */
+    public void get(final long index, final double[] out, final int outOffset) {
+        if (index < this.first || index >= this.next) {
+            throw new IndexOutOfBoundsException("Point " + index + " is not retained!");
+        }
+
+        System.arraycopy(this.points, this.slot(index), out, outOffset, this.dimension);
+    }
+
+    /**
+     * Moves the playhead. Points that no parameter at or past u depends on
+     * are evicted. The points that {@link #maxParameter()} depends on are
+     * always retained, so the playhead may catch up with the newest point
+     * and still be evaluated. The playhead never moves backwards; a smaller
+     * u is ignored.
+     *
+     * @param u the stream parameter of the playhead.
+     * @since 26.10.18
+     */
+    public void advance(final double u) {
+        final long floor = (long) Math.floor(u);
+        // the same segment or span that eval reads at u; a TCB segment also reads the point before it
+        final long needed = this.degrees == 0
+                ? Math.min(floor, this.next - 1) - 1
+                : Math.min(floor, this.next - this.degrees);
+
+        if (needed > this.first) {
+            this.first = needed;
+        }
+    }
+
+    /**
+     * Discards every point and restarts the stream numbering at 0.
+     *
+     * @since 26.10.18
+     */
+    public void clear() {
+        this.first = 0;
+        this.next = 0;
+    }
+
+    /**
+     * Retrieves the smallest parameter the retained points can evaluate.
+     *
+     * @return the minimum stream parameter.
+     * @since 26.10.18
+     */
+    public double minParameter() {
+        return this.degrees == 0 && this.first > 0 ? this.first + 1 : this.first;
+    }
+
+    /**
+     * Retrieves the largest parameter the retained points can evaluate.
+     *
+     * @return the maximum stream parameter.
+     * @since 26.10.18
+     */
+    public double maxParameter() {
+        return this.degrees == 0 ? this.next - 1 : this.next - this.degrees + 1;
+    }
+
+    /**
+     * Evaluates the spline. The parameter is clamped to
+     * [{@link #minParameter()}, {@link #maxParameter()}].
+     *
+     * @param u the stream parameter.
+     * @param out the array to write the point into.
+     * @param outOffset the offset to write the point at.
+     * @throws IllegalStateException if too few points are retained.
+     * @since 26.10.18
+     */
+    public void eval(final double u, final double[] out, final int outOffset) {
+        final long last = this.next - 1;
+
+        if (this.next - this.first < Math.max(this.degrees, 1)) {
+            throw new IllegalStateException("Streaming spline does not retain enough points!");
+        }
+
+        final double x = Math.min(Math.max(u, this.minParameter()), this.maxParameter());
+
+        if (this.degrees == 0) {
+            final long i1 = Math.min((long) x, last);
+
+            PrimitiveSplines.tcbSegment(
+                    this.tension, this.continuity, this.bias, x - i1,
+                    this.points, 0, this.dimension, this.dimension,
+                    this.index(Math.max(i1 - 1, this.first)), this.index(i1),
+                    this.index(Math.min(i1 + 1, last)), this.index(Math.min(i1 + 2, last)),
+                    out, outOffset);
+        } else {
+            final int order = this.degrees;
+            // the last span ends at maxParameter and belongs to the span before it
+            final long span = Math.min((long) x, this.next - order);
+
+            BSplines.uniformBasis(order, x - span, this.basis, 0);
+
+            for (int j = 0; j < this.dimension; j++) {
+                double v = 0.0;
+
+                for (int r = 0; r < order; r++) {
+                    v += this.basis[r] * this.points[this.slot(span + r) + j];
+                }
+
+                out[outOffset + j] = v;
+            }
+        }
+    }
+
+    private int index(final long streamIndex) {
+        return (int) (streamIndex % this.capacity);
+    }
+
+    private int slot(final long streamIndex) {
+        return this.index(streamIndex) * this.dimension;
+    }
+}
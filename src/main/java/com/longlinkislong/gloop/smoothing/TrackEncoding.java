@@ -0,0 +1,41 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * How the control points of a stored track are encoded. See
+ * {@link TrackFile}.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public enum TrackEncoding {
+    /**
+     * Each component is stored as a 64 bit float. Lossless.
+     */
+    DOUBLE(Double.BYTES),
+    /**
+     * Each component is stored as a 32 bit float.
+     */
+    FLOAT(Float.BYTES),
+    /**
+     * Each component is stored as an unsigned 16 bit fraction of the track's
+     * bounding box. The error per component is at most half of the box extent
+     * divided by 65535.
+     */
+    QUANTIZED_16(Short.BYTES);
+
+    /**
+     * The number of bytes per stored component.
+     *
+     * @since 26.10.18
+     */
+    public final int bytes;
+
+    TrackEncoding(final int bytes) {
+        this.bytes = bytes;
+    }
+}
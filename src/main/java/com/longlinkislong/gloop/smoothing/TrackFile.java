@@ -0,0 +1,394 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only collection of spline tracks stored in a compact binary format.
+ * A file is memory mapped when it is opened and tracks are evaluated straight
+ * from the mapped buffer: only the control points near the evaluated time step
+ * are decoded, and no vector objects are created.
+ *
+ * <p>
+ * The format is little-endian:
+ * <pre>
+ * header (16 bytes):   int magic 'GTRK', short version, short 0, int track count, int 0
+ * index (40 bytes per track):
+ *                      long data offset, int point count, short dimension,
+ *                      byte {@link TrackType}, byte {@link TrackEncoding},
+ *                      double p0, double p1, double p2
+ * data (8 byte aligned, one block per track):
+ *                      QUANTIZED_16 only: double min[dimension], double max[dimension]
+ *                      point count * dimension components
+ * </pre>
+ * The parameters p0..p2 are the degree of a BSpline, or the tension,
+ * continuity and bias of a TCB spline. Files are written with
+ * {@link TrackFileWriter}.
+ *
+ * <p>
+ * A TrackFile may be shared between threads; a {@link Track} may not.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class TrackFile {
+
+    static final int MAGIC = 'G' | ('T' << 8) | ('R' << 16) | ('K' << 24);
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 40;
+
+    private static final TrackType[] TYPES = TrackType.values();
+    private static final TrackEncoding[] ENCODINGS = TrackEncoding.values();
+
+    private final ByteBuffer buffer;
+    private final int trackCount;
+
+    private TrackFile(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (this.buffer.limit() < HEADER_BYTES || this.buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a track file!");
+        } else if (this.buffer.getShort(4) != VERSION) {
+            throw new IOException("Unsupported track file version: " + this.buffer.getShort(4));
+        }
+
+        this.trackCount = this.buffer.getInt(8);
+
+        if (this.trackCount < 0 || HEADER_BYTES + (long) this.trackCount * ENTRY_BYTES > this.buffer.limit()) {
+            throw new IOException("Track file index is truncated!");
+        }
+
+        for (int i = 0; i < this.trackCount; i++) {
+            this.validate(i);
+        }
+    }
+
+    /**
+     * Checks that an index entry describes a track that can be evaluated and
+     * whose data lies within the buffer, so that a corrupt file fails here
+     * instead of during evaluation.
+     */
+    private void validate(final int index) throws IOException {
+        final ByteBuffer data = this.buffer;
+        final int entry = HEADER_BYTES + index * ENTRY_BYTES;
+        final long offset = data.getLong(entry);
+        final int count = data.getInt(entry + 8);
+        final int dim = data.getShort(entry + 12) & 0xFFFF;
+        final int type = data.get(entry + 14);
+        final int encoding = data.get(entry + 15);
+
+        if (type < 0 || type >= TYPES.length) {
+            throw new IOException("Track " + index + " has an unknown type: " + type);
+        } else if (encoding < 0 || encoding >= ENCODINGS.length) {
+            throw new IOException("Track " + index + " has an unknown encoding: " + encoding);
+        } else if (dim < 1) {
+            throw new IOException("Track " + index + " has no components!");
+        }
+
+        final int minimum;
+
+        switch (TYPES[type]) {
+            case BSPLINE: {
+                final double degrees = data.getDouble(entry + 16);
+
+                if (!(degrees >= 3.0 && degrees <= 127.0 && degrees == Math.rint(degrees))) {
+                    throw new IOException("Track " + index + " has invalid BSpline degrees: " + degrees);
+                }
+
+                minimum = (int) degrees;
+                break;
+            }
+            case PIECEWISE_BEZIER:
+                minimum = 4;
+                break;
+            default:
+                minimum = 2;
+                break;
+        }
+
+        if (count < minimum) {
+            throw new IOException("Track " + index + " requires at least " + minimum + " points but has " + count + "!");
+        }
+
+        final TrackEncoding format = ENCODINGS[encoding];
+        final long bounds = format == TrackEncoding.QUANTIZED_16 ? 2L * dim * Double.BYTES : 0L;
+        final long bytes = bounds + (long) count * dim * format.bytes;
+
+        if (offset < HEADER_BYTES + (long) this.trackCount * ENTRY_BYTES || offset > data.limit() - bytes) {
+            throw new IOException("Track " + index + " data is truncated!");
+        }
+    }
+
+    /**
+     * Opens a track file by memory mapping it.
+     *
+     * @param path the file to open.
+     * @return the track file.
+     * @throws IOException if the file cannot be mapped, is not a track file
+     * or holds an invalid track.
+     * @since 26.10.18
+     */
+    public static TrackFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TrackFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads track data that is already in memory. The buffer's position and
+     * limit are not changed.
+     *
+     * @param buffer the buffer holding a complete track file, starting at
+     * index 0.
+     * @return the track file.
+     * @throws IOException if the buffer does not hold a track file or holds
+     * an invalid track.
+     * @since 26.10.18
+     */
+    public static TrackFile wrap(final ByteBuffer buffer) throws IOException {
+        return new TrackFile(buffer);
+    }
+
+    /**
+     * Retrieves the number of tracks.
+     *
+     * @return the track count.
+     * @since 26.10.18
+     */
+    public int trackCount() {
+        return this.trackCount;
+    }
+
+    /**
+     * Creates a view of a track. Views are cheap and decode nothing but the
+     * track's index entry until they are evaluated.
+     *
+     * @param index the track index.
+     * @return the track view.
+     * @since 26.10.18
+     */
+    public Track track(final int index) {
+        if (index < 0 || index >= this.trackCount) {
+            throw new IndexOutOfBoundsException("Invalid track index: " + index);
+        }
+
+        return new Track(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    /**
+     * A view of a single track. A view keeps scratch storage for the points
+     * it decodes and must not be shared between threads.
+     *
+     * @since 26.10.18
+     */
+    public final class Track {
+
+        private final TrackType type;
+        private final TrackEncoding encoding;
+        private final int pointCount;
+        private final int dimension;
+        private final int points;
+        private final double p0;
+        private final double p1;
+        private final double p2;
+        private final double[] min;
+        private final double[] scale;
+        private final double[] scratch;
+        private final double[] basis;
+
+        private Track(final int entry) {
+            final ByteBuffer data = TrackFile.this.buffer;
+            final long offset = data.getLong(entry);
+
+            this.pointCount = data.getInt(entry + 8);
+            this.dimension = data.getShort(entry + 12) & 0xFFFF;
+            this.type = TYPES[data.get(entry + 14)];
+            this.encoding = ENCODINGS[data.get(entry + 15)];
+            this.p0 = data.getDouble(entry + 16);
+            this.p1 = data.getDouble(entry + 24);
+            this.p2 = data.getDouble(entry + 32);
+
+            if (this.encoding == TrackEncoding.QUANTIZED_16) {
+                this.min = new double[this.dimension];
+                this.scale = new double[this.dimension];
+
+                for (int j = 0; j < this.dimension; j++) {
+                    final double lo = data.getDouble((int) offset + j * Double.BYTES);
+                    final double hi = data.getDouble((int) offset + (this.dimension + j) * Double.BYTES);
+
+                    this.min[j] = lo;
+                    this.scale[j] = (hi - lo) / 65535.0;
+                }
+
+                this.points = (int) offset + 2 * this.dimension * Double.BYTES;
+            } else {
+                this.min = null;
+                this.scale = null;
+                this.points = (int) offset;
+            }
+
+            final int window = this.type == TrackType.BSPLINE ? (int) this.p0 : 4;
+
+            this.scratch = new double[window * this.dimension];
+            this.basis = new double[window];
+        }
+
+        /**
+         * Retrieves the spline type of the track.
+         *
+         * @return the track type.
+         * @since 26.10.18
+         */
+        public TrackType type() {
+            return this.type;
+        }
+
+        /**
+         * Retrieves how the control points are encoded.
+         *
+         * @return the encoding.
+         * @since 26.10.18
+         */
+        public TrackEncoding encoding() {
+            return this.encoding;
+        }
+
+        /**
+         * Retrieves the number of control points.
+         *
+         * @return the point count.
+         * @since 26.10.18
+         */
+        public int pointCount() {
+            return this.pointCount;
+        }
+
+        /**
+         * Retrieves the number of components per control point.
+         *
+         * @return the dimension.
+         * @since 26.10.18
+         */
+        public int dimension() {
+            return this.dimension;
+        }
+
+        /**
+         * Decodes a control point.
+         *
+         * @param index the control point index.
+         * @param out the array to write the point into.
+         * @param outOffset the offset to write the point at.
+         * @since 26.10.18
+         */
+        public void point(final int index, final double[] out, final int outOffset) {
+            if (index < 0 || index >= this.pointCount) {
+                throw new IndexOutOfBoundsException("Invalid control point index: " + index);
+            }
+
+            this.decode(index, out, outOffset);
+        }
+
+        /**
+         * Evaluates the track. Only the control points that influence the
+         * time step are decoded. Time steps outside of [0, 1] extrapolate the
+         * end segments and never read the points of other tracks.
+         *
+         * @param t the time step on range [0, 1]
+         * @param out the array to write the point into.
+         * @param outOffset the offset to write the point at.
+         * @since 26.10.18
+         */
+        public void eval(final double t, final double[] out, final int outOffset) {
+            final int count = this.pointCount;
+            final int dim = this.dimension;
+            final double[] local = this.scratch;
+
+            switch (this.type) {
+                case BSPLINE: {
+                    final int degrees = (int) this.p0;
+                    final double u = (degrees - 1.0) + (t * (count - (degrees - 1.0)));
+                    final int span = Math.min(Math.max((int) u, degrees - 1), count - 1);
+                    final int first = span - degrees + 1;
+
+                    for (int r = 0; r < degrees; r++) {
+                        this.decode(first + r, local, r * dim);
+                    }
+
+                    PrimitiveSplines.bSplineSpan(degrees, u - span, local, 0, dim, dim, this.basis, out, outOffset);
+                    break;
+                }
+                case TCB: {
+                    double iT = t * (count - 1.0);
+                    final int i1 = Math.min(Math.max((int) iT, 0), count - 1);
+
+                    iT -= i1;
+                    this.decodeWindow(Math.min(Math.max(0, i1 - 1), count - 1), i1, Math.min(i1 + 1, count - 1), Math.min(i1 + 2, count - 1));
+                    PrimitiveSplines.tcbSegment(this.p0, this.p1, this.p2, iT, local, 0, dim, dim, 0, 1, 2, 3, out, outOffset);
+                    break;
+                }
+                case BESSEL_OVERHAUSER: {
+                    double iT = t * (count - 1.0);
+                    final int i1 = Math.min(Math.max((int) iT, 0), count - 1);
+
+                    iT -= i1;
+                    this.decodeWindow(Math.min(Math.max(i1 - 1, 0), count - 1), i1, Math.min(i1 + 1, count - 1), Math.min(i1 + 2, count - 1));
+                    PrimitiveSplines.besselOverhauserSegment(iT, local, 0, dim, dim, 0, 1, 2, 3, out, outOffset);
+                    break;
+                }
+                default: {
+                    final int curves = (count - 1) / 3;
+                    final double x = t * curves;
+                    final int curve = Math.min(Math.max((int) x, 0), curves - 1);
+
+                    this.decodeWindow(3 * curve, 3 * curve + 1, 3 * curve + 2, 3 * curve + 3);
+                    PrimitiveSplines.piecewiseBezier(x - curve, local, 0, dim, 4, dim, out, outOffset);
+                    break;
+                }
+            }
+        }
+
+        private void decodeWindow(final int i0, final int i1, final int i2, final int i3) {
+            final int dim = this.dimension;
+
+            this.decode(i0, this.scratch, 0);
+            this.decode(i1, this.scratch, dim);
+            this.decode(i2, this.scratch, 2 * dim);
+            this.decode(i3, this.scratch, 3 * dim);
+        }
+
+        private void decode(final int index, final double[] out, final int outOffset) {
+            final ByteBuffer data = TrackFile.this.buffer;
+            final int dim = this.dimension;
+            final int base = this.points + index * dim * this.encoding.bytes;
+
+            switch (this.encoding) {
+                case DOUBLE:
+                    for (int j = 0; j < dim; j++) {
+                        out[outOffset + j] = data.getDouble(base + j * Double.BYTES);
+                    }
+                    break;
+                case FLOAT:
+                    for (int j = 0; j < dim; j++) {
+                        out[outOffset + j] = data.getFloat(base + j * Float.BYTES);
+                    }
+                    break;
+                default:
+                    for (int j = 0; j < dim; j++) {
+                        out[outOffset + j] = this.min[j] + (data.getShort(base + j * Short.BYTES) & 0xFFFF) * this.scale[j];
+                    }
+                    break;
+            }
+        }
+    }
+}
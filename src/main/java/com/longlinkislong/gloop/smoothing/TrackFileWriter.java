@@ -0,0 +1,324 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects spline tracks and writes them in the format read by
+ * {@link TrackFile}. Control points are copied when a track is added.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class TrackFileWriter {
+
+    private final List<Entry> tracks = new ArrayList<>();
+
+    /**
+     * Adds a uniform BSpline track.
+     *
+     * @param degrees the degree of the polynomial.
+     * @param encoding how to store the control points.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the index of the track.
+     * @since 26.10.18
+     */
+    public int addBSpline(
+            final int degrees, final TrackEncoding encoding,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (degrees < 3) {
+            throw new ArithmeticException("BSpline requires a polynomial with minimal degrees = 3!");
+        } else if (degrees > 127) {
+            throw new ArithmeticException("BSpline degrees must not exceed 127!");
+        } else if (count < degrees) {
+            throw new IllegalArgumentException("BSpline requires at least as many points as degrees!");
+        }
+
+        return this.add(TrackType.BSPLINE, encoding, degrees, 0.0, 0.0, points, offset, stride, count, dimension);
+    }
+
+    /**
+     * Adds a TCB spline track (Kochanek-Bartels).
+     *
+     * @param tension the tension value.
+     * @param continuity the continuity value.
+     * @param bias the bias value.
+     * @param encoding how to store the control points.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the index of the track.
+     * @since 26.10.18
+     */
+    public int addTCB(
+            final double tension, final double continuity, final double bias, final TrackEncoding encoding,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("TCB spline requires at least 2 points!");
+        }
+
+        return this.add(TrackType.TCB, encoding, tension, continuity, bias, points, offset, stride, count, dimension);
+    }
+
+    /**
+     * Adds a Bessel-Overhauser spline track.
+     *
+     * @param encoding how to store the control points.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the index of the track.
+     * @since 26.10.18
+     */
+    public int addBesselOverhauser(
+            final TrackEncoding encoding,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 2) {
+            throw new IllegalArgumentException("Bessel-Overhauser spline requires at least 2 points!");
+        }
+
+        return this.add(TrackType.BESSEL_OVERHAUSER, encoding, 0.0, 0.0, 0.0, points, offset, stride, count, dimension);
+    }
+
+    /**
+     * Adds a track made of a chain of cubic Bezier curves.
+     *
+     * @param encoding how to store the control points.
+     * @param points the control point data.
+     * @param offset the offset of the first control point.
+     * @param stride the distance between two consecutive control points.
+     * @param count the number of control points.
+     * @param dimension the number of components per control point.
+     * @return the index of the track.
+     * @since 26.10.18
+     */
+    public int addPiecewiseBezier(
+            final TrackEncoding encoding,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (count < 4) {
+            throw new IllegalArgumentException("Piecewise Bezier requires at least 4 points!");
+        }
+
+        return this.add(TrackType.PIECEWISE_BEZIER, encoding, 0.0, 0.0, 0.0, points, offset, stride, count, dimension);
+    }
+
+    /**
+     * Retrieves the number of tracks added.
+     *
+     * @return the track count.
+     * @since 26.10.18
+     */
+    public int size() {
+        return this.tracks.size();
+    }
+
+    /**
+     * Computes the size of the written file.
+     *
+     * @return the size in bytes.
+     * @since 26.10.18
+     */
+    public long byteSize() {
+        long size = TrackFile.HEADER_BYTES + (long) this.tracks.size() * TrackFile.ENTRY_BYTES;
+
+        for (Entry track : this.tracks) {
+            size = align(size) + track.dataBytes();
+        }
+
+        return size;
+    }
+
+    /**
+     * Writes every track into a buffer, starting at the buffer's position.
+     * The position is advanced past the written data. The data is always
+     * little-endian, whatever the order of the buffer.
+     *
+     * @param out the buffer to write into.
+     * @since 26.10.18
+     */
+    public void write(final ByteBuffer out) {
+        final long size = this.byteSize();
+
+        if (size > out.remaining()) {
+            throw new IllegalArgumentException("Buffer is too small! Requires " + size + " bytes.");
+        }
+
+        final ByteBuffer data = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int position = TrackFile.HEADER_BYTES + this.tracks.size() * TrackFile.ENTRY_BYTES;
+
+        data.putInt(0, TrackFile.MAGIC);
+        data.putShort(4, TrackFile.VERSION);
+        data.putShort(6, (short) 0);
+        data.putInt(8, this.tracks.size());
+        data.putInt(12, 0);
+
+        for (int i = 0; i < this.tracks.size(); i++) {
+            final Entry track = this.tracks.get(i);
+            final int entry = TrackFile.HEADER_BYTES + i * TrackFile.ENTRY_BYTES;
+
+            position = (int) align(position);
+
+            data.putLong(entry, position);
+            data.putInt(entry + 8, track.count);
+            data.putShort(entry + 12, (short) track.dimension);
+            data.put(entry + 14, (byte) track.type.ordinal());
+            data.put(entry + 15, (byte) track.encoding.ordinal());
+            data.putDouble(entry + 16, track.p0);
+            data.putDouble(entry + 24, track.p1);
+            data.putDouble(entry + 32, track.p2);
+
+            track.write(data, position);
+            position += track.dataBytes();
+        }
+
+        out.position(out.position() + position);
+    }
+
+    /**
+     * Writes every track into a file, replacing its contents.
+     *
+     * @param path the file to write.
+     * @throws IOException if the file cannot be written.
+     * @since 26.10.18
+     */
+    public void write(final Path path) throws IOException {
+        final ByteBuffer data = ByteBuffer.allocate((int) this.byteSize());
+
+        this.write(data);
+        data.flip();
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    private int add(
+            final TrackType type, final TrackEncoding encoding,
+            final double p0, final double p1, final double p2,
+            final double[] points, final int offset, final int stride, final int count, final int dimension) {
+
+        if (dimension < 1 || dimension > 0xFFFF) {
+            throw new IllegalArgumentException("Dimension must be on range [1, 65535]!");
+        }
+
+        final double[] copy = new double[count * dimension];
+
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(points, offset + i * stride, copy, i * dimension, dimension);
+        }
+
+        this.tracks.add(new Entry(type, encoding, p0, p1, p2, copy, count, dimension));
+
+        return this.tracks.size() - 1;
+    }
+
+    private static long align(final long position) {
+        return (position + Double.BYTES - 1) & -Double.BYTES;
+    }
+
+    private static final class Entry {
+
+        private final TrackType type;
+        private final TrackEncoding encoding;
+        private final double p0;
+        private final double p1;
+        private final double p2;
+        private final double[] points;
+        private final int count;
+        private final int dimension;
+
+        private Entry(
+                final TrackType type, final TrackEncoding encoding,
+                final double p0, final double p1, final double p2,
+                final double[] points, final int count, final int dimension) {
+
+            this.type = type;
+            this.encoding = encoding;
+            this.p0 = p0;
+            this.p1 = p1;
+            this.p2 = p2;
+            this.points = points;
+            this.count = count;
+            this.dimension = dimension;
+        }
+
+        private long dataBytes() {
+            final long bounds = this.encoding == TrackEncoding.QUANTIZED_16 ? 2L * this.dimension * Double.BYTES : 0L;
+
+            return bounds + (long) this.points.length * this.encoding.bytes;
+        }
+
+        private void write(final ByteBuffer data, final int position) {
+            final int dim = this.dimension;
+
+            switch (this.encoding) {
+                case DOUBLE:
+                    for (int i = 0; i < this.points.length; i++) {
+                        data.putDouble(position + i * Double.BYTES, this.points[i]);
+                    }
+                    break;
+                case FLOAT:
+                    for (int i = 0; i < this.points.length; i++) {
+                        data.putFloat(position + i * Float.BYTES, (float) this.points[i]);
+                    }
+                    break;
+                default: {
+                    final double[] min = new double[dim];
+                    final double[] max = new double[dim];
+
+                    for (int j = 0; j < dim; j++) {
+                        min[j] = Double.POSITIVE_INFINITY;
+                        max[j] = Double.NEGATIVE_INFINITY;
+                    }
+
+                    for (int i = 0; i < this.points.length; i++) {
+                        min[i % dim] = Math.min(min[i % dim], this.points[i]);
+                        max[i % dim] = Math.max(max[i % dim], this.points[i]);
+                    }
+
+                    for (int j = 0; j < dim; j++) {
+                        data.putDouble(position + j * Double.BYTES, min[j]);
+                        data.putDouble(position + (dim + j) * Double.BYTES, max[j]);
+                    }
+
+                    final int base = position + 2 * dim * Double.BYTES;
+
+                    for (int i = 0; i < this.points.length; i++) {
+                        final double extent = max[i % dim] - min[i % dim];
+                        final long q = extent > 0.0 ? Math.round((this.points[i] - min[i % dim]) / extent * 65535.0) : 0L;
+
+                        data.putShort(base + i * Short.BYTES, (short) Math.min(Math.max(q, 0L), 65535L));
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * The spline used to interpolate the control points of a stored track. See
+ * {@link TrackFile}.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public enum TrackType {
+    /**
+     * A uniform BSpline. See
+     * {@link PrimitiveSplines#bSpline(int, double, double[], int, int, int, int, double[], double[], int)}.
+     */
+    BSPLINE,
+    /**
+     * A TCB spline (Kochanek-Bartels). See
+     * {@link PrimitiveSplines#tcbSpline(double, double, double, double, double[], int, int, int, int, double[], int)}.
+     */
+    TCB,
+    /**
+     * A Bessel-Overhauser spline. See
+     * {@link PrimitiveSplines#besselOverhauser(double, double[], int, int, int, int, double[], int)}.
+     */
+    BESSEL_OVERHAUSER,
+    /**
+     * A chain of cubic Bezier curves. See
+     * {@link PrimitiveSplines#piecewiseBezier(double, double[], int, int, int, int, double[], int)}.
+     */
+    PIECEWISE_BEZIER
+}
@@ -0,0 +1,473 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Manages a population of running scalar tweens. Tweens are stored in
+ * primitive arrays grouped by {@link EasingKind} and every group is advanced by
+ * {@link #tick(double)} with a single {@link BulkEasings} pass. Finished tweens
+ * are removed by moving the last tween of the group into their slot, so the
+ * arrays stay packed without allocating. Tweens are referred to by handles that
+ * stay valid until the tween completes or is cancelled.
+ *
+ * <p>
+ * An engine constructed with a {@link ForkJoinPool} splits large groups across
+ * the pool. Every tween is advanced independently and completions are
+ * processed on the calling thread in slot order, so the parallel engine
+ * produces the same values and callback order as the single-threaded engine.
+ * The engine itself is not thread-safe.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public final class TweenEngine {
+
+    /**
+     * Repeat count of a tween that repeats until it is cancelled.
+     *
+     * @since 26.10.18
+     */
+    public static final int REPEAT_FOREVER = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final Group[] groups;
+
+    private int[] handleGroup = new int[DEFAULT_CAPACITY];
+    private int[] handleIndex = new int[DEFAULT_CAPACITY];
+    private int[] handleGeneration = new int[DEFAULT_CAPACITY];
+    private int[] freeHandles = new int[DEFAULT_CAPACITY];
+    private int handleCount;
+    private int freeCount;
+
+    private TweenListener[] completedListeners = new TweenListener[DEFAULT_CAPACITY];
+    private long[] completedHandles = new long[DEFAULT_CAPACITY];
+    private double[] completedValues = new double[DEFAULT_CAPACITY];
+    private int completedCount;
+
+    private int size;
+    private boolean ticking;
+
+    /**
+     * Constructs a single-threaded tween engine.
+     *
+     * @since 26.10.18
+     */
+    public TweenEngine() {
+        this(null);
+    }
+
+    /**
+     * Constructs a tween engine that advances large groups of tweens on a
+     * fork/join pool.
+     *
+     * @param pool the pool to advance tweens on. Null selects the
+     * single-threaded engine.
+     * @since 26.10.18
+     */
+    public TweenEngine(final ForkJoinPool pool) {
+        final EasingKind[] kinds = EasingKind.values();
+
+        this.pool = pool;
+        this.groups = new Group[kinds.length];
+
+        for (int i = 0; i < kinds.length; i++) {
+            this.groups[i] = new Group(kinds[i]);
+        }
+    }
+
+    /**
+     * Starts a tween that plays once.
+     *
+     * @param kind the easing function.
+     * @param start the starting value.
+     * @param delta the change in value between the start and the end.
+     * @param duration the duration of the tween. Must be greater than 0.
+     * @return the handle of the tween.
+     * @since 26.10.18
+     */
+    public long start(final EasingKind kind, final double start, final double delta, final double duration) {
+        return start(kind, start, delta, duration, 0, false, null);
+    }
+
+    /**
+     * Starts a tween.
+     *
+     * @param kind the easing function.
+     * @param start the starting value.
+     * @param delta the change in value between the start and the end.
+     * @param duration the duration of a single play. Must be greater than 0.
+     * @param repeats the number of times the tween is played again after the
+     * first play, or {@link #REPEAT_FOREVER}.
+     * @param yoyo if true every other play runs backwards.
+     * @param listener the completion callback. May be null.
+     * @return the handle of the tween.
+     * @since 26.10.18
+     */
+    public long start(
+            final EasingKind kind, final double start, final double delta, final double duration,
+            final int repeats, final boolean yoyo, final TweenListener listener) {
+
+        if (!(duration > 0.0)) {
+            throw new IllegalArgumentException("Tween duration must be greater than 0!");
+        } else if (repeats < REPEAT_FOREVER) {
+            throw new IllegalArgumentException("Invalid repeat count: " + repeats);
+        }
+
+        final int id = this.allocateHandle();
+        final long handle = ((long) this.handleGeneration[id] << 32) | id;
+        final Group group = this.groups[kind.ordinal()];
+        final int index = group.add(start, delta, duration, repeats, yoyo, listener, handle);
+
+        this.handleGroup[id] = kind.ordinal();
+        this.handleIndex[id] = index;
+        this.size++;
+
+        return handle;
+    }
+
+    /**
+     * Checks if a handle refers to a running tween.
+     *
+     * @param handle the handle.
+     * @return true if the tween has neither completed nor been cancelled.
+     * @since 26.10.18
+     */
+    public boolean isActive(final long handle) {
+        return this.lookup(handle) >= 0;
+    }
+
+    /**
+     * Retrieves the current value of a tween. The value is updated by
+     * {@link #tick(double)}.
+     *
+     * @param handle the handle of the tween.
+     * @return the current value.
+     * @throws IllegalArgumentException if the handle does not refer to a
+     * running tween.
+     * @since 26.10.18
+     */
+    public double value(final long handle) {
+        final int id = this.lookup(handle);
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid tween handle: " + handle);
+        }
+
+        return this.groups[this.handleGroup[id]].value[this.handleIndex[id]];
+    }
+
+    /**
+     * Stops a tween without notifying its completion callback.
+     *
+     * @param handle the handle of the tween.
+     * @return true if the tween was running.
+     * @since 26.10.18
+     */
+    public boolean cancel(final long handle) {
+        final int id = this.lookup(handle);
+
+        if (id < 0) {
+            return false;
+        }
+
+        this.remove(this.groups[this.handleGroup[id]], this.handleIndex[id]);
+
+        return true;
+    }
+
+    /**
+     * Retrieves the number of running tweens.
+     *
+     * @return the number of tweens.
+     * @since 26.10.18
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Advances every running tween. Tweens that finish during the step are
+     * removed and their completion callbacks are called after all tweens were
+     * advanced.
+     *
+     * @param dt the elapsed time. Must not be negative.
+     * @throws IllegalStateException if called from a completion callback.
+     * @since 26.10.18
+     */
+    public void tick(final double dt) {
+        if (!(dt >= 0.0)) {
+            throw new IllegalArgumentException("Time step must not be negative!");
+        } else if (this.ticking) {
+            throw new IllegalStateException("TweenEngine.tick is not reentrant!");
+        }
+
+        this.ticking = true;
+
+        try {
+            for (Group group : this.groups) {
+                if (group.size == 0) {
+                    continue;
+                }
+
+                if (this.pool != null && group.size > PARALLEL_THRESHOLD) {
+                    this.pool.invoke(new TickAction(group, dt, 0, group.size));
+                } else {
+                    group.advance(dt, 0, group.size);
+                }
+
+                this.compact(group);
+            }
+
+            for (int i = 0; i < this.completedCount; i++) {
+                final TweenListener listener = this.completedListeners[i];
+
+                this.completedListeners[i] = null;
+                listener.onComplete(this.completedHandles[i], this.completedValues[i]);
+            }
+        } finally {
+            this.completedCount = 0;
+            this.ticking = false;
+        }
+    }
+
+    private void compact(final Group group) {
+        int i = 0;
+
+        while (i < group.size) {
+            if (group.done[i]) {
+                final TweenListener listener = group.listeners[i];
+
+                if (listener != null) {
+                    this.addCompleted(listener, group.handles[i], group.value[i]);
+                }
+
+                // the last tween moves into slot i and is checked next
+                this.remove(group, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void addCompleted(final TweenListener listener, final long handle, final double value) {
+        if (this.completedCount == this.completedHandles.length) {
+            final int capacity = this.completedCount * 2;
+
+            this.completedListeners = Arrays.copyOf(this.completedListeners, capacity);
+            this.completedHandles = Arrays.copyOf(this.completedHandles, capacity);
+            this.completedValues = Arrays.copyOf(this.completedValues, capacity);
+        }
+
+        this.completedListeners[this.completedCount] = listener;
+        this.completedHandles[this.completedCount] = handle;
+        this.completedValues[this.completedCount] = value;
+        this.completedCount++;
+    }
+
+    private void remove(final Group group, final int index) {
+        final int id = (int) group.handles[index];
+        final int last = group.size - 1;
+
+        if (index != last) {
+            group.move(last, index);
+            this.handleIndex[(int) group.handles[index]] = index;
+        }
+
+        group.listeners[last] = null;
+        group.size = last;
+        this.releaseHandle(id);
+        this.size--;
+    }
+
+    private int allocateHandle() {
+        if (this.freeCount > 0) {
+            return this.freeHandles[--this.freeCount];
+        }
+
+        if (this.handleCount == this.handleGroup.length) {
+            final int capacity = this.handleCount * 2;
+
+            this.handleGroup = Arrays.copyOf(this.handleGroup, capacity);
+            this.handleIndex = Arrays.copyOf(this.handleIndex, capacity);
+            this.handleGeneration = Arrays.copyOf(this.handleGeneration, capacity);
+            this.freeHandles = Arrays.copyOf(this.freeHandles, capacity);
+        }
+
+        return this.handleCount++;
+    }
+
+    private void releaseHandle(final int id) {
+        // bumping the generation invalidates every copy of the old handle
+        this.handleGeneration[id]++;
+        this.handleGroup[id] = -1;
+        this.freeHandles[this.freeCount++] = id;
+    }
+
+    private int lookup(final long handle) {
+        final int id = (int) handle;
+
+        if (id < 0 || id >= this.handleCount
+                || this.handleGroup[id] < 0
+                || this.handleGeneration[id] != (int) (handle >>> 32)) {
+
+            return -1;
+        }
+
+        return id;
+    }
+
+    private static final class TickAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Group group;
+        private final double dt;
+        private final int from;
+        private final int to;
+
+        private TickAction(final Group group, final double dt, final int from, final int to) {
+            this.group = group;
+            this.dt = dt;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= PARALLEL_THRESHOLD) {
+                this.group.advance(this.dt, this.from, this.to);
+            } else {
+                final int mid = (this.from + this.to) >>> 1;
+
+                invokeAll(
+                        new TickAction(this.group, this.dt, this.from, mid),
+                        new TickAction(this.group, this.dt, mid, this.to));
+            }
+        }
+    }
+
+    private static final class Group {
+
+        private final EasingKind kind;
+        private int size;
+        private double[] elapsed = new double[DEFAULT_CAPACITY];
+        private double[] local = new double[DEFAULT_CAPACITY];
+        private double[] start = new double[DEFAULT_CAPACITY];
+        private double[] delta = new double[DEFAULT_CAPACITY];
+        private double[] duration = new double[DEFAULT_CAPACITY];
+        private double[] value = new double[DEFAULT_CAPACITY];
+        private int[] cycle = new int[DEFAULT_CAPACITY];
+        private int[] repeats = new int[DEFAULT_CAPACITY];
+        private boolean[] yoyo = new boolean[DEFAULT_CAPACITY];
+        private boolean[] done = new boolean[DEFAULT_CAPACITY];
+        private long[] handles = new long[DEFAULT_CAPACITY];
+        private TweenListener[] listeners = new TweenListener[DEFAULT_CAPACITY];
+
+        private Group(final EasingKind kind) {
+            this.kind = kind;
+        }
+
+        private int add(
+                final double start, final double delta, final double duration,
+                final int repeats, final boolean yoyo, final TweenListener listener,
+                final long handle) {
+
+            if (this.size == this.elapsed.length) {
+                final int capacity = this.size * 2;
+
+                this.elapsed = Arrays.copyOf(this.elapsed, capacity);
+                this.local = Arrays.copyOf(this.local, capacity);
+                this.start = Arrays.copyOf(this.start, capacity);
+                this.delta = Arrays.copyOf(this.delta, capacity);
+                this.duration = Arrays.copyOf(this.duration, capacity);
+                this.value = Arrays.copyOf(this.value, capacity);
+                this.cycle = Arrays.copyOf(this.cycle, capacity);
+                this.repeats = Arrays.copyOf(this.repeats, capacity);
+                this.yoyo = Arrays.copyOf(this.yoyo, capacity);
+                this.done = Arrays.copyOf(this.done, capacity);
+                this.handles = Arrays.copyOf(this.handles, capacity);
+                this.listeners = Arrays.copyOf(this.listeners, capacity);
+            }
+
+            final int i = this.size++;
+
+            this.elapsed[i] = 0.0;
+            this.local[i] = 0.0;
+            this.start[i] = start;
+            this.delta[i] = delta;
+            this.duration[i] = duration;
+            this.value[i] = this.kind.ease(0.0, start, delta, duration);
+            this.cycle[i] = 0;
+            this.repeats[i] = repeats;
+            this.yoyo[i] = yoyo;
+            this.done[i] = false;
+            this.handles[i] = handle;
+            this.listeners[i] = listener;
+
+            return i;
+        }
+
+        private void move(final int from, final int to) {
+            this.elapsed[to] = this.elapsed[from];
+            this.local[to] = this.local[from];
+            this.start[to] = this.start[from];
+            this.delta[to] = this.delta[from];
+            this.duration[to] = this.duration[from];
+            this.value[to] = this.value[from];
+            this.cycle[to] = this.cycle[from];
+            this.repeats[to] = this.repeats[from];
+            this.yoyo[to] = this.yoyo[from];
+            this.done[to] = this.done[from];
+            this.handles[to] = this.handles[from];
+            this.listeners[to] = this.listeners[from];
+        }
+
+        private void advance(final double dt, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                final double time = this.elapsed[i] + dt;
+                final double d = this.duration[i];
+
+                if (time < d) {
+                    this.elapsed[i] = time;
+                    this.local[i] = this.yoyo[i] && (this.cycle[i] & 1) != 0 ? d - time : time;
+                } else {
+                    this.wrap(i, time);
+                }
+            }
+
+            this.kind.ease(this.local, this.start, this.delta, this.duration, this.value, from, to - from);
+        }
+
+        private void wrap(final int i, final double time) {
+            final double d = this.duration[i];
+            final long plays = (long) (time / d);
+            final int r = this.repeats[i];
+
+            if (r != REPEAT_FOREVER && this.cycle[i] + plays > r) {
+                // a yoyo tween with an odd number of repeats ends at its start
+                this.elapsed[i] = d;
+                this.local[i] = this.yoyo[i] && (r & 1) != 0 ? 0.0 : d;
+                this.cycle[i] = r;
+                this.done[i] = true;
+            } else {
+                final double rem = Math.max(time - plays * d, 0.0);
+                final long next = this.cycle[i] + plays;
+
+                // only the parity of an endless tween's cycle is needed
+                this.cycle[i] = (int) (r == REPEAT_FOREVER ? next & 1 : next);
+                this.elapsed[i] = rem;
+                this.local[i] = this.yoyo[i] && (this.cycle[i] & 1) != 0 ? d - rem : rem;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+/**
+ * A callback that is notified when a tween managed by a {@link TweenEngine}
+ * completes.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+@FunctionalInterface
+public interface TweenListener {
+
+    /**
+     * Called once after the tween's final value was computed. The handle is no
+     * longer valid when this is called. New tweens may be started from within
+     * the callback.
+     *
+     * @param handle the handle of the completed tween.
+     * @param value the final value of the tween.
+     * @since 26.10.18
+     */
+    void onComplete(long handle, double value);
+}
@@ -0,0 +1,118 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Checks {@link CubicBezierEasing} against a brute force solver that bisects
+ * x(u) = t in extended precision. Where x'(u) vanishes, such as
+ * cubic-bezier(1, 0, 0, 1) at t = 0.5, a double precision reference is itself
+ * off by about the cube root of an ulp, so the reference works in BigDecimal.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class CubicBezierEasingTest {
+
+    private static final MathContext CONTEXT = new MathContext(40);
+    private static final BigDecimal THREE = BigDecimal.valueOf(3);
+    private static final int BISECTIONS = 64;
+    private static final int SAMPLES = 1001;
+    private static final double MAX_ERROR = 1E-12;
+
+    private static final double[][] CURVES = {
+        {0.68, -0.55, 0.265, 1.55},
+        {1.0, 0.0, 0.0, 1.0},
+        {0.0, 0.0, 1.0, 1.0},
+        {0.0, 1.0, 1.0, 0.0},
+        {1.0, 1.0, 0.0, 0.0}
+    };
+
+    private static BigDecimal bernstein(final BigDecimal u, final double p1, final double p2) {
+        final BigDecimal v = BigDecimal.ONE.subtract(u);
+        final BigDecimal a = THREE.multiply(v).multiply(v).multiply(u).multiply(BigDecimal.valueOf(p1));
+        final BigDecimal b = THREE.multiply(v).multiply(u).multiply(u).multiply(BigDecimal.valueOf(p2));
+
+        return a.add(b).add(u.multiply(u).multiply(u)).round(CONTEXT);
+    }
+
+    private static double bruteForce(
+            final double x1, final double y1, final double x2, final double y2,
+            final double t) {
+
+        if (t <= 0.0) {
+            return 0.0;
+        } else if (t >= 1.0) {
+            return 1.0;
+        }
+
+        final BigDecimal x = new BigDecimal(t);
+        final BigDecimal half = new BigDecimal("0.5");
+        BigDecimal low = BigDecimal.ZERO;
+        BigDecimal high = BigDecimal.ONE;
+
+        for (int i = 0; i < BISECTIONS; i++) {
+            final BigDecimal u = low.add(high).multiply(half, CONTEXT);
+
+            if (bernstein(u, x1, x2).compareTo(x) < 0) {
+                low = u;
+            } else {
+                high = u;
+            }
+        }
+
+        return bernstein(low.add(high).multiply(half, CONTEXT), y1, y2).doubleValue();
+    }
+
+    @Test
+    public void testPresets() {
+        assertCurve(CubicBezierEasing.EASE, 0.25, 0.1, 0.25, 1.0);
+        assertCurve(CubicBezierEasing.EASE_IN, 0.42, 0.0, 1.0, 1.0);
+        assertCurve(CubicBezierEasing.EASE_OUT, 0.0, 0.0, 0.58, 1.0);
+        assertCurve(CubicBezierEasing.EASE_IN_OUT, 0.42, 0.0, 0.58, 1.0);
+    }
+
+    @Test
+    public void testOvershootingAndDegenerateCurves() {
+        for (double[] curve : CURVES) {
+            assertCurve(CubicBezierEasing.of(curve[0], curve[1], curve[2], curve[3]), curve[0], curve[1], curve[2], curve[3]);
+        }
+    }
+
+    private static void assertCurve(
+            final CubicBezierEasing easing,
+            final double x1, final double y1, final double x2, final double y2) {
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final double t = (double) i / (SAMPLES - 1);
+
+            assertEquals(easing + " t=" + t, bruteForce(x1, y1, x2, y2, t), easing.progress(t), MAX_ERROR);
+        }
+    }
+
+    @Test
+    public void testEase() {
+        final CubicBezierEasing easing = CubicBezierEasing.of(0.68, -0.55, 0.265, 1.55);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final double t = (double) i / (SAMPLES - 1);
+
+            assertEquals(2.0 - 3.0 * easing.progress(t), easing.ease(4.0 * t, 2.0, -3.0, 4.0), 1E-15);
+        }
+
+        assertEquals(0.0, easing.progress(-1.0), 0.0);
+        assertEquals(1.0, easing.progress(2.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonFunction() {
+        CubicBezierEasing.of(1.5, 0.0, 0.5, 1.0);
+    }
+}
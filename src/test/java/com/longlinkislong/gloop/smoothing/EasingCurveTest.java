@@ -0,0 +1,158 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Checks that compiled curves evaluate exactly like the method handle trees
+ * they are compiled from.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class EasingCurveTest {
+
+    private static final int SAMPLES = 257;
+    private static final double EPSILON = 1E-12;
+    private static final int THREADS = 8;
+
+    private static List<EasingCurve> curves() {
+        final List<EasingCurve> curves = new ArrayList<>();
+        final EasingCurve cubicIn = EasingCurve.of(EasingKind.CUBIC_IN);
+        final EasingCurve sineInOut = EasingCurve.of(EasingKind.SINE_IN_OUT);
+        final EasingCurve quintOut = EasingCurve.of(EasingKind.QUINT_OUT);
+
+        curves.add(EasingCurve.linear());
+
+        for (EasingKind kind : EasingKind.values()) {
+            curves.add(EasingCurve.of(kind));
+        }
+
+        curves.add(EasingCurve.of(CubicBezierEasing.EASE));
+        curves.add(cubicIn.reverse());
+        curves.add(cubicIn.mirror());
+        curves.add(cubicIn.timeScale(0.5));
+        curves.add(cubicIn.timeScale(2.0));
+        curves.add(cubicIn.blend(sineInOut, 0.3));
+        curves.add(cubicIn.then(quintOut, 0.4));
+        curves.add(cubicIn.mirror().blend(sineInOut, 0.3).then(quintOut.reverse().timeScale(0.5), 0.6));
+
+        return curves;
+    }
+
+    private static void assertCompiled(final EasingCurve curve, final ScalarEasing compiled) {
+        for (int i = 0; i < SAMPLES; i++) {
+            final double x = (double) i / (SAMPLES - 1);
+
+            assertEquals(curve.progress(x), compiled.ease(x, 0.0, 1.0, 1.0), EPSILON);
+            assertEquals(2.0 - 3.0 * curve.progress(x), compiled.ease(4.0 * x, 2.0, -3.0, 4.0), EPSILON);
+        }
+    }
+
+    @Test
+    public void testKinds() {
+        for (EasingKind kind : EasingKind.values()) {
+            final EasingCurve curve = EasingCurve.of(kind);
+
+            for (int i = 0; i < SAMPLES; i++) {
+                final double x = (double) i / (SAMPLES - 1);
+
+                assertEquals(kind.toString(), kind.ease(x, 0.0, 1.0, 1.0), curve.progress(x), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testCombinators() {
+        final EasingCurve cubicIn = EasingCurve.of(EasingKind.CUBIC_IN);
+        final EasingCurve quintOut = EasingCurve.of(EasingKind.QUINT_OUT);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final double x = (double) i / (SAMPLES - 1);
+            final double f = Easings.cubicIn(x, 0.0, 1.0, 1.0);
+
+            assertEquals(Easings.cubicIn(1.0 - x, 0.0, 1.0, 1.0), cubicIn.reverse().progress(x), EPSILON);
+            assertEquals(1.0 - Easings.cubicIn(1.0 - x, 0.0, 1.0, 1.0), cubicIn.mirror().progress(x), EPSILON);
+            assertEquals(Easings.cubicIn(0.5 * x, 0.0, 1.0, 1.0), cubicIn.timeScale(0.5).progress(x), EPSILON);
+            assertEquals(0.7 * f + 0.3 * x, cubicIn.blend(EasingCurve.linear(), 0.3).progress(x), EPSILON);
+            assertEquals(x < 0.4
+                    ? 0.4 * Easings.cubicIn(x / 0.4, 0.0, 1.0, 1.0)
+                    : 0.4 + 0.6 * Easings.quintOut((x - 0.4) / 0.6, 0.0, 1.0, 1.0),
+                    cubicIn.then(quintOut, 0.4).progress(x), EPSILON);
+        }
+    }
+
+    @Test
+    public void testCompile() {
+        for (EasingCurve curve : curves()) {
+            assertCompiled(curve, curve.compile());
+            assertSame(curve.compile(), curve.compile());
+        }
+    }
+
+    @Test
+    public void testConcurrentCompile() throws Exception {
+        final List<EasingCurve> curves = curves();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<List<ScalarEasing>>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit((Callable<List<ScalarEasing>>) () -> {
+                    final List<ScalarEasing> compiled = new ArrayList<>();
+
+                    start.await();
+
+                    for (EasingCurve curve : curves) {
+                        compiled.add(curve.compile());
+                    }
+
+                    return compiled;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<List<ScalarEasing>> result : results) {
+                final List<ScalarEasing> compiled = result.get();
+
+                for (int i = 0; i < curves.size(); i++) {
+                    assertSame(curves.get(i).compile(), compiled.get(i));
+                    assertCompiled(curves.get(i), compiled.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBootstrapRejectsOtherClasses() {
+        EasingCurve.bootstrap(MethodHandles.lookup(), "curve0", MethodType.methodType(double.class, double.class, double.class, double.class, double.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBootstrapRejectsUnprivilegedLookup() {
+        final ScalarEasing compiled = EasingCurve.of(EasingKind.CUBIC_IN).compile();
+
+        EasingCurve.bootstrap(
+                MethodHandles.lookup().in(compiled.getClass()), "curve0",
+                MethodType.methodType(double.class, double.class, double.class, double.class, double.class));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Applies random edits to {@link EditableSpline} and checks it against a
+ * {@link CompiledSpline} and an {@link ArcLengthTable} rebuilt from the same
+ * control points after every edit.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class EditableSplineTest {
+
+    private static final double TENSION = 0.3;
+    private static final double CONTINUITY = -0.4;
+    private static final double BIAS = 0.2;
+    private static final int DIMENSION = 2;
+    private static final int MAX_POINTS = 24;
+    private static final int EDITS = 150;
+    private static final int SAMPLES = 41;
+    private static final double EPSILON = 1E-12;
+    private static final double LENGTH_EPSILON = 1E-9;
+
+    private static void randomPoint(final Random random, final double[] out) {
+        for (int j = 0; j < DIMENSION; j++) {
+            out[j] = random.nextDouble() * 20.0 - 10.0;
+        }
+    }
+
+    /**
+     * Rebuilds the spline from scratch. degrees is 0 for TCB and -1 for
+     * Bessel-Overhauser.
+     */
+    private static CompiledSpline rebuild(final int degrees, final double[] points, final int count) {
+        switch (degrees) {
+            case 0:
+                return CompiledSpline.tcbSpline(TENSION, CONTINUITY, BIAS, points, 0, DIMENSION, count, DIMENSION);
+            case -1:
+                return CompiledSpline.besselOverhauser(points, 0, DIMENSION, count, DIMENSION);
+            default:
+                return CompiledSpline.bSpline(degrees, points, 0, DIMENSION, count, DIMENSION);
+        }
+    }
+
+    private static void assertEdits(final int degrees, final EditableSpline spline) {
+        final Random random = new Random(20181026L);
+        final int minPoints = Math.max(degrees, 2);
+        final double[] points = new double[MAX_POINTS * DIMENSION];
+        final double[] point = new double[DIMENSION];
+        final double[] expected = new double[DIMENSION];
+        final double[] actual = new double[DIMENSION];
+        int count = 0;
+
+        while (count < minPoints + 2) {
+            randomPoint(random, point);
+            spline.add(point, 0);
+            System.arraycopy(point, 0, points, count * DIMENSION, DIMENSION);
+            count++;
+        }
+
+        for (int edit = 0; edit < EDITS; edit++) {
+            final int op = random.nextInt(3);
+            final int index;
+
+            if (op == 0 && count < MAX_POINTS) {
+                index = random.nextInt(count + 1);
+                randomPoint(random, point);
+                spline.insert(index, point, 0);
+                System.arraycopy(points, index * DIMENSION, points, (index + 1) * DIMENSION, (count - index) * DIMENSION);
+                System.arraycopy(point, 0, points, index * DIMENSION, DIMENSION);
+                count++;
+            } else if (op == 1 && count > minPoints) {
+                index = random.nextInt(count);
+                spline.remove(index);
+                System.arraycopy(points, (index + 1) * DIMENSION, points, index * DIMENSION, (count - index - 1) * DIMENSION);
+                count--;
+            } else {
+                index = random.nextInt(count);
+                randomPoint(random, point);
+                spline.set(index, point, 0);
+                System.arraycopy(point, 0, points, index * DIMENSION, DIMENSION);
+            }
+
+            final CompiledSpline compiled = rebuild(degrees, points, count);
+            final ArcLengthTable table = ArcLengthTable.build(compiled);
+            final String message = "degrees=" + degrees + " edit " + edit + " op " + op + " index " + index;
+
+            assertEquals(message, count, spline.size());
+            assertEquals(message, compiled.pieceCount(), spline.pieceCount());
+            assertEquals(message, table.length(), spline.length(), LENGTH_EPSILON);
+
+            for (int k = 0; k < SAMPLES; k++) {
+                final double t = (double) k / (SAMPLES - 1);
+
+                compiled.eval(t, expected, 0);
+                spline.eval(t, actual, 0);
+
+                for (int j = 0; j < DIMENSION; j++) {
+                    assertEquals(message + " t=" + t, expected[j], actual[j], EPSILON);
+                }
+
+                assertEquals(message + " t=" + t, table.length(t), spline.length(t), LENGTH_EPSILON);
+            }
+        }
+
+        final double[] copy = new double[DIMENSION];
+
+        for (int i = 0; i < count; i++) {
+            spline.get(i, copy, 0);
+            assertEquals(Arrays.toString(Arrays.copyOfRange(points, i * DIMENSION, (i + 1) * DIMENSION)), Arrays.toString(copy));
+        }
+    }
+
+    @Test
+    public void testBSplineEdits() {
+        assertEdits(3, EditableSpline.bSpline(3, DIMENSION));
+        assertEdits(5, EditableSpline.bSpline(5, DIMENSION));
+    }
+
+    @Test
+    public void testTCBEdits() {
+        assertEdits(0, EditableSpline.tcbSpline(TENSION, CONTINUITY, BIAS, DIMENSION));
+    }
+
+    @Test
+    public void testBesselOverhauserEdits() {
+        assertEdits(-1, EditableSpline.besselOverhauser(DIMENSION));
+    }
+}
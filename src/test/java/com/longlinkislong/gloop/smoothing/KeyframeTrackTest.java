@@ -0,0 +1,245 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Checks the tangents of {@link KeyframeTrack} against the Kochanek-Bartels
+ * convention used by {@link PrimitiveSplines#tcbSpline}, and the segment
+ * lookups of its cursor and hints against a plain binary search.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class KeyframeTrackTest {
+
+    private static final int SAMPLES = 301;
+    private static final double EPSILON = 1E-12;
+    private static final int KEYS = 12;
+
+    @Test
+    public void testNegativeContinuityIsLinear() {
+        final double[] times = {0.0, 1.0, 2.0, 3.0};
+        final double[] values = {0.0, 0.0, 1.0, 0.0, 1.0, 1.0, 2.0, 1.0};
+        final KeyframeTrack track = new KeyframeTrack(times, values, 2, 0.0, -1.0, 0.0);
+        final double[] out = new double[2];
+
+        // both tangents of every segment are its chord, so the segments are straight
+        for (int k = 0; k < SAMPLES; k++) {
+            final double time = 3.0 * k / (SAMPLES - 1);
+            final int segment = Math.min((int) time, 2);
+            final double s = time - segment;
+
+            track.eval(time, out, 0);
+
+            for (int j = 0; j < 2; j++) {
+                final double p0 = values[segment * 2 + j];
+                final double p1 = values[(segment + 1) * 2 + j];
+
+                assertEquals("time=" + time, p0 + s * (p1 - p0), out[j], EPSILON);
+            }
+        }
+    }
+
+    /**
+     * Differentiates the track with respect to time at a key, from the right
+     * (direction 1) or from the left (direction -1), with a second order one
+     * sided difference.
+     */
+    private static void derivative(
+            final KeyframeTrack track, final double time, final double direction,
+            final double[] out) {
+
+        final int dimension = track.dimension();
+        final double h = 1E-5 * direction;
+        final double[] f0 = new double[dimension];
+        final double[] f1 = new double[dimension];
+        final double[] f2 = new double[dimension];
+
+        track.eval(time, f0, 0);
+        track.eval(time + h, f1, 0);
+        track.eval(time + 2.0 * h, f2, 0);
+
+        for (int j = 0; j < dimension; j++) {
+            out[j] = (4.0 * f1[j] - f2[j] - 3.0 * f0[j]) / (2.0 * h);
+        }
+    }
+
+    @Test
+    public void testUniformKeysMatchTCBSpline() {
+        final double[][] parameters = {
+            {0.0, 0.0, 0.0},
+            {0.3, -0.5, 0.2},
+            {-0.2, 0.7, -0.4},
+            {0.0, 1.0, 0.0},
+            {0.0, -1.0, 0.0},
+            {0.0, 0.0, 1.0}
+        };
+        final Random random = new Random(20181026L);
+        final int count = 7;
+        final int dimension = 3;
+        final double spacing = 0.5;
+        final double[] times = new double[count];
+        final double[] values = new double[count * dimension];
+
+        for (int i = 0; i < count; i++) {
+            times[i] = 2.0 + spacing * i;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 10.0 - 5.0;
+        }
+
+        final double[] expected = new double[3 * dimension];
+        final double[] actual = new double[dimension];
+
+        for (double[] tcb : parameters) {
+            final KeyframeTrack track = new KeyframeTrack(times, values, dimension, tcb[0], tcb[1], tcb[2]);
+
+            for (int i = 0; i < count; i++) {
+                for (int side = 0; side < 2; side++) {
+                    // side 0 is the outgoing tangent that starts segment i, side 1 the incoming one that ends segment i - 1
+                    if ((side == 0 && i == count - 1) || (side == 1 && i == 0)) {
+                        continue;
+                    }
+
+                    final double t = side == 0 ? (double) i / (count - 1) : (double) i / (count - 1) - 1E-12;
+
+                    PrimitiveSplines.tcbSplineDerivatives(tcb[0], tcb[1], tcb[2], t, values, 0, dimension, count, dimension, expected, 0);
+                    derivative(track, times[i], side == 0 ? 1.0 : -1.0, actual);
+
+                    for (int j = 0; j < dimension; j++) {
+                        // tcbSpline blends a quadratic BSpline whose end tangents are 4/3 of the
+                        // Hermite tangents of the same keys; d/dt = (count - 1) * spacing * d/dtime
+                        final double scaled = actual[j] * (count - 1) * spacing * 4.0 / 3.0;
+
+                        assertEquals("tcb=" + tcb[0] + "," + tcb[1] + "," + tcb[2] + " key " + i + " side " + side,
+                                expected[dimension + j], scaled, 1E-6);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates strictly increasing key times whose intervals vary between
+     * 0.1 and 3.1.
+     */
+    private static double[] unevenTimes(final Random random) {
+        final double[] times = new double[KEYS];
+
+        times[0] = -1.0;
+
+        for (int i = 1; i < KEYS; i++) {
+            times[i] = times[i - 1] + 0.1 + 3.0 * random.nextDouble();
+        }
+
+        return times;
+    }
+
+    private static double[] randomValues(final Random random, final int dimension) {
+        final double[] values = new double[KEYS * dimension];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 10.0 - 5.0;
+        }
+
+        return values;
+    }
+
+    @Test
+    public void testUnevenKeysAreSmooth() {
+        final Random random = new Random(20181026L);
+        final int dimension = 2;
+        final double[] times = unevenTimes(random);
+        final double[] values = randomValues(random, dimension);
+        final double[] left = new double[dimension];
+        final double[] right = new double[dimension];
+
+        for (double[] tb : new double[][]{{0.0, 0.0}, {0.4, 0.0}, {-0.3, 0.6}, {0.2, -0.5}}) {
+            // without continuity the incoming and outgoing tangents only differ by their interval scaling
+            final KeyframeTrack track = new KeyframeTrack(times, values, dimension, tb[0], 0.0, tb[1]);
+
+            for (int i = 1; i < KEYS - 1; i++) {
+                final double before = times[i] - times[i - 1];
+                final double after = times[i + 1] - times[i];
+
+                derivative(track, times[i], -1.0, left);
+                derivative(track, times[i], 1.0, right);
+
+                for (int j = 0; j < dimension; j++) {
+                    final double dPrevious = values[i * dimension + j] - values[(i - 1) * dimension + j];
+                    final double dNext = values[(i + 1) * dimension + j] - values[i * dimension + j];
+                    final double expected = (1.0 - tb[0]) * ((1.0 + tb[1]) * dPrevious + (1.0 - tb[1]) * dNext) / (before + after);
+                    final String message = "tension=" + tb[0] + " bias=" + tb[1] + " key " + i;
+
+                    assertEquals(message, expected, left[j], 1E-6);
+                    assertEquals(message, expected, right[j], 1E-6);
+                }
+            }
+        }
+    }
+
+    private static void assertLookup(
+            final KeyframeTrack track, final KeyframeTrack.Cursor cursor, final double time,
+            final double[] expected, final double[] actual) {
+
+        final int segment = track.findSegment(time);
+
+        for (int hint = -1; hint <= KEYS; hint++) {
+            assertEquals("time=" + time + " hint=" + hint, segment, track.findSegment(time, hint));
+        }
+
+        track.eval(time, expected, 0);
+        cursor.eval(time, actual, 0);
+
+        assertEquals("time=" + time, segment, cursor.segment());
+
+        for (int j = 0; j < expected.length; j++) {
+            assertEquals("time=" + time, expected[j], actual[j], 0.0);
+        }
+    }
+
+    @Test
+    public void testCursorMatchesBinarySearch() {
+        final Random random = new Random(20181026L);
+        final int dimension = 3;
+        final double[] times = unevenTimes(random);
+        final KeyframeTrack track = new KeyframeTrack(times, randomValues(random, dimension), dimension, 0.1, -0.2, 0.3);
+        final KeyframeTrack.Cursor cursor = track.cursor();
+        final double[] expected = new double[dimension];
+        final double[] actual = new double[dimension];
+        final double start = track.startTime() - 1.0;
+        final double end = track.endTime() + 1.0;
+        final double step = 0.037;
+
+        // forwards, then backwards, in steps much shorter than most segments
+        for (double time = start; time <= end; time += step) {
+            assertLookup(track, cursor, time, expected, actual);
+        }
+
+        for (double time = end; time >= start; time -= step) {
+            assertLookup(track, cursor, time, expected, actual);
+        }
+
+        // exactly on every key, in both directions
+        for (int i = 0; i < KEYS; i++) {
+            assertLookup(track, cursor, times[i], expected, actual);
+        }
+
+        for (int i = KEYS - 1; i >= 0; i--) {
+            assertLookup(track, cursor, times[i], expected, actual);
+        }
+
+        // and jumps of any length
+        for (int k = 0; k < SAMPLES; k++) {
+            assertLookup(track, cursor, start + (end - start) * random.nextDouble(), expected, actual);
+        }
+    }
+}
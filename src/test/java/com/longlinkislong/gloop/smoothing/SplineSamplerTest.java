@@ -0,0 +1,91 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Checks that {@link SplineSampler} writes the same bits with and without a
+ * pool, and that both match evaluating the spline one sample at a time.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class SplineSamplerTest {
+
+    private static final int POINTS = 500;
+    private static final int DIMENSION = 3;
+    private static final int SAMPLES = 50000;
+    private static final int STRIDE = 4;
+    private static final int CHUNK_SIZE = 777;
+
+    private static CompiledSpline spline() {
+        final Random random = new Random(20181026L);
+        final double[] points = new double[POINTS * DIMENSION];
+
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextDouble() * 20.0 - 10.0;
+        }
+
+        return CompiledSpline.bSpline(4, points, 0, DIMENSION, POINTS, DIMENSION);
+    }
+
+    @Test
+    public void testEvenlySpaced() {
+        final CompiledSpline spline = spline();
+        final double[] expected = new double[SAMPLES * STRIDE];
+        final double[] sequential = new double[SAMPLES * STRIDE];
+        final double[] parallel = new double[SAMPLES * STRIDE];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            spline.eval(i / (SAMPLES - 1.0), expected, 1 + i * STRIDE);
+        }
+
+        try {
+            new SplineSampler().sample(spline, SAMPLES, sequential, 1, STRIDE);
+            new SplineSampler(pool, CHUNK_SIZE).sample(spline, SAMPLES, parallel, 1, STRIDE);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(Arrays.equals(expected, sequential));
+        assertTrue(Arrays.equals(sequential, parallel));
+    }
+
+    @Test
+    public void testTimeSteps() {
+        final CompiledSpline spline = spline();
+        final Random random = new Random(20181026L);
+        final double[] ts = new double[SAMPLES + 3];
+        final double[] expected = new double[SAMPLES * STRIDE];
+        final double[] sequential = new double[SAMPLES * STRIDE];
+        final double[] parallel = new double[SAMPLES * STRIDE];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = random.nextDouble();
+        }
+
+        for (int i = 0; i < SAMPLES; i++) {
+            spline.eval(ts[3 + i], expected, i * STRIDE);
+        }
+
+        try {
+            new SplineSampler().sample(spline, ts, 3, SAMPLES, sequential, 0, STRIDE);
+            new SplineSampler(pool, CHUNK_SIZE).sample(spline, ts, 3, SAMPLES, parallel, 0, STRIDE);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(Arrays.equals(expected, sequential));
+        assertTrue(Arrays.equals(sequential, parallel));
+    }
+}
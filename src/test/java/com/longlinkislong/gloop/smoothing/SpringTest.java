@@ -0,0 +1,169 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Checks the closed forms of {@link SpringEasing} in every damping regime
+ * against a fourth order Runge-Kutta integration of x'' = -w^2 x - 2 z w x'
+ * with small steps, and that {@link Spring} and the array retarget keep the
+ * position and velocity continuous.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class SpringTest {
+
+    private static final double FREQUENCY = 3.0;
+    private static final double[] DAMPING_RATIOS = {0.0, 0.2, 0.7, 1.0, 1.5, 4.0};
+    private static final double STEP = 1E-4;
+    private static final int STEPS_PER_CHECK = 2500;
+    private static final int CHECKS = 16;
+    private static final double EPSILON = 1E-8;
+
+    /**
+     * Advances the state {displacement, velocity} by one Runge-Kutta step.
+     */
+    private static void step(final double w, final double z, final double[] state) {
+        final double x = state[0];
+        final double v = state[1];
+        final double k1x = v;
+        final double k1v = -w * w * x - 2.0 * z * w * v;
+        final double k2x = v + 0.5 * STEP * k1v;
+        final double k2v = -w * w * (x + 0.5 * STEP * k1x) - 2.0 * z * w * k2x;
+        final double k3x = v + 0.5 * STEP * k2v;
+        final double k3v = -w * w * (x + 0.5 * STEP * k2x) - 2.0 * z * w * k3x;
+        final double k4x = v + STEP * k3v;
+        final double k4v = -w * w * (x + STEP * k3x) - 2.0 * z * w * k4x;
+
+        state[0] = x + STEP / 6.0 * (k1x + 2.0 * k2x + 2.0 * k3x + k4x);
+        state[1] = v + STEP / 6.0 * (k1v + 2.0 * k2v + 2.0 * k3v + k4v);
+    }
+
+    private static void assertIntegrated(
+            final SpringEasing spring, final double displacement, final double velocity) {
+
+        final double w = spring.getAngularFrequency();
+        final double z = spring.getDampingRatio();
+        final double[] state = {displacement, velocity};
+        final double[] origin = {0.0};
+        final double[] target = {0.0};
+        final double[] displacements = {displacement};
+        final double[] velocities = {velocity};
+        final double[] position = new double[1];
+        final double[] speed = new double[1];
+
+        for (int check = 1; check <= CHECKS; check++) {
+            for (int k = 0; k < STEPS_PER_CHECK; k++) {
+                step(w, z, state);
+            }
+
+            final double time = check * STEPS_PER_CHECK * STEP;
+            final String message = spring + " time=" + time;
+
+            assertEquals(message, state[0], spring.displacement(displacement, velocity, time), EPSILON);
+            assertEquals(message, state[1], spring.velocity(displacement, velocity, time), EPSILON);
+
+            spring.eval(time, origin, target, displacements, velocities, position, speed, 0, 1);
+
+            assertEquals(message, state[0], position[0], EPSILON);
+            assertEquals(message, state[1], speed[0], EPSILON);
+        }
+    }
+
+    @Test
+    public void testClosedFormsMatchIntegration() {
+        for (double z : DAMPING_RATIOS) {
+            final SpringEasing spring = SpringEasing.of(FREQUENCY, z);
+
+            assertIntegrated(spring, 2.0, 0.0);
+            assertIntegrated(spring, 2.0, -5.0);
+            assertIntegrated(spring, 0.0, 7.0);
+        }
+
+        // stiffness 9, mass 1 and damping 6 is critically damped at the same frequency
+        assertIntegrated(SpringEasing.fromStiffness(9.0, 6.0, 1.0), -1.5, 4.0);
+        assertIntegrated(SpringEasing.fromStiffness(18.0, 1.0, 2.0), -1.5, 4.0);
+    }
+
+    @Test
+    public void testProgress() {
+        for (double z : DAMPING_RATIOS) {
+            final SpringEasing spring = SpringEasing.of(FREQUENCY, z);
+
+            assertEquals(0.0, spring.progress(0.0), 0.0);
+            assertEquals(1.0 - spring.displacement(1.0, 0.0, 0.8), spring.progress(0.8), 0.0);
+            assertEquals(2.0 + 5.0 * spring.progress(0.4), spring.ease(2.0, 2.0, 5.0, 5.0), EPSILON);
+        }
+    }
+
+    @Test
+    public void testRetargetIsContinuous() {
+        final double[] retargets = {0.3, 0.75, 1.2, 2.0};
+        final double[] targets = {-4.0, 6.0, 6.5, 0.0};
+
+        for (double z : DAMPING_RATIOS) {
+            final SpringEasing easing = SpringEasing.of(FREQUENCY, z);
+            final Spring spring = new Spring(easing, 1.0);
+            final double[] origin = {0.0};
+            final double[] target = {10.0};
+            final double[] displacement = {1.0 - 10.0};
+            final double[] velocity = {0.0};
+            final double[] position = new double[1];
+            final double[] speed = new double[1];
+            final double[] state = {1.0 - 10.0, 0.0};
+            double integratedTarget = 10.0;
+            double time = 0.0;
+
+            spring.set(0.0, 1.0, 0.0, 10.0);
+
+            for (int r = 0; r < retargets.length; r++) {
+                // integrate the motion through the retarget instead of restarting it
+                while (time < retargets[r] - 0.5 * STEP) {
+                    step(FREQUENCY, z, state);
+                    time += STEP;
+                }
+
+                final double t = retargets[r];
+                final double before = spring.position(t);
+                final double beforeVelocity = spring.velocity(t);
+                final String message = easing + " retarget " + r;
+
+                assertEquals(message, integratedTarget + state[0], before, EPSILON);
+                assertEquals(message, state[1], beforeVelocity, EPSILON);
+
+                spring.retarget(t, targets[r]);
+                easing.retarget(t, origin, target, displacement, velocity, new double[]{targets[r]}, 0, 1);
+
+                assertEquals(message, targets[r], spring.target(), 0.0);
+                assertEquals(message, before, spring.position(t), EPSILON);
+                assertEquals(message, beforeVelocity, spring.velocity(t), EPSILON);
+
+                easing.eval(t, origin, target, displacement, velocity, position, speed, 0, 1);
+
+                assertEquals(message, before, position[0], EPSILON);
+                assertEquals(message, beforeVelocity, speed[0], EPSILON);
+
+                state[0] += integratedTarget - targets[r];
+                integratedTarget = targets[r];
+            }
+
+            for (int k = 0; k < STEPS_PER_CHECK; k++) {
+                step(FREQUENCY, z, state);
+                time += STEP;
+            }
+
+            easing.eval(time, origin, target, displacement, velocity, position, speed, 0, 1);
+
+            assertEquals(easing.toString(), integratedTarget + state[0], spring.position(time), EPSILON);
+            assertEquals(easing.toString(), state[1], spring.velocity(time), EPSILON);
+            assertEquals(easing.toString(), spring.position(time), position[0], EPSILON);
+            assertEquals(easing.toString(), spring.velocity(time), speed[0], EPSILON);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Streams points through a small ring buffer, so the buffer wraps around many
+ * times, and checks {@link StreamingSpline} against a {@link CompiledSpline}
+ * built over the whole stream.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class StreamingSplineTest {
+
+    private static final double TENSION = 0.3;
+    private static final double CONTINUITY = -0.4;
+    private static final double BIAS = 0.2;
+    private static final int DIMENSION = 3;
+    private static final int COUNT = 200;
+    private static final int CAPACITY = 11;
+    private static final double PLAYHEAD_STEP = 0.37;
+    private static final double[] FRACTIONS = {0.1, 0.35, 0.6, 0.85};
+    private static final double EPSILON = 1E-9;
+
+    private static double[] points() {
+        final Random random = new Random(20181026L);
+        final double[] points = new double[COUNT * DIMENSION];
+
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextDouble() * 20.0 - 10.0;
+        }
+
+        return points;
+    }
+
+    private static void assertPoint(
+            final String message, final CompiledSpline expected, final double t,
+            final StreamingSpline actual, final double u) {
+
+        final double[] a = new double[DIMENSION];
+        final double[] b = new double[DIMENSION];
+
+        expected.eval(t, a, 0);
+        actual.eval(u, b, 0);
+
+        for (int j = 0; j < DIMENSION; j++) {
+            assertEquals(message + " u=" + u, a[j], b[j], EPSILON);
+        }
+    }
+
+    /**
+     * Streams every point, moving the playhead only when the buffer is full,
+     * and compares every parameter between the playhead and the end of the
+     * settled part of the curve. degrees is 0 for a TCB spline.
+     */
+    private static void assertStream(final int degrees, final StreamingSpline stream, final CompiledSpline full) {
+        final double[] points = points();
+        // a TCB segment reads up to two points past its start, so the newest segments keep changing
+        final int unsettled = degrees == 0 ? 2 : 0;
+        final double scale = degrees == 0 ? COUNT - 1 : COUNT - degrees + 1;
+        double playhead = 0.0;
+
+        for (int k = 0; k < COUNT; k++) {
+            while (!stream.offer(points, k * DIMENSION)) {
+                playhead = Math.min(playhead + PLAYHEAD_STEP, stream.maxParameter());
+                stream.advance(playhead);
+            }
+
+            final double end = Math.min(stream.maxParameter(), stream.nextIndex() - 1 - unsettled);
+
+            if (stream.size() < Math.max(degrees, 2) || end < playhead) {
+                continue;
+            }
+
+            final String message = "degrees=" + degrees + " point " + k;
+
+            final double start = Math.max(playhead, stream.minParameter());
+
+            // sample inside the segments; the TCB blend jumps at its keys, where u / scale may round to either side
+            for (long i = (long) Math.floor(start); i < end; i++) {
+                for (double fraction : FRACTIONS) {
+                    final double u = i + fraction;
+
+                    if (u >= start && u <= end) {
+                        assertPoint(message, full, u / scale, stream, u);
+                    }
+                }
+            }
+
+            if (degrees > 0) {
+                assertPoint(message, full, end / scale, stream, end);
+            }
+        }
+
+        // the playhead catches up with the newest point and stays evaluable
+        final double end = stream.maxParameter();
+
+        stream.advance(end);
+        stream.advance(end + 5.0);
+
+        assertEquals(Math.max(degrees, 2), stream.size());
+
+        if (degrees > 0) {
+            assertPoint("degrees=" + degrees + " end", full, 1.0, stream, end);
+        } else {
+            // the last TCB key is evaluated on its own clamped window, like PrimitiveSplines does
+            final double[] expected = new double[DIMENSION];
+            final double[] actual = new double[DIMENSION];
+
+            PrimitiveSplines.tcbSpline(TENSION, CONTINUITY, BIAS, 1.0, points, 0, DIMENSION, COUNT, DIMENSION, expected, 0);
+            stream.eval(end, actual, 0);
+
+            for (int j = 0; j < DIMENSION; j++) {
+                assertEquals("TCB end", expected[j], actual[j], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testBSpline() {
+        final double[] points = points();
+
+        assertStream(3, StreamingSpline.bSpline(3, DIMENSION, CAPACITY), CompiledSpline.bSpline(3, points, 0, DIMENSION, COUNT, DIMENSION));
+        assertStream(5, StreamingSpline.bSpline(5, DIMENSION, CAPACITY), CompiledSpline.bSpline(5, points, 0, DIMENSION, COUNT, DIMENSION));
+    }
+
+    @Test
+    public void testTCB() {
+        final double[] points = points();
+
+        assertStream(0,
+                StreamingSpline.tcbSpline(TENSION, CONTINUITY, BIAS, DIMENSION, CAPACITY),
+                CompiledSpline.tcbSpline(TENSION, CONTINUITY, BIAS, points, 0, DIMENSION, COUNT, DIMENSION));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsWindowSizedCapacity() {
+        StreamingSpline.bSpline(5, DIMENSION, 5);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Round trips every track type through every encoding and checks the decoded
+ * tracks against {@link PrimitiveSplines} evaluated on the original points.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class TrackFileTest {
+
+    private static final int DEGREES = 4;
+    private static final double TENSION = 0.3;
+    private static final double CONTINUITY = -0.4;
+    private static final double BIAS = 0.2;
+    private static final int COUNT = 13;
+    private static final int DIMENSION = 3;
+    private static final int SAMPLES = 101;
+    private static final TrackType[] TYPES = TrackType.values();
+    private static final TrackEncoding[] ENCODINGS = TrackEncoding.values();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static double[] points() {
+        final Random random = new Random(20181026L);
+        final double[] points = new double[COUNT * DIMENSION];
+
+        for (int i = 0; i < points.length; i++) {
+            // a different range per component so every component is quantized differently
+            points[i] = (i % DIMENSION + 1) * (random.nextDouble() * 20.0 - 10.0) + 100.0 * (i % DIMENSION);
+        }
+
+        return points;
+    }
+
+    private static void add(
+            final TrackFileWriter writer, final TrackType type, final TrackEncoding encoding,
+            final double[] points) {
+
+        switch (type) {
+            case BSPLINE:
+                writer.addBSpline(DEGREES, encoding, points, 0, DIMENSION, COUNT, DIMENSION);
+                break;
+            case TCB:
+                writer.addTCB(TENSION, CONTINUITY, BIAS, encoding, points, 0, DIMENSION, COUNT, DIMENSION);
+                break;
+            case BESSEL_OVERHAUSER:
+                writer.addBesselOverhauser(encoding, points, 0, DIMENSION, COUNT, DIMENSION);
+                break;
+            default:
+                writer.addPiecewiseBezier(encoding, points, 0, DIMENSION, COUNT, DIMENSION);
+                break;
+        }
+    }
+
+    private static TrackFileWriter writer(final double[] points) {
+        final TrackFileWriter writer = new TrackFileWriter();
+
+        // one track per type and encoding, in that order
+        for (TrackType type : TYPES) {
+            for (TrackEncoding encoding : ENCODINGS) {
+                add(writer, type, encoding, points);
+            }
+        }
+
+        return writer;
+    }
+
+    private static ByteBuffer bytes(final TrackFileWriter writer) {
+        final ByteBuffer data = ByteBuffer.allocate((int) writer.byteSize());
+
+        writer.write(data);
+        data.flip();
+
+        return data;
+    }
+
+    private static void eval(
+            final TrackType type, final double t,
+            final double[] points, final int dimension,
+            final double[] out) {
+
+        switch (type) {
+            case BSPLINE:
+                PrimitiveSplines.bSpline(DEGREES, t, points, 0, dimension, COUNT, dimension, new double[DEGREES], out, 0);
+                break;
+            case TCB:
+                PrimitiveSplines.tcbSpline(TENSION, CONTINUITY, BIAS, t, points, 0, dimension, COUNT, dimension, out, 0);
+                break;
+            case BESSEL_OVERHAUSER:
+                PrimitiveSplines.besselOverhauser(t, points, 0, dimension, COUNT, dimension, out, 0);
+                break;
+            default:
+                PrimitiveSplines.piecewiseBezier(t, points, 0, dimension, COUNT, dimension, out, 0);
+                break;
+        }
+    }
+
+    /**
+     * Computes the sum of the absolute weights the spline gives its control
+     * points at t. An error of e in every control point moves the curve by
+     * at most e times this sum.
+     */
+    private static double basisSum(final TrackType type, final double t) {
+        final double[] unit = new double[COUNT];
+        final double[] weight = new double[1];
+        double sum = 0.0;
+
+        for (int i = 0; i < COUNT; i++) {
+            unit[i] = 1.0;
+            eval(type, t, unit, 1, weight);
+            unit[i] = 0.0;
+            sum += Math.abs(weight[0]);
+        }
+
+        return sum;
+    }
+
+    private static void assertRoundTrip(final TrackFile file, final double[] points) {
+        final double[] min = new double[DIMENSION];
+        final double[] max = new double[DIMENSION];
+
+        for (int j = 0; j < DIMENSION; j++) {
+            min[j] = Double.POSITIVE_INFINITY;
+            max[j] = Double.NEGATIVE_INFINITY;
+        }
+
+        for (int i = 0; i < points.length; i++) {
+            min[i % DIMENSION] = Math.min(min[i % DIMENSION], points[i]);
+            max[i % DIMENSION] = Math.max(max[i % DIMENSION], points[i]);
+        }
+
+        final double[] expected = new double[DIMENSION];
+        final double[] actual = new double[DIMENSION];
+
+        assertEquals(TYPES.length * ENCODINGS.length, file.trackCount());
+
+        for (int i = 0; i < file.trackCount(); i++) {
+            final TrackType type = TYPES[i / ENCODINGS.length];
+            final TrackEncoding encoding = ENCODINGS[i % ENCODINGS.length];
+            final TrackFile.Track track = file.track(i);
+
+            assertEquals(type, track.type());
+            assertEquals(encoding, track.encoding());
+            assertEquals(COUNT, track.pointCount());
+            assertEquals(DIMENSION, track.dimension());
+
+            for (int k = 0; k < SAMPLES; k++) {
+                final double t = (double) k / (SAMPLES - 1);
+                final double sum = basisSum(type, t);
+
+                eval(type, t, points, DIMENSION, expected);
+                track.eval(t, actual, 0);
+
+                for (int j = 0; j < DIMENSION; j++) {
+                    final String message = type + " " + encoding + " t=" + t + " component " + j;
+                    final double pointError;
+
+                    switch (encoding) {
+                        case DOUBLE:
+                            pointError = 0.0;
+                            break;
+                        case FLOAT:
+                            pointError = Math.max(Math.abs(min[j]), Math.abs(max[j])) * Math.ulp(1f);
+                            break;
+                        default:
+                            pointError = (max[j] - min[j]) / 65535.0 / 2.0;
+                            break;
+                    }
+
+                    if (encoding == TrackEncoding.DOUBLE) {
+                        assertEquals(message, expected[j], actual[j], 0.0);
+                    } else {
+                        // leave room for the rounding of the evaluation itself
+                        assertEquals(message, expected[j], actual[j], pointError * sum + 1E-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWrap() throws IOException {
+        final double[] points = points();
+
+        assertRoundTrip(TrackFile.wrap(bytes(writer(points))), points);
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        final double[] points = points();
+        final Path path = this.folder.newFile("tracks.bin").toPath();
+
+        writer(points).write(path);
+        assertRoundTrip(TrackFile.open(path), points);
+    }
+
+    @Test
+    public void testPoints() throws IOException {
+        final double[] points = points();
+        final TrackFile file = TrackFile.wrap(bytes(writer(points)));
+        final double[] point = new double[DIMENSION];
+
+        for (int i = 0; i < COUNT; i++) {
+            file.track(0).point(i, point, 0);
+
+            for (int j = 0; j < DIMENSION; j++) {
+                assertEquals(points[i * DIMENSION + j], point[j], 0.0);
+            }
+        }
+    }
+
+    /**
+     * Writes every type and encoding with the given points, each between two
+     * tracks of the same type and encoding that hold the neighbor points.
+     */
+    private static TrackFile sandwich(final double[] points, final double[] neighbors) throws IOException {
+        final TrackFileWriter writer = new TrackFileWriter();
+
+        for (TrackType type : TYPES) {
+            for (TrackEncoding encoding : ENCODINGS) {
+                add(writer, type, encoding, neighbors);
+                add(writer, type, encoding, points);
+                add(writer, type, encoding, neighbors);
+            }
+        }
+
+        return TrackFile.wrap(bytes(writer));
+    }
+
+    @Test
+    public void testOutOfRange() throws IOException {
+        final double[] points = points();
+        final double[] neighbors = new double[points.length];
+        final double[] ts = {-3.0, -1.0, -0.25, -0.01, 1.01, 1.25, 2.0, 3.0};
+
+        for (int i = 0; i < points.length; i++) {
+            neighbors[i] = 1000.0 - 3.0 * points[i];
+        }
+
+        // a track that reads past its own points would see its neighbors change
+        final TrackFile a = sandwich(points, points);
+        final TrackFile b = sandwich(points, neighbors);
+        final double[] expected = new double[DIMENSION];
+        final double[] actual = new double[DIMENSION];
+
+        for (int i = 0; i < TYPES.length * ENCODINGS.length; i++) {
+            final TrackFile.Track track = b.track(3 * i + 1);
+
+            for (double t : ts) {
+                a.track(3 * i + 1).eval(t, expected, 0);
+                track.eval(t, actual, 0);
+
+                for (int j = 0; j < DIMENSION; j++) {
+                    assertEquals(track.type() + " " + track.encoding() + " t=" + t, expected[j], actual[j], 0.0);
+                }
+            }
+        }
+    }
+
+    private static void assertCorrupt(final ByteBuffer data) {
+        try {
+            TrackFile.wrap(data);
+            fail("Corrupt track file was accepted!");
+        } catch (IOException expected) {
+        }
+    }
+
+    private static ByteBuffer single(final TrackEncoding encoding) {
+        final TrackFileWriter writer = new TrackFileWriter();
+
+        writer.addBSpline(DEGREES, encoding, points(), 0, DIMENSION, COUNT, DIMENSION);
+
+        return bytes(writer).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    public void testCorruptEntries() {
+        final int entry = TrackFile.HEADER_BYTES;
+
+        for (TrackEncoding encoding : ENCODINGS) {
+            ByteBuffer data = single(encoding);
+
+            data.put(entry + 14, (byte) TYPES.length);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.put(entry + 15, (byte) -1);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.putShort(entry + 12, (short) 0);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.putInt(entry + 8, DEGREES - 1);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.putDouble(entry + 16, 2.5);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.putInt(entry + 8, COUNT + 1);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.putLong(entry, -8L);
+            assertCorrupt(data);
+
+            data = single(encoding);
+            data.limit(data.limit() - 1);
+            assertCorrupt(data);
+        }
+    }
+}
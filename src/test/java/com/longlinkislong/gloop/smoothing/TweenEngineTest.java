@@ -0,0 +1,165 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.longlinkislong.gloop.smoothing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Checks the handle bookkeeping of {@link TweenEngine} across swap removal and
+ * completion callbacks, and that the parallel tick matches the sequential one.
+ *
+ * @author zmichaels
+ * @since 26.10.18
+ */
+public class TweenEngineTest {
+
+    private static final double EPSILON = 1E-12;
+    private static final int PARALLEL_COUNT = 20000;
+    private static final int TICKS = 40;
+
+    @Test
+    public void testSwapRemove() {
+        final TweenEngine engine = new TweenEngine();
+        final List<Long> completed = new ArrayList<>();
+        final TweenListener listener = (handle, value) -> completed.add(handle);
+        final long a = engine.start(EasingKind.CUBIC_IN, 0.0, 1.0, 1.0, 0, false, listener);
+        final long b = engine.start(EasingKind.CUBIC_IN, 1.0, 2.0, 5.0, 0, false, listener);
+        final long c = engine.start(EasingKind.CUBIC_IN, 2.0, 3.0, 1.5, 0, false, listener);
+        final long d = engine.start(EasingKind.CUBIC_IN, 3.0, 4.0, 6.0, 0, false, listener);
+
+        // a and c finish together; d moves into a's slot and b stays put
+        engine.tick(2.0);
+
+        assertEquals(Arrays.asList(a, c), completed);
+        assertEquals(2, engine.size());
+        assertFalse(engine.isActive(a));
+        assertFalse(engine.isActive(c));
+        assertEquals(EasingKind.CUBIC_IN.ease(2.0, 1.0, 2.0, 5.0), engine.value(b), EPSILON);
+        assertEquals(EasingKind.CUBIC_IN.ease(2.0, 3.0, 4.0, 6.0), engine.value(d), EPSILON);
+
+        // the freed ids are reused, but the old handles must stay dead
+        final long e = engine.start(EasingKind.CUBIC_IN, 4.0, 5.0, 2.0, 0, false, listener);
+
+        assertFalse(engine.isActive(a));
+        assertFalse(engine.isActive(c));
+        assertTrue(engine.cancel(b));
+        assertFalse(engine.cancel(b));
+
+        engine.tick(1.0);
+
+        assertEquals(EasingKind.CUBIC_IN.ease(3.0, 3.0, 4.0, 6.0), engine.value(d), EPSILON);
+        assertEquals(EasingKind.CUBIC_IN.ease(1.0, 4.0, 5.0, 2.0), engine.value(e), EPSILON);
+
+        engine.tick(1.0);
+
+        assertEquals(Arrays.asList(a, c, e), completed);
+        assertEquals(1, engine.size());
+        assertEquals(EasingKind.CUBIC_IN.ease(4.0, 3.0, 4.0, 6.0), engine.value(d), EPSILON);
+    }
+
+    @Test
+    public void testRemoveFromCallback() {
+        final TweenEngine engine = new TweenEngine();
+        final long[] handles = new long[4];
+        final List<Double> completed = new ArrayList<>();
+
+        handles[1] = engine.start(EasingKind.LINEAR, 0.0, 10.0, 4.0);
+        handles[2] = engine.start(EasingKind.LINEAR, 5.0, 10.0, 4.0);
+        handles[0] = engine.start(EasingKind.LINEAR, 0.0, 1.0, 1.0, 0, false, (handle, value) -> {
+            completed.add(value);
+
+            // the tween has already been removed when its callback runs
+            assertFalse(engine.isActive(handle));
+            assertTrue(engine.cancel(handles[1]));
+            handles[3] = engine.start(EasingKind.LINEAR, 100.0, 1.0, 1.0);
+
+            try {
+                engine.tick(0.0);
+                throw new AssertionError("Reentrant tick was accepted!");
+            } catch (IllegalStateException expected) {
+            }
+        });
+
+        engine.tick(1.5);
+
+        assertEquals(Arrays.asList(1.0), completed);
+        assertFalse(engine.isActive(handles[0]));
+        assertFalse(engine.isActive(handles[1]));
+        assertEquals(2, engine.size());
+        assertEquals(5.0 + 10.0 * 1.5 / 4.0, engine.value(handles[2]), EPSILON);
+        assertEquals(100.0, engine.value(handles[3]), EPSILON);
+
+        engine.tick(0.5);
+
+        assertEquals(5.0 + 10.0 * 2.0 / 4.0, engine.value(handles[2]), EPSILON);
+        assertEquals(100.5, engine.value(handles[3]), EPSILON);
+        assertEquals(1, completed.size());
+    }
+
+    private static long[] startAll(final TweenEngine engine, final List<Long> completed) {
+        final Random random = new Random(20181026L);
+        final long[] handles = new long[PARALLEL_COUNT];
+        final TweenListener listener = (handle, value) -> {
+            completed.add(handle);
+            completed.add(Double.doubleToLongBits(value));
+        };
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            final double duration = 0.05 + random.nextDouble();
+            final int repeats = random.nextInt(4) - 1;
+
+            handles[i] = engine.start(
+                    EasingKind.SINE_IN_OUT, random.nextDouble(), random.nextDouble() * 4.0 - 2.0, duration,
+                    repeats, random.nextBoolean(), listener);
+        }
+
+        return handles;
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final List<Long> sequentialCompleted = new ArrayList<>();
+            final List<Long> parallelCompleted = new ArrayList<>();
+            final TweenEngine sequential = new TweenEngine();
+            final TweenEngine parallel = new TweenEngine(pool);
+            final long[] sequentialHandles = startAll(sequential, sequentialCompleted);
+            final long[] parallelHandles = startAll(parallel, parallelCompleted);
+
+            assertEquals(Arrays.toString(sequentialHandles), Arrays.toString(parallelHandles));
+
+            for (int k = 0; k < TICKS; k++) {
+                final double dt = 0.0125 * (k % 5 + 1);
+
+                sequential.tick(dt);
+                parallel.tick(dt);
+
+                assertEquals("tick " + k, sequentialCompleted, parallelCompleted);
+                assertEquals("tick " + k, sequential.size(), parallel.size());
+
+                for (long handle : sequentialHandles) {
+                    assertEquals(sequential.isActive(handle), parallel.isActive(handle));
+
+                    if (sequential.isActive(handle)) {
+                        assertEquals(sequential.value(handle), parallel.value(handle), 0.0);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}